@@ -9,9 +9,11 @@
 package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -57,4 +59,28 @@ public class P1TelegramParserTest {
         assertEquals("Expected number of objects", numberOfCosemObjects,
                 telegram.getCosemObjects().stream().mapToInt(o -> o.getCosemValues().size()).sum());
     }
+
+    @Test
+    public void testInvalidCrcCharacter() {
+        byte[] telegram = TelegramReaderUtil.readRawTelegram(telegramName);
+        int crcStart = lastIndexOf(telegram, '!') + 1;
+
+        assumeTrue("Telegram has a crc", crcStart > 0 && crcStart < telegram.length && telegram[crcStart] != '\r');
+        telegram[crcStart] = 'G';
+        AtomicReference<P1Telegram> p1Telegram = new AtomicReference<>(null);
+        P1TelegramParser parser = new P1TelegramParser(p1Telegram::set);
+
+        parser.parseData(telegram, 0, telegram.length);
+        assertEquals("Expected TelegramState should be CRC error", TelegramState.CRC_ERROR,
+                p1Telegram.get().getTelegramState());
+    }
+
+    private static int lastIndexOf(byte[] data, char c) {
+        for (int i = data.length - 1; i >= 0; i--) {
+            if (data[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
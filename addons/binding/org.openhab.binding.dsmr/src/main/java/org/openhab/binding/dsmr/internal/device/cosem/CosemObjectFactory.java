@@ -10,9 +10,7 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,52 +24,55 @@ public class CosemObjectFactory {
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
     /**
-     * Lookup cache for fixed OBIS Identifiers
+     * Lookup table for fixed OBIS Identifiers
      */
-    private final Map<OBISIdentifier, CosemObjectType> obisLookupTableFixed;
+    private static final ObisLookupTable<CosemObjectType> OBIS_LOOKUP_TABLE_FIXED;
 
     /**
-     * Lookup cache for dynamic OBIS Identifiers
+     * Lookup table for wild card Cosem Object types. Multiple Cosem Object Types can have the same wild card
+     * OBISIdentifier.
      */
-    private final HashMap<OBISIdentifier, CosemObjectType> obisLookupTableDynamic;
+    private static final ObisLookupTable<List<CosemObjectType>> OBIS_LOOKUP_TABLE_WILDCARD;
 
-    /**
-     * Lookup cache for wild card Cosem Object types
-     */
-    private final List<CosemObjectType> obisWildcardCosemTypeList;
-
-    /**
-     * Creates a new CosemObjectFactory
-     */
-    public CosemObjectFactory() {
+    static {
         /*
-         * Fill lookup tables. There are 3 entities:
-         * - obisLookupTableFixed. This lookup table contains all CosemObjectType with a fixed OBISIdentifier
+         * Fill the lookup tables that are the same for all devices:
+         * - OBIS_LOOKUP_TABLE_FIXED. This lookup table contains all CosemObjectType with a fixed OBISIdentifier
          * (i.e. groupA != null && groupB != null && groupC != null).
-         * - obisLookupTableDynamic. This lookup table contains all CosemObjectType with a wildcard OBISIdentifier
-         * (i.e. groupA == null || groupB == null || groupC == null). This lookuptable will be filled
-         * dynamically with unique wildcard OBISIdentifiers when values are received and matches a particular real
-         * device (if the device is changed, this lookupTable must be cleared by removing the corresponding DSMRDevice
-         * Thing from the configuration.
-         * - obisWildCardCosemTypeList. This is the list of all wild card Cosem Object types. Multiple Cosem Object
-         * Types can have the same wild card OBISIdentifer.
-         *
-         * To facilitate autodiscovery the list has all supported CosemObjectTypes. To improve performance once the
-         * correct OBISIdentifier is discovered for a certain OBISMsgType this is added to the obisLookupTableDynamic.
+         * - OBIS_LOOKUP_TABLE_WILDCARD. This lookup table contains all CosemObjectType with a wildcard OBISIdentifier
+         * (i.e. groupA == null || groupB == null || groupC == null).
          */
-        obisLookupTableFixed = new HashMap<>();
-        obisLookupTableDynamic = new HashMap<>();
-        obisWildcardCosemTypeList = new ArrayList<>();
+        OBIS_LOOKUP_TABLE_FIXED = new ObisLookupTable<>(CosemObjectType.values().length);
+        OBIS_LOOKUP_TABLE_WILDCARD = new ObisLookupTable<>(CosemObjectType.values().length);
 
         for (CosemObjectType msgType : CosemObjectType.values()) {
             if (msgType.obisId.reducedOBISIdentifierIsWildCard()) {
-                obisWildcardCosemTypeList.add(msgType);
+                long key = ObisLookupTable.wildcardKey(msgType.obisId);
+                List<CosemObjectType> msgTypes = OBIS_LOOKUP_TABLE_WILDCARD.get(key);
+
+                if (msgTypes == null) {
+                    msgTypes = new ArrayList<>();
+                    OBIS_LOOKUP_TABLE_WILDCARD.put(key, msgTypes);
+                }
+                msgTypes.add(msgType);
             } else {
-                obisLookupTableFixed.put(msgType.obisId, msgType);
+                OBIS_LOOKUP_TABLE_FIXED.put(ObisLookupTable.key(msgType.obisId), msgType);
             }
         }
     }
 
+    /**
+     * Lookup table for dynamic OBIS Identifiers. This lookup table will be filled dynamically with unique wildcard
+     * OBISIdentifiers when values are received and matches a particular real device (if the device is changed, this
+     * lookup table must be cleared by removing the corresponding DSMRDevice Thing from the configuration).
+     *
+     * To facilitate autodiscovery the wild card lookup table has all supported CosemObjectTypes. To improve
+     * performance once the correct OBISIdentifier is discovered for a certain OBISMsgType this is added to the
+     * dynamic lookup table.
+     */
+    private final ObisLookupTable<CosemObjectType> obisLookupTableDynamic = new ObisLookupTable<>(
+            CosemObjectType.values().length);
+
     /**
      * Return Cosem Object from specified string or null if string couldn't be
      * parsed correctly or no corresponding Cosem Object was found
@@ -82,34 +83,47 @@ public class CosemObjectFactory {
      */
     public CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
         OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
 
         try {
             obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
         } catch (ParseException pe) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
+        return getCosemObject(obisId, cosemStringValues);
+    }
 
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
+    /**
+     * Return Cosem Object for the specified OBIS identifier or null if the values couldn't be parsed correctly or no
+     * corresponding Cosem Object was found
+     *
+     * @param obisId the OBIS message identifier
+     * @param cosemStringValues String containing Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(OBISIdentifier obisId, String cosemStringValues) {
+        logger.trace("Received obisId: {}, values: {}", obisId, cosemStringValues);
 
+        long key = ObisLookupTable.key(obisId);
         CosemObject cosemObject = null;
-
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
-            logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
+        CosemObjectType cosemObjectType;
+
+        if ((cosemObjectType = OBIS_LOOKUP_TABLE_FIXED.get(key)) != null) {
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
+            logger.trace("Found obisId {} in the fixed lookup table", obisId);
+        } else if ((cosemObjectType = obisLookupTableDynamic.get(key)) != null) {
+            logger.trace("Found obisId {} in the dynamic lookup table", obisId);
+            cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
         } else {
-            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
-                if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
+            List<CosemObjectType> obisMsgTypes = OBIS_LOOKUP_TABLE_WILDCARD.get(ObisLookupTable.wildcardKey(obisId));
+
+            if (obisMsgTypes != null) {
+                for (CosemObjectType obisMsgType : obisMsgTypes) {
                     cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemStringValues);
                     if (cosemObject != null) {
-                        logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
+                        logger.trace("Searched obisId {} in the wild card type list, result: {}", obisId,
                                 cosemObject);
-                        obisLookupTableDynamic.put(reducedObisId, obisMsgType);
+                        obisLookupTableDynamic.put(key, obisMsgType);
                         break;
                     }
                 }
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Lookup table with OBIS identifiers packed in a long as key.
+ *
+ * The groups A to E of an OBIS identifier are packed in 12 bits each. Group F is not part of the key, because the
+ * DSMR specification does not use it. A missing group B is packed as a wildcard value. Lookups don't create any
+ * objects.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> type of the values
+ */
+@NonNullByDefault
+class ObisLookupTable<T> {
+    /**
+     * Key of OBIS identifiers with group values that can't be packed
+     */
+    static final long NO_KEY = -1;
+
+    private static final int GROUP_BITS = 12;
+    private static final int WILDCARD = (1 << GROUP_BITS) - 1;
+
+    private long[] keys;
+    private @Nullable Object[] values;
+    private int size;
+
+    /**
+     * Creates a new lookup table.
+     *
+     * @param expectedSize expected number of entries
+     */
+    ObisLookupTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize)) << 2;
+        keys = new long[capacity];
+        Arrays.fill(keys, NO_KEY);
+        values = new Object[capacity];
+    }
+
+    /**
+     * Returns the key of the reduced OBIS identifier with the given groups.
+     *
+     * @return the key or {@link #NO_KEY} if the identifier can't be packed in a key
+     */
+    static long key(int groupA, @Nullable Integer groupB, int groupC, int groupD, int groupE) {
+        if (!isValidGroup(groupA) || (groupB != null && !isValidGroup(groupB)) || !isValidGroup(groupC)
+                || !isValidGroup(groupD) || !isValidGroup(groupE)) {
+            return NO_KEY;
+        }
+        long key = groupA;
+        key = (key << GROUP_BITS) | (groupB == null ? WILDCARD : groupB);
+        key = (key << GROUP_BITS) | groupC;
+        key = (key << GROUP_BITS) | groupD;
+        return (key << GROUP_BITS) | groupE;
+    }
+
+    /**
+     * Returns the key of the given OBIS identifier. Group F is ignored.
+     */
+    static long key(OBISIdentifier obisId) {
+        return key(obisId.getGroupA(), obisId.getGroupB(), obisId.getGroupC(), obisId.getGroupD(),
+                obisId.getGroupE());
+    }
+
+    /**
+     * Returns the key of the given OBIS identifier with group B as wildcard. Group F is ignored.
+     */
+    static long wildcardKey(OBISIdentifier obisId) {
+        return key(obisId.getGroupA(), null, obisId.getGroupC(), obisId.getGroupD(), obisId.getGroupE());
+    }
+
+    private static boolean isValidGroup(int group) {
+        return group >= 0 && group < WILDCARD;
+    }
+
+    /**
+     * Returns the value for the given key or null if there is no value.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    T get(long key) {
+        if (key == NO_KEY) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (T) values[i];
+            } else if (keys[i] == NO_KEY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Stores the value for the given key. Keys that are {@link #NO_KEY} are ignored.
+     */
+    void put(long key, T value) {
+        if (key == NO_KEY) {
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != NO_KEY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == NO_KEY) {
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        @Nullable
+        Object[] oldValues = values;
+
+        keys = new long[oldKeys.length * 2];
+        Arrays.fill(keys, NO_KEY);
+        values = new Object[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NO_KEY) {
+                put(oldKeys[i], castValue(oldValues[i]));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T castValue(@Nullable Object value) {
+        return (T) value;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
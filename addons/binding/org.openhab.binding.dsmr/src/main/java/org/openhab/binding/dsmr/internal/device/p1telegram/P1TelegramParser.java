@@ -10,12 +10,14 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObjectFactory;
+import org.openhab.binding.dsmr.internal.device.cosem.OBISIdentifier;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +28,9 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The data is parsed byte by byte. The OBIS identifiers are parsed and the CRC is checked while the data is read.
+ * The buffers are reused for all telegrams.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -55,21 +60,61 @@ public class P1TelegramParser {
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /**
-     * Pattern for the CRC-code
+     * Maximum number of groups in an OBIS identifier (A-B:C.D.E*F)
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int MAX_OBIS_GROUPS = 6;
+
+    /**
+     * Maximum value of a single OBIS identifier group
+     */
+    private static final int MAX_OBIS_GROUP_VALUE = 0xFFFF;
+
+    /**
+     * Marks an OBIS identifier group without separator
+     */
+    private static final char NO_SEPARATOR = 0;
+
+    /**
+     * Number of hexadecimal digits of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the cosem object values buffer
+     */
+    private static final int INITIAL_VALUES_BUFFER_SIZE = 256;
 
     /* internal state variables */
 
     /**
-     * current obisId buffer.
+     * Values of the groups of the current OBIS identifier
+     */
+    private final int[] obisGroups = new int[MAX_OBIS_GROUPS];
+
+    /**
+     * Separator characters following the groups of the current OBIS identifier
+     */
+    private final char[] obisSeparators = new char[MAX_OBIS_GROUPS];
+
+    /**
+     * Number of groups of the current OBIS identifier
+     */
+    private int obisGroupCount;
+
+    /**
+     * False if the current OBIS identifier contains characters that are not allowed
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private boolean obisIdValid = true;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder cosemObjectValuesString = new StringBuilder();
+    private byte[] cosemObjectValues = new byte[INITIAL_VALUES_BUFFER_SIZE];
+
+    /**
+     * Number of bytes in the current cosem object values buffer.
+     */
+    private int cosemObjectValuesLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -79,7 +124,17 @@ public class P1TelegramParser {
     /**
      * Current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValue;
+
+    /**
+     * Number of crc characters read.
+     */
+    private int crcLength;
+
+    /**
+     * False if the crc value contains characters that are not hexadecimal digits.
+     */
+    private boolean crcValueValid = true;
 
     /**
      * CRC calculation helper
@@ -232,18 +287,17 @@ public class P1TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crcValue length to check {}", telegramState, crcLength);
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcLength > 0) {
+                            if (crcValueValid && crcLength == CRC_LENGTH) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: 0x{}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcValue), String.format("%04X", calculatedCRC));
                                 }
-                                if (crcP1Telegram != calculatedCRC) {
+                                if (crcValue != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
 
                                     telegramState = TelegramState.CRC_ERROR;
@@ -306,22 +360,22 @@ public class P1TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
+                handleObisIdCharacter(c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                cosemObjectValuesString.append(c);
+                appendCosemObjectValue((byte) c);
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE_END:
-                cosemObjectValuesString.append(c);
+                appendCosemObjectValue((byte) c);
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
                     crc.processByte((byte) c);
                 } else {
-                    crcValue.append(c);
+                    handleCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -330,14 +384,118 @@ public class P1TelegramParser {
         }
     }
 
+    /**
+     * Adds a character to the groups of the current OBIS identifier. Digits are added to the current group, any other
+     * character separates the groups.
+     *
+     * @param c the character to process
+     */
+    private void handleObisIdCharacter(char c) {
+        if (c >= '0' && c <= '9') {
+            if (obisGroupCount == 0 || obisSeparators[obisGroupCount - 1] != NO_SEPARATOR) {
+                // Start of a new group
+                if (obisGroupCount == MAX_OBIS_GROUPS) {
+                    obisIdValid = false;
+                    return;
+                }
+                obisGroups[obisGroupCount] = 0;
+                obisSeparators[obisGroupCount] = NO_SEPARATOR;
+                obisGroupCount++;
+            }
+            int value = obisGroups[obisGroupCount - 1] * 10 + (c - '0');
+
+            if (value > MAX_OBIS_GROUP_VALUE) {
+                obisIdValid = false;
+            } else {
+                obisGroups[obisGroupCount - 1] = value;
+            }
+        } else if (obisGroupCount == 0 || obisSeparators[obisGroupCount - 1] != NO_SEPARATOR) {
+            // A separator must follow a group
+            obisIdValid = false;
+        } else {
+            obisSeparators[obisGroupCount - 1] = c;
+        }
+    }
+
+    /**
+     * Returns the current OBIS identifier (A-B:C.D.E*F). Groups A, B, E and F are optional.
+     *
+     * @return the current OBIS identifier or null if the OBIS identifier is not valid
+     */
+    private @Nullable OBISIdentifier getCurrentObisIdentifier() {
+        int count = obisGroupCount;
+        if (!obisIdValid || obisSeparators[count - 1] != NO_SEPARATOR) {
+            return null;
+        }
+        int i = 0;
+        int groupA = 0;
+        Integer groupB = null;
+        if (obisSeparators[i] == '-') {
+            groupA = obisGroups[i++];
+        }
+        if (i < count && obisSeparators[i] == ':') {
+            groupB = obisGroups[i++];
+        }
+        // Groups C and D are required
+        if (i + 1 >= count || obisSeparators[i] != '.') {
+            return null;
+        }
+        int groupC = obisGroups[i++];
+        int groupD = obisGroups[i++];
+        int groupE = 0;
+        Integer groupF = null;
+        if (i < count && obisSeparators[i - 1] == '.') {
+            groupE = obisGroups[i++];
+        }
+        if (i < count && obisSeparators[i - 1] != '\r' && obisSeparators[i - 1] != '\n') {
+            groupF = obisGroups[i++];
+        }
+        return i == count ? new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, groupF) : null;
+    }
+
+    /**
+     * Adds a byte to the values of the current cosem object.
+     *
+     * @param b the byte to add
+     */
+    private void appendCosemObjectValue(byte b) {
+        if (cosemObjectValuesLength == cosemObjectValues.length) {
+            cosemObjectValues = Arrays.copyOf(cosemObjectValues, cosemObjectValues.length * 2);
+        }
+        cosemObjectValues[cosemObjectValuesLength++] = b;
+    }
+
+    /**
+     * Adds a character to the CRC value.
+     *
+     * @param c the character to process
+     */
+    private void handleCrcCharacter(char c) {
+        int digit;
+        if (c >= '0' && c <= '9') {
+            digit = c - '0';
+        } else if (c >= 'A' && c <= 'F') {
+            digit = c - 'A' + 10;
+        } else {
+            digit = -1;
+        }
+        if (digit < 0) {
+            crcValueValid = false;
+        } else {
+            crcValue = (crcValue << 4) | digit;
+        }
+        crcLength++;
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        clearObisData();
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcLength = 0;
+        crcValueValid = true;
         crc.initialize();
         cosemObjects.clear();
     }
@@ -349,18 +507,24 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisGroupCount = 0;
+        obisIdValid = true;
+        cosemObjectValuesLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
+        if (obisGroupCount > 0) {
+            OBISIdentifier obisId = getCurrentObisIdentifier();
 
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+            if (obisId == null) {
+                logger.debug("Received invalid OBIS identifier");
+                return;
+            }
+            CosemObject cosemObject = factory.getCosemObject(obisId,
+                    new String(cosemObjectValues, 0, cosemObjectValuesLength, StandardCharsets.ISO_8859_1));
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
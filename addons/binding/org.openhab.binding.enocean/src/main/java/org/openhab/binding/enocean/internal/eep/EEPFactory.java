@@ -8,7 +8,11 @@
  */
 package org.openhab.binding.enocean.internal.eep;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -24,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * The constructors of all EEPs are looked up once, so the EEPs of received messages are created without reflection.
  *
  * @author Daniel Weber - Initial contribution
  */
@@ -31,28 +36,70 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
-    public static EEP createEEP(EEPType eepType) {
+    private static final MethodType DEFAULT_CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+    private static final MethodType MESSAGE_CONSTRUCTOR_TYPE = MethodType.methodType(void.class, ERP1Message.class);
 
-        try {
+    /**
+     * Constructors of the EEPs without arguments
+     */
+    private static final Map<EEPType, MethodHandle> DEFAULT_CONSTRUCTORS = new EnumMap<>(EEPType.class);
+
+    /**
+     * Constructors of the EEPs with a received message as argument
+     */
+    private static final Map<EEPType, MethodHandle> MESSAGE_CONSTRUCTORS = new EnumMap<>(EEPType.class);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        for (EEPType eepType : EEPType.values()) {
             Class<? extends EEP> cl = eepType.getEEPClass();
             if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
+                continue;
+            }
+
+            try {
+                DEFAULT_CONSTRUCTORS.put(eepType, lookup.findConstructor(cl, DEFAULT_CONSTRUCTOR_TYPE)
+                        .asType(MethodType.methodType(EEP.class)));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // EEP can only be received
+            }
+
+            try {
+                MESSAGE_CONSTRUCTORS.put(eepType, lookup.findConstructor(cl, MESSAGE_CONSTRUCTOR_TYPE)
+                        .asType(MethodType.methodType(EEP.class, ERP1Message.class)));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // EEP can only be sent
             }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
+        }
+    }
+
+    public static EEP createEEP(EEPType eepType) {
+        MethodHandle constructor = DEFAULT_CONSTRUCTORS.get(eepType);
+        if (constructor == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        }
+
+        try {
+            return (EEP) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
+        MethodHandle constructor = MESSAGE_CONSTRUCTORS.get(eepType);
+
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
+            if (constructor == null) {
                 throw new IllegalArgumentException("Message " + eepType + " not implemented");
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
+            return (EEP) constructor.invokeExact(packet);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             logger.error("Cannot instantiate EEP {}-{}-{}: {}",
                     HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
                     HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
@@ -11,11 +11,13 @@ package org.openhab.binding.enocean.internal.transceiver;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TooManyListenersException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -118,7 +120,7 @@ public abstract class EnOceanTransceiver {
     RequestQueue requestQueue;
     Request currentRequest = null;
 
-    protected Map<Long, HashSet<ESP3PacketListener>> listeners;
+    protected Map<Long, Set<ESP3PacketListener>> listeners;
     protected ESP3PacketListener teachInListener;
 
     // Input and output streams, must be created by transceiver implementations
@@ -137,7 +139,7 @@ public abstract class EnOceanTransceiver {
     public EnOceanTransceiver(TransceiverErrorListener errorListener, ScheduledExecutorService scheduler) {
 
         requestQueue = new RequestQueue(scheduler);
-        listeners = new HashMap<Long, HashSet<ESP3PacketListener>>();
+        listeners = new ConcurrentHashMap<>();
         teachInListener = null;
         this.errorListener = errorListener;
     }
@@ -177,20 +179,32 @@ public abstract class EnOceanTransceiver {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
 
-            int bytesRead = read(buffer, 1);
+            // read all available bytes at once, the frames are decoded from the buffer
+            int bytesRead = read(buffer, buffer.length);
             if (bytesRead > 0) {
-                // if byte == sync byte => processMessage
-                processMessage(buffer[0]);
+                processMessage(buffer, bytesRead);
+            } else if (bytesRead < 0) {
+                errorListener.ErrorOccured(new IOException("could not read from inputstream"));
+                return;
             }
         }
     }
 
+    /**
+     * Reads available bytes into the given buffer.
+     *
+     * @param buffer buffer to read into
+     * @param length maximum number of bytes to read
+     * @return number of bytes read, 0 if no bytes are available or -1 if the end of the stream is reached
+     */
     protected abstract int read(byte[] buffer, int length);
 
+    private static final int READ_BUFFER_SIZE = 1024;
+
     byte[] dataBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
     ReadingState state = ReadingState.WaitingForSyncByte; // we already received sync byte when we get called
     int currentPosition = 0;
@@ -198,174 +212,160 @@ public abstract class EnOceanTransceiver {
     int optionalLength = -1;
     byte packetType = -1;
 
-    private void processMessage(byte firstByte) {
+    private void processMessage(byte[] readingBuffer, int bytesRead) {
 
-        byte[] readingBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
         byte _byte;
 
-        try {
-
-            readingBuffer[0] = firstByte;
-
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
-            }
+        if (readingTask == null || readingTask.isCancelled()) {
+            return;
+        }
 
-            if (readingTask == null || readingTask.isCancelled()) {
-                return;
-            }
+        for (int p = 0; p < bytesRead; p++) {
+            _byte = readingBuffer[p];
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
+            switch (state) {
+                case WaitingForSyncByte:
+                    if (_byte == Helper.ENOCEAN_SYNC_BYTE) {
+                        state = ReadingState.ReadingHeader;
+                        logger.trace("Received Sync Byte");
+                    }
+                    break;
+                case ReadingHeader:
+                    if (currentPosition == Helper.ENOCEAN_HEADER_LENGTH) {
+                        if (Helper.checkCRC8(dataBuffer, Helper.ENOCEAN_HEADER_LENGTH, _byte)
+                                && ((dataBuffer[0] & 0xFF) << 8) + (dataBuffer[1] & 0xFF)
+                                        + (dataBuffer[2] & 0xFF) > 0) {
+
+                            state = ReadingState.ReadingData;
+
+                            dataLength = ((dataBuffer[0] & 0xFF) << 8) | (dataBuffer[1] & 0xFF);
+                            optionalLength = dataBuffer[2] & 0xFF;
+                            packetType = dataBuffer[3];
+                            currentPosition = 0;
 
-                switch (state) {
-                    case WaitingForSyncByte:
-                        if (_byte == Helper.ENOCEAN_SYNC_BYTE) {
-                            state = ReadingState.ReadingHeader;
-                            logger.trace("Received Sync Byte");
-                        }
-                        break;
-                    case ReadingHeader:
-                        if (currentPosition == Helper.ENOCEAN_HEADER_LENGTH) {
-                            if (Helper.checkCRC8(dataBuffer, Helper.ENOCEAN_HEADER_LENGTH, _byte)
-                                    && ((dataBuffer[0] & 0xFF) << 8) + (dataBuffer[1] & 0xFF)
-                                            + (dataBuffer[2] & 0xFF) > 0) {
-
-                                state = ReadingState.ReadingData;
-
-                                dataLength = ((dataBuffer[0] & 0xFF << 8) | (dataBuffer[1] & 0xFF));
-                                optionalLength = dataBuffer[2] & 0xFF;
-                                packetType = dataBuffer[3];
-                                currentPosition = 0;
+                            if (packetType == 3) {
+                                logger.trace("Received sub_msg");
+                            }
 
-                                if (packetType == 3) {
-                                    logger.trace("Received sub_msg");
+                            logger.trace(">> Received header, data length {} optional length {} packet type {}",
+                                    dataLength, optionalLength, packetType);
+                        } else {
+                            // check if we find a sync byte in current buffer
+                            int copyFrom = -1;
+                            for (int i = 0; i < Helper.ENOCEAN_HEADER_LENGTH; i++) {
+                                if (dataBuffer[i] == Helper.ENOCEAN_SYNC_BYTE) {
+                                    copyFrom = i + 1;
+                                    break;
                                 }
+                            }
 
-                                logger.trace(">> Received header, data length {} optional length {} packet type {}",
-                                        dataLength, optionalLength, packetType);
+                            if (copyFrom != -1) {
+                                System.arraycopy(dataBuffer, copyFrom, dataBuffer, 0,
+                                        Helper.ENOCEAN_HEADER_LENGTH - copyFrom);
+                                state = ReadingState.ReadingHeader;
+                                currentPosition = Helper.ENOCEAN_HEADER_LENGTH - copyFrom;
+                                dataBuffer[currentPosition++] = _byte;
                             } else {
-                                // check if we find a sync byte in current buffer
-                                int copyFrom = -1;
-                                for (int i = 0; i < Helper.ENOCEAN_HEADER_LENGTH; i++) {
-                                    if (dataBuffer[i] == Helper.ENOCEAN_SYNC_BYTE) {
-                                        copyFrom = i + 1;
-                                        break;
-                                    }
-                                }
-
-                                if (copyFrom != -1) {
-                                    System.arraycopy(dataBuffer, copyFrom, dataBuffer, 0,
-                                            Helper.ENOCEAN_HEADER_LENGTH - copyFrom);
-                                    state = ReadingState.ReadingHeader;
-                                    currentPosition = Helper.ENOCEAN_HEADER_LENGTH - copyFrom;
-                                    dataBuffer[currentPosition++] = _byte;
-                                } else {
-                                    currentPosition = 0;
-                                    state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                            : ReadingState.WaitingForSyncByte;
-                                }
-                                logger.trace("CrC8 header check not successful");
+                                currentPosition = 0;
+                                state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
+                                        : ReadingState.WaitingForSyncByte;
                             }
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
+                            logger.trace("CrC8 header check not successful");
                         }
-                        break;
-                    case ReadingData:
-                        if (currentPosition == dataLength + optionalLength) {
-                            if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, _byte)) {
-                                state = ReadingState.WaitingForSyncByte;
-                                ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength,
-                                        packetType, dataBuffer);
-
-                                if (packet != null) {
-                                    switch (packet.getPacketType()) {
-                                        case COMMON_COMMAND:
-                                            break;
-                                        case EVENT:
-                                            break;
-                                        case RADIO_ERP1: {
-                                            ERP1Message msg = (ERP1Message) packet;
-
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
+                    } else {
+                        dataBuffer[currentPosition++] = _byte;
+                    }
+                    break;
+                case ReadingData:
+                    if (currentPosition == dataLength + optionalLength) {
+                        if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, _byte)) {
+                            state = ReadingState.WaitingForSyncByte;
+                            ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength,
+                                    packetType, dataBuffer);
+
+                            if (packet != null) {
+                                switch (packet.getPacketType()) {
+                                    case COMMON_COMMAND:
+                                        break;
+                                    case EVENT:
+                                        break;
+                                    case RADIO_ERP1: {
+                                        ERP1Message msg = (ERP1Message) packet;
 
+                                        if (logger.isDebugEnabled()) {
                                             logger.debug("{} with RORG {} for {} payload {} received",
                                                     packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()), HexUtils.bytesToHex(d));
-
-                                            informListeners(msg);
+                                                    HexUtils.bytesToHex(msg.getSenderId()),
+                                                    dataBufferToHex());
                                         }
-                                            break;
-                                        case RADIO_ERP2:
-                                            break;
-                                        case RADIO_MESSAGE:
-                                            break;
-                                        case RADIO_SUB_TEL:
-                                            break;
-                                        case REMOTE_MAN_COMMAND:
-                                            break;
-                                        case RESPONSE: {
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
 
+                                        informListeners(msg);
+                                    }
+                                        break;
+                                    case RADIO_ERP2:
+                                        break;
+                                    case RADIO_MESSAGE:
+                                        break;
+                                    case RADIO_SUB_TEL:
+                                        break;
+                                    case REMOTE_MAN_COMMAND:
+                                        break;
+                                    case RESPONSE: {
+                                        if (logger.isDebugEnabled()) {
                                             logger.debug("{} with code {} payload {} received",
                                                     packet.getPacketType().name(),
-                                                    ((Response) packet).getResponseType().name(),
-                                                    HexUtils.bytesToHex(d));
-
-                                            if (currentRequest != null) {
-                                                if (currentRequest.ResponseListener != null) {
-                                                    currentRequest.ResponsePacket = (Response) packet;
-                                                    try {
-                                                        currentRequest.ResponseListener
-                                                                .handleResponse(currentRequest.ResponsePacket);
-                                                    } catch (Exception e) {
-                                                    }
-
-                                                    logger.trace("Response handled");
-                                                } else {
-                                                    logger.trace("Response without listener");
+                                                    ((Response) packet).getResponseType().name(), dataBufferToHex());
+                                        }
+
+                                        if (currentRequest != null) {
+                                            if (currentRequest.ResponseListener != null) {
+                                                currentRequest.ResponsePacket = (Response) packet;
+                                                try {
+                                                    currentRequest.ResponseListener
+                                                            .handleResponse(currentRequest.ResponsePacket);
+                                                } catch (Exception e) {
                                                 }
+
+                                                logger.trace("Response handled");
+                                            } else {
+                                                logger.trace("Response without listener");
                                             }
                                         }
-                                            break;
-                                        case SMART_ACK_COMMAND:
-                                            break;
-                                        default:
-                                            break;
                                     }
-                                } else {
-                                    logger.trace("Unknown ESP3Packet");
-                                    byte[] d = new byte[dataLength + optionalLength];
-                                    System.arraycopy(dataBuffer, 0, d, 0, d.length);
-                                    logger.trace("{}", HexUtils.bytesToHex(d));
+                                        break;
+                                    case SMART_ACK_COMMAND:
+                                        break;
+                                    default:
+                                        break;
                                 }
                             } else {
-                                state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                        : ReadingState.WaitingForSyncByte;
-                                logger.trace("esp packet malformed");
+                                logger.trace("Unknown ESP3Packet");
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("{}", dataBufferToHex());
+                                }
                             }
-
-                            currentPosition = 0;
-                            dataLength = optionalLength = packetType = -1;
                         } else {
-                            dataBuffer[currentPosition++] = _byte;
+                            state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
+                                    : ReadingState.WaitingForSyncByte;
+                            logger.trace("esp packet malformed");
                         }
-                        break;
-                    default:
-                        break;
-                }
+
+                        currentPosition = 0;
+                        dataLength = optionalLength = packetType = -1;
+                    } else {
+                        dataBuffer[currentPosition++] = _byte;
+                    }
+                    break;
+                default:
+                    break;
             }
-        } catch (IOException ioexception) {
-            errorListener.ErrorOccured(ioexception);
-            return;
         }
     }
 
+    private String dataBufferToHex() {
+        return HexUtils.bytesToHex(Arrays.copyOf(dataBuffer, dataLength + optionalLength));
+    }
+
     public void sendESP3Packet(ESP3Packet packet, ResponseListener<? extends Response> responseCallback)
             throws IOException {
 
@@ -408,8 +408,11 @@ public abstract class EnOceanTransceiver {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                HashSet<ESP3PacketListener> pl = listeners.get(s);
+                long s = 0;
+                for (byte b : senderId) {
+                    s = (s << 8) | (b & 0xFF);
+                }
+                Set<ESP3PacketListener> pl = listeners.get(s);
                 if (pl != null) {
                     pl.forEach(l -> l.espPacketReceived(msg));
                 }
@@ -421,19 +424,20 @@ public abstract class EnOceanTransceiver {
 
     public void addPacketListener(ESP3PacketListener listener) {
 
-        listeners.computeIfAbsent(listener.getSenderIdToListenTo(), k -> new HashSet<ESP3PacketListener>())
-                .add(listener);
+        // listeners are rarely changed, so the listeners of a sender are copied on write and read without locking
+        listeners.compute(listener.getSenderIdToListenTo(), (senderId, pl) -> {
+            Set<ESP3PacketListener> result = pl != null ? pl : new CopyOnWriteArraySet<>();
+            result.add(listener);
+            return result;
+        });
         logger.debug("Listener added: {}", listener.getSenderIdToListenTo());
     }
 
     public void removePacketListener(ESP3PacketListener listener) {
-        HashSet<ESP3PacketListener> pl = listeners.get(listener.getSenderIdToListenTo());
-        if (pl != null) {
+        listeners.computeIfPresent(listener.getSenderIdToListenTo(), (senderId, pl) -> {
             pl.remove(listener);
-            if (pl.isEmpty()) {
-                listeners.remove(listener.getSenderIdToListenTo());
-            }
-        }
+            return pl.isEmpty() ? null : pl;
+        });
     }
 
     public void startDiscovery(ESP3PacketListener teachInListener) {
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class GroupAddressDispatcherTest {
+
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA3 = new GroupAddress(1, 2, 5);
+
+    private static class Listener implements GroupAddressListener {
+        private final Set<GroupAddress> addresses;
+        private final boolean declaresAddresses;
+        private final List<GroupAddress> received = new ArrayList<>();
+
+        private Listener(boolean declaresAddresses, GroupAddress... addresses) {
+            this.declaresAddresses = declaresAddresses;
+            this.addresses = new HashSet<>(Arrays.asList(addresses));
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return addresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return declaresAddresses ? addresses : null;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+            received.add(destination);
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+    }
+
+    private final Queue<Runnable> tasks = new LinkedList<>();
+    private final Executor executor = tasks::add;
+    private GroupAddressDispatcher dispatcher;
+
+    @Before
+    public void setup() {
+        dispatcher = new GroupAddressDispatcher(executor);
+    }
+
+    private void dispatch(GroupAddress destination) {
+        dispatcher.dispatch(destination, listener -> listener.onGroupWrite(null, null, destination, new byte[0]));
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    public void testOnlyInterestedListenersAreNotified() {
+        Listener listener1 = new Listener(true, GA1);
+        Listener listener2 = new Listener(true, GA2);
+        Listener listener3 = new Listener(false, GA1, GA2);
+        assertTrue(dispatcher.register(listener1));
+        assertTrue(dispatcher.register(listener2));
+        assertTrue(dispatcher.register(listener3));
+
+        dispatch(GA1);
+        dispatch(GA3);
+        runTasks();
+
+        assertEquals(Arrays.asList(GA1), listener1.received);
+        assertEquals(0, listener2.received.size());
+        assertEquals(Arrays.asList(GA1), listener3.received);
+    }
+
+    @Test
+    public void testBurstIsDeliveredInOrderWithFewTasks() {
+        Listener listener = new Listener(true, GA1, GA2);
+        dispatcher.register(listener);
+
+        int count = 3 * GroupAddressDispatcher.MAX_BATCH_SIZE;
+        List<GroupAddress> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            GroupAddress destination = i % 2 == 0 ? GA1 : GA2;
+            dispatch(destination);
+            expected.add(destination);
+        }
+        assertEquals(1, tasks.size());
+
+        int executedTasks = 0;
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+            executedTasks++;
+        }
+        assertEquals(expected, listener.received);
+        assertEquals(3, executedTasks);
+    }
+
+    @Test
+    public void testRegisterAgainUpdatesIndex() {
+        Listener listener = new Listener(true, GA1);
+        dispatcher.register(listener);
+        listener.addresses.add(GA2);
+        assertFalse(dispatcher.register(listener));
+
+        dispatch(GA1);
+        dispatch(GA2);
+        runTasks();
+
+        assertEquals(Arrays.asList(GA1, GA2), listener.received);
+    }
+
+    @Test
+    public void testUnregisteredListenerIsNotNotified() {
+        Listener listener = new Listener(true, GA1);
+        dispatcher.register(listener);
+        dispatch(GA1);
+        assertTrue(dispatcher.unregister(listener));
+        assertFalse(dispatcher.unregister(listener));
+        dispatch(GA1);
+        runTasks();
+
+        assertEquals(0, listener.received.size());
+    }
+
+}
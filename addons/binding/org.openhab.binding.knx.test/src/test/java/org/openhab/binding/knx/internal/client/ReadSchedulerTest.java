@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.client.ReadPriority;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private static final int PAUSE = 50;
+
+    private ReadScheduler scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = new ReadScheduler(PAUSE);
+    }
+
+    private static ReadDatapoint datapoint(int address) {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(1, 1, address), "test", 0, "1.001"), 2);
+    }
+
+    private static int address(ReadDatapoint datapoint) {
+        return datapoint.getDatapoint().getMainAddress().getRawAddress() & 0xFF;
+    }
+
+    @Test
+    public void testHighPriorityIsReadFirst() {
+        scheduler.add(datapoint(1), ReadPriority.NORMAL, 0);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL, 0);
+        scheduler.add(datapoint(3), ReadPriority.NORMAL, 0);
+        scheduler.add(datapoint(4), ReadPriority.HIGH, 0);
+        // pending request gets upgraded, but keeps its position
+        assertFalse(scheduler.add(datapoint(3), ReadPriority.HIGH, 0));
+
+        int[] expected = { 3, 4, 1, 2 };
+        for (int i = 0; i < expected.length; i++) {
+            ReadDatapoint read = scheduler.next(i * PAUSE);
+            assertEquals(expected[i], address(read));
+            scheduler.completed(read, true, i * PAUSE);
+        }
+    }
+
+    @Test
+    public void testPendingAndInFlightReadsAreDeduplicated() {
+        assertTrue(scheduler.add(datapoint(1), ReadPriority.NORMAL, 0));
+        assertFalse(scheduler.add(datapoint(1), ReadPriority.NORMAL, 0));
+        assertEquals(1, scheduler.getPendingCount());
+
+        ReadDatapoint read = scheduler.next(0);
+        assertNotNull(read);
+        assertFalse(scheduler.add(datapoint(1), ReadPriority.HIGH, 0));
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(1, scheduler.getInFlightCount());
+
+        scheduler.completed(read, true, 10);
+        assertTrue(scheduler.add(datapoint(1), ReadPriority.NORMAL, 10));
+    }
+
+    @Test
+    public void testReadNotSentIsQueuedAgain() {
+        scheduler.add(datapoint(1), ReadPriority.NORMAL, 0);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL, 0);
+        ReadDatapoint read = scheduler.next(0);
+        scheduler.notSent(read);
+        assertEquals(0, scheduler.getInFlightCount());
+        assertEquals(2, scheduler.getPendingCount());
+
+        // keeps its position, and the pause is not increased
+        read = scheduler.next(PAUSE);
+        assertEquals(1, address(read));
+        assertEquals(0, read.getRetries());
+    }
+
+    @Test
+    public void testConcurrencyAdapts() {
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint(i), ReadPriority.NORMAL, 0);
+        }
+        ReadDatapoint first = scheduler.next(0);
+        assertNotNull(first);
+        // reading pause is respected
+        assertNull(scheduler.next(PAUSE - 1));
+        // only one read in flight until devices responded
+        assertNull(scheduler.next(PAUSE));
+        scheduler.completed(first, true, PAUSE);
+
+        assertNotNull(scheduler.next(PAUSE));
+        ReadDatapoint third = scheduler.next(2 * PAUSE);
+        assertNotNull(third);
+        assertEquals(2, scheduler.getInFlightCount());
+        assertNull(scheduler.next(3 * PAUSE));
+
+        // failure limits to a single read in flight
+        scheduler.completed(third, false, 3 * PAUSE);
+        assertNull(scheduler.next(10 * PAUSE));
+    }
+
+    @Test
+    public void testPauseAdapts() {
+        for (int i = 0; i < 10; i++) {
+            scheduler.add(datapoint(i), ReadPriority.NORMAL, 0);
+        }
+        ReadDatapoint read = scheduler.next(0);
+        scheduler.completed(read, false, 0);
+
+        // failure doubles the pause
+        read = scheduler.next(PAUSE);
+        assertNotNull(read);
+        scheduler.completed(read, true, PAUSE);
+        assertNull(scheduler.next(2 * PAUSE));
+        read = scheduler.next(3 * PAUSE);
+        assertNotNull(read);
+        scheduler.completed(read, true, 3 * PAUSE);
+
+        // success restores the pause
+        assertNotNull(scheduler.next(4 * PAUSE));
+    }
+
+    @Test
+    public void testFailedReadIsRetriedUntilLimit() {
+        scheduler.add(datapoint(1), ReadPriority.NORMAL, 0);
+        long now = 0;
+        ReadDatapoint read;
+        int attempts = 0;
+        while ((read = scheduler.next(now)) != null) {
+            read.incrementRetries();
+            attempts++;
+            scheduler.completed(read, false, now);
+            now += 100 * PAUSE;
+        }
+        assertEquals(2, attempts);
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(0, scheduler.getInFlightCount());
+    }
+
+    @Test
+    public void testBusyBusDoublesPause() {
+        scheduler.add(datapoint(1), ReadPriority.NORMAL, 0);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL, 0);
+        for (int i = 0; i < ReadScheduler.BUSY_TELEGRAMS_PER_SECOND; i++) {
+            scheduler.telegramReceived(1000 + i);
+        }
+        ReadDatapoint read = scheduler.next(2000);
+        scheduler.completed(read, true, 2000);
+        assertNull(scheduler.next(2000 + PAUSE));
+        assertNotNull(scheduler.next(2000 + 2 * PAUSE));
+    }
+
+    @Test
+    public void testClearDiscardsReads() {
+        scheduler.add(datapoint(1), ReadPriority.NORMAL, 0);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL, 0);
+        ReadDatapoint read = scheduler.next(0);
+        scheduler.clear();
+        scheduler.completed(read, false, 0);
+        assertEquals(0, scheduler.getPendingCount());
+        assertEquals(0, scheduler.getInFlightCount());
+        assertNull(scheduler.next(PAUSE));
+    }
+
+}
@@ -8,11 +8,22 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.function.Supplier;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -26,4 +37,73 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_boolean() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(UpDownType.DOWN, mapper.toType(datapoint("1.008"), new byte[] { 1 }));
+        assertEquals(OpenClosedType.CLOSED, mapper.toType(datapoint("1.009"), new byte[] { 0 }));
+        for (String dpt : new String[] { "1.001", "1.008", "1.009", "1.010", "1.019", "1.022" }) {
+            assertSameAsTranslator(mapper, dpt, new byte[] { 0 });
+            assertSameAsTranslator(mapper, dpt, new byte[] { 1 });
+            assertSameAsTranslator(mapper, dpt, new byte[] { 3 });
+            assertSameAsTranslator(mapper, dpt, new byte[0]);
+        }
+    }
+
+    @Test
+    public void testToType_8BitUnsigned() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(new PercentType(50), mapper.toType(datapoint("5.001"), new byte[] { (byte) 128 }));
+        for (String dpt : new String[] { "5.001", "5.003", "5.004", "5.010" }) {
+            for (int i = 0; i < 256; i++) {
+                assertSameAsTranslator(mapper, dpt, new byte[] { (byte) i });
+            }
+            assertSameAsTranslator(mapper, dpt, new byte[0]);
+        }
+    }
+
+    @Test
+    public void testToType_2ByteFloat() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(new DecimalType(21.5), mapper.toType(datapoint("9.001"), new byte[] { 0x0C, 0x33 }));
+        for (String dpt : new String[] { "9.001", "9.004", "9.007" }) {
+            for (int i = 0; i < 0x10000; i++) {
+                assertSameAsTranslator(mapper, dpt, new byte[] { (byte) (i >> 8), (byte) i });
+            }
+            assertSameAsTranslator(mapper, dpt, new byte[1]);
+        }
+    }
+
+    @Test
+    public void testToType_4ByteFloat() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(new DecimalType(1.5), mapper.toType(datapoint("14.019"), new byte[] { 0x3F, (byte) 0xC0, 0, 0 }));
+        Random random = new Random(42);
+        byte[] data = new byte[4];
+        for (int i = 0; i < 10000; i++) {
+            random.nextBytes(data);
+            assertSameAsTranslator(mapper, "14.019", data);
+        }
+        assertSameAsTranslator(mapper, "14.019", new byte[3]);
+    }
+
+    private static Datapoint datapoint(String dpt) {
+        return new CommandDP(new GroupAddress(1, 2, 3), "test", 0, dpt);
+    }
+
+    private static void assertSameAsTranslator(KNXCoreTypeMapper mapper, String dpt, byte[] data) {
+        Datapoint datapoint = datapoint(dpt);
+        assertEquals(dpt, convert(() -> mapper.toTypeWithTranslator(datapoint, data)),
+                convert(() -> mapper.toType(datapoint, data)));
+    }
+
+    private static Object convert(Supplier<Type> conversion) {
+        try {
+            Type type = conversion.get();
+            return type == null ? "null" : type.getClass().getSimpleName() + ":" + type;
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
 }
@@ -59,6 +59,9 @@ public interface KNXClient {
     /**
      * Register the given listener to be informed on KNX bus traffic.
      *
+     * Registering an already registered listener updates the group addresses it is informed about (see
+     * {@link GroupAddressListener#getGroupAddresses()}).
+     *
      * @param listener the listener
      * @return {@code true} if it wasn't registered before
      */
@@ -72,12 +75,25 @@ public interface KNXClient {
      */
     boolean unregisterGroupAddressListener(GroupAddressListener listener);
 
+    /**
+     * Schedule the given data point for asynchronous reading, with {@link ReadPriority#NORMAL} priority.
+     *
+     * @param datapoint the datapoint
+     */
+    default void readDatapoint(Datapoint datapoint) {
+        readDatapoint(datapoint, ReadPriority.NORMAL);
+    }
+
     /**
      * Schedule the given data point for asynchronous reading.
      *
+     * A read request for a group address that is already pending is not queued again, but the pending request gets
+     * the higher of both priorities.
+     *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
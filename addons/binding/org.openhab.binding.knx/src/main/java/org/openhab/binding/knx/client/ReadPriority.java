@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.client;
+
+/**
+ * Priority of a queued read request. Pending requests of higher priority are sent to the bus first.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public enum ReadPriority {
+
+    /**
+     * The state is not known yet, e.g. after linking a channel or (re-)connecting to the bus.
+     */
+    HIGH,
+
+    /**
+     * The state is known and only refreshed, e.g. by the periodic read job.
+     */
+    NORMAL
+
+}
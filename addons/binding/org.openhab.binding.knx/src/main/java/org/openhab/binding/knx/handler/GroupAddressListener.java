@@ -8,7 +8,10 @@
  */
 package org.openhab.binding.knx.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
 import tuwien.auto.calimero.GroupAddress;
@@ -30,4 +33,16 @@ public interface GroupAddressListener extends BusMessageListener {
      */
     public boolean listensTo(GroupAddress destination);
 
+    /**
+     * Get the GroupAddresses the GroupAddressListener has an interest in. The KNX client uses them to deliver bus
+     * messages only to the interested listeners. The set is read when the listener is registered with the client, so
+     * the listener should register again when the set changes.
+     *
+     * @return the group addresses, or {@code null} if unknown, in which case {@link #listensTo(GroupAddress)} is called
+     *         for every bus message
+     */
+    public default @Nullable Set<GroupAddress> getGroupAddresses() {
+        return null;
+    }
+
 }
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Delivers KNX bus messages to the {@link GroupAddressListener}s interested in the destination group address.
+ *
+ * Listeners are indexed by the group addresses they declare (see {@link GroupAddressListener#getGroupAddresses()}),
+ * so dispatching a telegram only touches the listeners of its destination. Listeners which do not declare their
+ * group addresses are asked for every telegram.
+ *
+ * Notifications are queued per listener and delivered in order of arrival. A single task per listener drains its
+ * queue, so a burst of telegrams results in one task on the executor instead of one task per telegram.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressDispatcher {
+
+    /**
+     * Maximum number of notifications delivered by one task, so that a busy listener does not monopolize a thread
+     */
+    static final int MAX_BATCH_SIZE = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressDispatcher.class);
+
+    private final Executor executor;
+    private final Map<GroupAddressListener, ListenerQueue> listeners = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, Set<ListenerQueue>> index = new ConcurrentHashMap<>();
+    private final Set<ListenerQueue> unindexed = new CopyOnWriteArraySet<>();
+
+    /**
+     * Pending notifications of a single listener
+     */
+    private class ListenerQueue implements Runnable {
+        private final GroupAddressListener listener;
+        private final Queue<Consumer<BusMessageListener>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private @Nullable Set<GroupAddress> indexedAddresses;
+        private volatile boolean active = true;
+
+        private ListenerQueue(GroupAddressListener listener) {
+            this.listener = listener;
+        }
+
+        private void enqueue(Consumer<BusMessageListener> notification) {
+            pending.add(notification);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    logger.debug("Could not schedule delivery of KNX bus messages: {}", e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < MAX_BATCH_SIZE && active; i++) {
+                    Consumer<BusMessageListener> notification = pending.poll();
+                    if (notification == null) {
+                        break;
+                    }
+                    try {
+                        notification.accept(listener);
+                    } catch (RuntimeException e) {
+                        logger.warn("Listener {} failed to process KNX bus message: {}", listener, e.getMessage(), e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            if (!active) {
+                pending.clear();
+            } else if (!pending.isEmpty()) {
+                // more messages arrived meanwhile, or the batch size was reached
+                schedule();
+            }
+        }
+    }
+
+    public GroupAddressDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register the given listener, or update the group addresses of an already registered listener.
+     *
+     * @param listener the listener
+     * @return {@code true} if it wasn't registered before
+     */
+    public synchronized boolean register(GroupAddressListener listener) {
+        ListenerQueue queue = listeners.get(listener);
+        boolean added = queue == null;
+        if (queue == null) {
+            queue = new ListenerQueue(listener);
+            listeners.put(listener, queue);
+        } else {
+            removeFromIndex(queue);
+        }
+        addToIndex(queue);
+        return added;
+    }
+
+    /**
+     * Remove the given listener. Messages not yet delivered to the listener are discarded.
+     *
+     * @param listener the listener
+     * @return {@code true} if it was successfully removed
+     */
+    public synchronized boolean unregister(GroupAddressListener listener) {
+        ListenerQueue queue = listeners.remove(listener);
+        if (queue == null) {
+            return false;
+        }
+        removeFromIndex(queue);
+        queue.active = false;
+        queue.pending.clear();
+        return true;
+    }
+
+    /**
+     * Queue the given notification for every listener interested in the destination.
+     *
+     * @param destination the destination of the bus message
+     * @param notification the action notifying a single listener
+     */
+    public void dispatch(GroupAddress destination, Consumer<BusMessageListener> notification) {
+        Set<ListenerQueue> indexed = index.get(destination);
+        if (indexed != null) {
+            for (ListenerQueue queue : indexed) {
+                // the listener has the final say, e.g. in case its channels changed since registration
+                if (queue.listener.listensTo(destination)) {
+                    queue.enqueue(notification);
+                }
+            }
+        }
+        for (ListenerQueue queue : unindexed) {
+            if (queue.listener.listensTo(destination)) {
+                queue.enqueue(notification);
+            }
+        }
+    }
+
+    private void addToIndex(ListenerQueue queue) {
+        Set<GroupAddress> addresses = queue.listener.getGroupAddresses();
+        if (addresses == null) {
+            queue.indexedAddresses = null;
+            unindexed.add(queue);
+            return;
+        }
+        Set<GroupAddress> copy = Collections.unmodifiableSet(new HashSet<>(addresses));
+        queue.indexedAddresses = copy;
+        for (GroupAddress address : copy) {
+            index.computeIfAbsent(address, a -> new CopyOnWriteArraySet<>()).add(queue);
+        }
+    }
+
+    private void removeFromIndex(ListenerQueue queue) {
+        Set<GroupAddress> addresses = queue.indexedAddresses;
+        if (addresses == null) {
+            unindexed.remove(queue);
+            return;
+        }
+        for (GroupAddress address : addresses) {
+            index.computeIfPresent(address, (a, queues) -> {
+                queues.remove(queue);
+                return queues.isEmpty() ? null : queues;
+            });
+        }
+        queue.indexedAddresses = null;
+    }
+
+}
@@ -0,0 +1,299 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.client.ReadPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Decides which queued datapoint should be read from the KNX bus next, and when.
+ *
+ * <ul>
+ * <li>Pending reads are ordered by {@link ReadPriority}, then by the time they were requested. Reads that failed and
+ * are retried keep their position.</li>
+ * <li>Only one read per group address is pending or in flight at a time.</li>
+ * <li>Several reads may wait for their response at the same time. The number of reads in flight grows while the
+ * devices respond, and drops to one on a failure.</li>
+ * <li>The pause between two read requests is at least the configured reading pause. It is doubled for each failure
+ * (up to {@link #MAX_BACKOFF} times) and halved again for each successful read, and it is doubled while the bus is
+ * busy with other traffic.</li>
+ * </ul>
+ *
+ * All times are given in milliseconds by the caller, which makes the scheduler independent of the clock.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /**
+     * Maximum number of read requests waiting for a response at the same time
+     */
+    static final int MAX_READS_IN_FLIGHT = 3;
+
+    /**
+     * Maximum number of times the reading pause is doubled after failed reads
+     */
+    static final int MAX_BACKOFF = 5;
+
+    /**
+     * Number of received telegrams per second above which the bus is considered busy
+     */
+    static final int BUSY_TELEGRAMS_PER_SECOND = 25;
+
+    private final Logger logger = LoggerFactory.getLogger(ReadScheduler.class);
+
+    private final int readingPause;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<GroupAddress, Entry> pending = new HashMap<>();
+    private final Map<GroupAddress, Entry> inFlight = new HashMap<>();
+
+    private long sequence;
+    private long nextReadTime;
+    private int backoff;
+    private int window = 1;
+
+    private long telegramWindowStart;
+    private int telegramsInWindow;
+    private int telegramsInLastWindow;
+
+    private long batchStart;
+    private int batchRequested;
+    private int batchCompleted;
+    private int batchFailed;
+
+    private static class Entry implements Comparable<Entry> {
+        private final ReadDatapoint datapoint;
+        private ReadPriority priority;
+        private final long sequence;
+
+        private Entry(ReadDatapoint datapoint, ReadPriority priority, long sequence) {
+            this.datapoint = datapoint;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public ReadScheduler(int readingPause) {
+        this.readingPause = readingPause;
+    }
+
+    /**
+     * Queue the given datapoint for reading.
+     *
+     * @param datapoint the datapoint to read
+     * @param priority the priority of the request
+     * @param now the current time
+     * @return {@code true} if the read was queued, {@code false} if a read of the same group address is pending or in
+     *         flight already
+     */
+    public synchronized boolean add(ReadDatapoint datapoint, ReadPriority priority, long now) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        if (inFlight.containsKey(address)) {
+            // the response of the read in flight will update the state
+            return false;
+        }
+        Entry existing = pending.get(address);
+        if (existing != null) {
+            if (priority.compareTo(existing.priority) < 0) {
+                queue.remove(existing);
+                existing.priority = priority;
+                queue.add(existing);
+            }
+            return false;
+        }
+        if (isIdle()) {
+            batchStart = now;
+        }
+        Entry entry = new Entry(datapoint, priority, sequence++);
+        pending.put(address, entry);
+        queue.add(entry);
+        batchRequested++;
+        return true;
+    }
+
+    /**
+     * Get the datapoint to read next, if a read is due.
+     *
+     * The returned datapoint is in flight until {@link #completed(ReadDatapoint, boolean, long)} is called for it.
+     *
+     * @param now the current time
+     * @return the datapoint to read now, or {@code null} if no read is due
+     */
+    public synchronized @Nullable ReadDatapoint next(long now) {
+        if (queue.isEmpty() || now < nextReadTime || inFlight.size() >= window) {
+            return null;
+        }
+        Entry entry = queue.poll();
+        GroupAddress address = entry.datapoint.getDatapoint().getMainAddress();
+        pending.remove(address);
+        inFlight.put(address, entry);
+
+        long pause = (long) readingPause << backoff;
+        if (isBusy(now)) {
+            pause *= 2;
+        }
+        nextReadTime = now + pause;
+        return entry.datapoint;
+    }
+
+    /**
+     * Report the outcome of a read returned by {@link #next(long)}.
+     *
+     * A failed read is queued again, unless its retry limit is reached.
+     *
+     * @param datapoint the datapoint which was read
+     * @param success whether the device responded
+     * @param now the current time
+     */
+    public synchronized void completed(ReadDatapoint datapoint, boolean success, long now) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        Entry entry = inFlight.get(address);
+        if (entry == null || entry.datapoint != datapoint) {
+            // scheduler was cleared meanwhile
+            return;
+        }
+        inFlight.remove(address);
+        if (success) {
+            batchCompleted++;
+            if (backoff > 0) {
+                backoff--;
+            } else {
+                window = Math.min(MAX_READS_IN_FLIGHT, window + 1);
+            }
+        } else {
+            backoff = Math.min(MAX_BACKOFF, backoff + 1);
+            window = 1;
+            if (datapoint.getRetries() < datapoint.getLimit() && !pending.containsKey(address)) {
+                pending.put(address, entry);
+                queue.add(entry);
+            } else {
+                batchFailed++;
+            }
+        }
+        if (isIdle() && batchRequested > 0) {
+            logger.debug("Read {} datapoints from the KNX bus in {} ms, {} of them failed", batchCompleted + batchFailed,
+                    now - batchStart, batchFailed);
+            batchRequested = 0;
+            batchCompleted = 0;
+            batchFailed = 0;
+        }
+    }
+
+    /**
+     * Return a read returned by {@link #next(long)} which could not be sent, e.g. because the executor rejected it.
+     *
+     * The read is queued again at its previous position, without counting as a failure.
+     *
+     * @param datapoint the datapoint which was not read
+     */
+    public synchronized void notSent(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        Entry entry = inFlight.get(address);
+        if (entry == null || entry.datapoint != datapoint) {
+            // scheduler was cleared meanwhile
+            return;
+        }
+        inFlight.remove(address);
+        if (!pending.containsKey(address)) {
+            pending.put(address, entry);
+            queue.add(entry);
+        }
+    }
+
+    /**
+     * Account a telegram received from the bus, for estimating the bus load.
+     *
+     * @param now the current time
+     */
+    public synchronized void telegramReceived(long now) {
+        rollTelegramWindow(now);
+        telegramsInWindow++;
+    }
+
+    /**
+     * Discard all pending reads, and forget about the reads in flight.
+     */
+    public synchronized void clear() {
+        queue.clear();
+        pending.clear();
+        inFlight.clear();
+        nextReadTime = 0;
+        backoff = 0;
+        window = 1;
+        batchRequested = 0;
+        batchCompleted = 0;
+        batchFailed = 0;
+    }
+
+    /**
+     * Get the number of reads waiting to be sent.
+     *
+     * @return the number of pending reads
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Get the number of reads waiting for a response.
+     *
+     * @return the number of reads in flight
+     */
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Get a human readable description of the progress of the current batch of reads, e.g. for logging.
+     *
+     * @return the progress
+     */
+    public synchronized String getProgress() {
+        return String.format("%d of %d read, %d failed, %d pending, %d in flight, pause %d ms", batchCompleted,
+                batchRequested, batchFailed, pending.size(), inFlight.size(), (long) readingPause << backoff);
+    }
+
+    private boolean isIdle() {
+        return pending.isEmpty() && inFlight.isEmpty();
+    }
+
+    private boolean isBusy(long now) {
+        rollTelegramWindow(now);
+        return telegramsInLastWindow >= BUSY_TELEGRAMS_PER_SECOND;
+    }
+
+    private void rollTelegramWindow(long now) {
+        long elapsed = now - telegramWindowStart;
+        if (elapsed >= 1000) {
+            // telegrams of an older window are not relevant anymore
+            telegramsInLastWindow = elapsed < 2000 ? telegramsInWindow : 0;
+            telegramsInWindow = 0;
+            telegramWindowStart = now;
+        }
+    }
+
+}
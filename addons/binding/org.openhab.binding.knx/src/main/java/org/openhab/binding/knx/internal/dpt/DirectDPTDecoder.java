@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.math.BigDecimal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StopMoveType;
+import org.eclipse.smarthome.core.library.types.UpDownType;
+import org.eclipse.smarthome.core.types.Type;
+
+/**
+ * Decodes the ASDU of the most common datapoint types directly into openHAB types, without creating a calimero
+ * translator and without formatting and parsing the value as a string.
+ *
+ * Decoders exist for the main types 1 (boolean), 5 (8-bit unsigned), 9 (2-octet float) and 14 (4-octet float). The
+ * results are identical to the ones of the translator based conversion in {@link KNXCoreTypeMapper}.
+ *
+ * A decoder is created once per datapoint type and is immutable, so it can be shared between threads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class DirectDPTDecoder {
+
+    private static final DecimalType DECIMAL_ZERO = DecimalType.valueOf("0");
+    private static final DecimalType DECIMAL_ONE = DecimalType.valueOf("1");
+
+    private final int mainNumber;
+    private final int subNumber;
+    private final boolean percent;
+    private final int width;
+
+    private DirectDPTDecoder(int mainNumber, int subNumber, boolean percent, int width) {
+        this.mainNumber = mainNumber;
+        this.subNumber = subNumber;
+        this.percent = percent;
+        this.width = width;
+    }
+
+    /**
+     * Create a decoder for the given datapoint type.
+     *
+     * @param mainNumber main number of the datapoint type
+     * @param subNumber sub number of the datapoint type
+     * @param typeClass openHAB type class the datapoint type is mapped to
+     * @return the decoder, or {@code null} if the datapoint type can not be decoded directly
+     */
+    static @Nullable DirectDPTDecoder create(int mainNumber, int subNumber, @Nullable Class<? extends Type> typeClass) {
+        switch (mainNumber) {
+            case 1:
+                return new DirectDPTDecoder(mainNumber, subNumber, false, 1);
+            case 5:
+            case 9:
+            case 14:
+                if (!DecimalType.class.equals(typeClass) && !PercentType.class.equals(typeClass)) {
+                    return null;
+                }
+                return new DirectDPTDecoder(mainNumber, subNumber, PercentType.class.equals(typeClass),
+                        mainNumber == 5 ? 1 : mainNumber == 9 ? 2 : 4);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Decode the given ASDU.
+     *
+     * @param data the ASDU
+     * @return the openHAB type, or {@code null} if the data is too short, which is left for the translator to report
+     */
+    @Nullable
+    Type decode(byte[] data) {
+        if (data.length < width) {
+            return null;
+        }
+        switch (mainNumber) {
+            case 1:
+                return decodeBoolean((data[0] & 0x01) != 0);
+            case 5:
+                return toNumber(decodeUnsigned8Bit(data[0] & 0xFF));
+            case 9:
+                return toNumber(decode2ByteFloat(data[0] & 0xFF, data[1] & 0xFF));
+            case 14:
+                return toNumber(Float.intBitsToFloat(
+                        (data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF)));
+            default:
+                return null;
+        }
+    }
+
+    private Type decodeBoolean(boolean value) {
+        switch (subNumber) {
+            case 8:
+                return value ? UpDownType.DOWN : UpDownType.UP;
+            case 9:
+            case 19:
+                return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case 10:
+                return value ? StopMoveType.MOVE : StopMoveType.STOP;
+            case 22:
+                return value ? DECIMAL_ONE : DECIMAL_ZERO;
+            default:
+                return value ? OnOffType.ON : OnOffType.OFF;
+        }
+    }
+
+    private double decodeUnsigned8Bit(int value) {
+        switch (subNumber) {
+            case 1: // 5.001: Scaling, values: 0...100 %
+                return value * 100.0 / 255.0;
+            case 3: // 5.003: Angle, values: 0...360 °
+                return value * 360.0 / 255.0;
+            default:
+                return value;
+        }
+    }
+
+    private static double decode2ByteFloat(int high, int low) {
+        // 11 bit two's complement mantissa with the sign in the most significant bit, 4 bit exponent
+        int mantissa = ((high & 0x80) << 24 | (high & 0x07) << 28 | low << 20) >> 20;
+        int exponent = (high & 0x78) >> 3;
+        return (1 << exponent) * mantissa * 0.01;
+    }
+
+    private Type toNumber(double value) {
+        return percent ? new PercentType(BigDecimal.valueOf(Math.round(value))) : new DecimalType(value);
+    }
+
+}
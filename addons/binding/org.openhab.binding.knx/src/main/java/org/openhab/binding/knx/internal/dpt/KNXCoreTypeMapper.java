@@ -20,6 +20,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -103,6 +105,12 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** caches the calimero DPT for each KNX datapoint type id, empty if not supported by calimero */
+    private final Map<String, Optional<DPT>> dptCache = new ConcurrentHashMap<>();
+
+    /** caches the direct decoder for each KNX datapoint type id, empty if values need to be decoded by a translator */
+    private final Map<String, Optional<DirectDPTDecoder>> decoderCache = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -582,10 +590,8 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             return null;
         }
 
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
+        dpt = getDPT(mainNumber, dptID);
+        if (dpt == null) {
             return null;
         }
 
@@ -662,6 +668,27 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        String dptID = datapoint.getDPT();
+        if (dptID != null) {
+            DirectDPTDecoder decoder = getDecoder(datapoint.getMainNumber(), dptID);
+            if (decoder != null) {
+                Type type = decoder.decode(data);
+                if (type != null) {
+                    return type;
+                }
+            }
+        }
+        return toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Maps a datapoint value to an openHAB command or state using a calimero translator.
+     *
+     * @param datapoint the source datapoint
+     * @param data the datapoint value as an ASDU byte array
+     * @return a command or state of openHAB
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -849,6 +876,42 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         return null;
     }
 
+    /**
+     * Get the calimero DPT for the given datapoint type id.
+     *
+     * @param mainNumber main number of the datapoint type
+     * @param dptID the datapoint type id
+     * @return the DPT or {@code null} if the datapoint type is not supported by calimero
+     */
+    private DPT getDPT(int mainNumber, String dptID) {
+        return dptCache.computeIfAbsent(dptID, id -> {
+            try {
+                return Optional.of(TranslatorTypes.createTranslator(mainNumber, id).getType());
+            } catch (KNXException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Get the direct decoder for the given datapoint type id.
+     *
+     * @param mainNumber main number of the datapoint type
+     * @param dptID the datapoint type id
+     * @return the decoder or {@code null} if values of the datapoint type need to be decoded by a translator
+     */
+    private DirectDPTDecoder getDecoder(int mainNumber, String dptID) {
+        return decoderCache.computeIfAbsent(dptID, id -> {
+            try {
+                String translatorID = TranslatorTypes.createTranslator(mainNumber, id).getType().getID();
+                return Optional.ofNullable(DirectDPTDecoder.create(getMainNumber(translatorID),
+                        getSubNumber(translatorID), toTypeClass(translatorID)));
+            } catch (KNXException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
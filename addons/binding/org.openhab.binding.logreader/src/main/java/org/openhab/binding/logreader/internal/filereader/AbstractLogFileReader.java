@@ -39,6 +39,15 @@ public abstract class AbstractLogFileReader implements LogFileReader {
         return fileReaderListeners.remove(fileReaderListener);
     }
 
+    /**
+     * Check if any listener is registered.
+     *
+     * @return true if at least one listener is registered.
+     */
+    public boolean hasListeners() {
+        return !fileReaderListeners.isEmpty();
+    }
+
     /**
      * Send file not found event to all registered listeners.
      *
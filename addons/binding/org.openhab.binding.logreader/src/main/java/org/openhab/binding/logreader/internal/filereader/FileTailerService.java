@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares file tailers between log file readers. Every log file is read by a single {@link FileTailer}, which sends
+ * the read lines to all listeners watching the same file.
+ *
+ * The refresh rate of the first listener is used for a file. The tailer is stopped when the last listener is
+ * unsubscribed.
+ *
+ * @author agent - Initial contribution
+ */
+public class FileTailerService {
+
+    private final Logger logger = LoggerFactory.getLogger(FileTailerService.class);
+
+    private final Map<String, FileTailer> tailers = new HashMap<>();
+
+    /**
+     * Subscribe listener to a log file. The file tailing is started, if the file is not read yet.
+     *
+     * @param filePath file to read.
+     * @param refreshRate how often file is read.
+     * @param scheduler executor service to use.
+     * @param fileReaderListener callback implementation to register.
+     * @throws FileReaderException
+     */
+    public synchronized void subscribe(String filePath, long refreshRate, ScheduledExecutorService scheduler,
+            FileReaderListener fileReaderListener) throws FileReaderException {
+        String key = new File(filePath).getAbsoluteFile().toPath().normalize().toString();
+        FileTailer tailer = tailers.get(key);
+        if (tailer == null) {
+            tailer = new FileTailer();
+            tailer.registerListener(fileReaderListener);
+            tailer.start(filePath, refreshRate, scheduler);
+            tailers.put(key, tailer);
+            logger.debug("Start tailing file '{}'", key);
+        } else {
+            tailer.registerListener(fileReaderListener);
+            logger.debug("File '{}' is already tailed, refresh rate {} is ignored", key, refreshRate);
+        }
+    }
+
+    /**
+     * Unsubscribe listener. The file tailing is stopped, if no other listener is watching the file.
+     *
+     * @param fileReaderListener callback implementation to unregister.
+     */
+    public synchronized void unsubscribe(FileReaderListener fileReaderListener) {
+        for (Iterator<Map.Entry<String, FileTailer>> it = tailers.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, FileTailer> entry = it.next();
+            FileTailer tailer = entry.getValue();
+            if (tailer.unregisterListener(fileReaderListener) && !tailer.hasListeners()) {
+                logger.debug("Stop tailing file '{}'", entry.getKey());
+                tailer.stop();
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+
+/**
+ * Log file reader implementation, which shares the reading of the log file with all other readers of the same file
+ * by the {@link FileTailerService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedFileTailer extends AbstractLogFileReader implements LogFileReader, FileReaderListener {
+
+    private final FileTailerService fileTailerService;
+
+    public SharedFileTailer(FileTailerService fileTailerService) {
+        this.fileTailerService = fileTailerService;
+    }
+
+    @Override
+    public void start(String filePath, long refreshRate, ScheduledExecutorService scheduler)
+            throws FileReaderException {
+        fileTailerService.subscribe(filePath, refreshRate, scheduler, this);
+    }
+
+    @Override
+    public void stop() {
+        fileTailerService.unsubscribe(this);
+    }
+
+    @Override
+    public void fileNotFound() {
+        sendFileNotFoundToListeners();
+    }
+
+    @Override
+    public void fileRotated() {
+        sendFileRotationToListeners();
+    }
+
+    @Override
+    public void handle(String line) {
+        sendLineToListeners(line);
+    }
+
+    @Override
+    public void handle(Exception ex) {
+        sendExceptionToListeners(ex);
+    }
+}
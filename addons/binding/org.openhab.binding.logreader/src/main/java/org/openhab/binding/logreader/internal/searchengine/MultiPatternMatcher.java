@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class matches data against the search patterns of several {@link SearchEngine}s in one pass.
+ *
+ * Search and blacklisting patterns, which are used by several search engines, are compiled only once, and every
+ * distinct pattern is evaluated at most once for each line of data.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcher {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte FOUND = 1;
+    private static final byte NOT_FOUND = 2;
+
+    private final List<SearchEngine> engines;
+    private final SearchPattern[] patterns;
+    private final int[][] matchers;
+    private final int[][] blacklistingMatchers;
+
+    /**
+     * Initialize matcher.
+     *
+     * @param engines search engines whose patterns are matched.
+     */
+    public MultiPatternMatcher(SearchEngine... engines) {
+        this.engines = Arrays.asList(engines);
+
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        List<SearchPattern> distinctPatterns = new ArrayList<>();
+        matchers = new int[engines.length][];
+        blacklistingMatchers = new int[engines.length][];
+        for (int i = 0; i < engines.length; i++) {
+            matchers[i] = indexesOf(engines[i].getMatchers(), indexes, distinctPatterns);
+            blacklistingMatchers[i] = indexesOf(engines[i].getBlacklistingMatchers(), indexes, distinctPatterns);
+        }
+        patterns = distinctPatterns.toArray(new SearchPattern[distinctPatterns.size()]);
+    }
+
+    /**
+     * Check which search engines are matching the data. The match counts of the matching search engines are increased.
+     *
+     * @param data data against search will be done.
+     * @return the matching search engines, in the order they were passed to the constructor.
+     */
+    public List<SearchEngine> match(String data) {
+        byte[] results = new byte[patterns.length];
+        List<SearchEngine> matchingEngines = Collections.emptyList();
+        for (int i = 0; i < matchers.length; i++) {
+            if (isMatching(matchers[i], data, results) && !isMatching(blacklistingMatchers[i], data, results)) {
+                SearchEngine engine = engines.get(i);
+                engine.countMatch();
+                if (matchingEngines.isEmpty()) {
+                    matchingEngines = new ArrayList<>(engines.size());
+                }
+                matchingEngines.add(engine);
+            }
+        }
+        return matchingEngines;
+    }
+
+    private boolean isMatching(int[] patternIndexes, String data, byte[] results) {
+        for (int index : patternIndexes) {
+            if (results[index] == UNKNOWN) {
+                results[index] = patterns[index].find(data) ? FOUND : NOT_FOUND;
+            }
+            if (results[index] == FOUND) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] indexesOf(List<SearchPattern> enginePatterns, Map<String, Integer> indexes,
+            List<SearchPattern> distinctPatterns) {
+        int[] result = new int[enginePatterns.size()];
+        for (int i = 0; i < result.length; i++) {
+            SearchPattern pattern = enginePatterns.get(i);
+            Integer index = indexes.get(pattern.getRegex());
+            if (index == null) {
+                index = distinctPatterns.size();
+                indexes.put(pattern.getRegex(), index);
+                distinctPatterns.add(pattern);
+            }
+            result[i] = index;
+        }
+        return result;
+    }
+}
@@ -10,8 +10,6 @@ package org.openhab.binding.logreader.internal.searchengine;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.Nullable;
@@ -23,8 +21,8 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private List<SearchPattern> matchers;
+    private List<SearchPattern> blacklistingMatchers;
 
     private long matchCount;
 
@@ -56,6 +54,21 @@ public class SearchEngine {
         return false;
     }
 
+    /**
+     * Count a match found by a {@link MultiPatternMatcher}.
+     */
+    void countMatch() {
+        matchCount++;
+    }
+
+    List<SearchPattern> getMatchers() {
+        return matchers;
+    }
+
+    List<SearchPattern> getBlacklistingMatchers() {
+        return blacklistingMatchers;
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
@@ -74,15 +87,15 @@ public class SearchEngine {
      * @param patterns patterns which will handled.
      * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
      */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<Pattern>();
+    private List<SearchPattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
+        List<SearchPattern> patternsList = new ArrayList<SearchPattern>();
 
         if (patterns != null && !patterns.isEmpty()) {
             String list[] = patterns.split("\\|");
             if (list.length > 0) {
 
                 for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
+                    patternsList.add(new SearchPattern(patternStr));
                 }
             }
         }
@@ -93,11 +106,10 @@ public class SearchEngine {
         return !isMatching(blacklistingMatchers, data);
     }
 
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
+    private boolean isMatching(@Nullable List<SearchPattern> patterns, String data) {
         if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
+            for (SearchPattern pattern : patterns) {
+                if (pattern.find(data)) {
                     return true;
                 }
             }
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A precompiled search pattern with a literal prefilter.
+ *
+ * Most lines of a log file do not match any of the search patterns. If a pattern requires a literal text, a line
+ * which does not contain this text can not match and the regular expression is not evaluated at all. If the whole
+ * pattern is a literal text, the regular expression is never evaluated.
+ *
+ * @author agent - Initial contribution
+ */
+class SearchPattern {
+
+    private static final String ESCAPED_CLASSES = "dDsSwWbBAGZzhHvVRX";
+
+    private final String regex;
+    private final Pattern pattern;
+    private final @Nullable String literal;
+    private final boolean literalOnly;
+
+    /**
+     * Compile search pattern.
+     *
+     * @param regex the regular expression.
+     */
+    SearchPattern(String regex) throws PatternSyntaxException {
+        this.regex = regex;
+        this.pattern = Pattern.compile(regex);
+        this.literal = requiredLiteral(regex);
+        this.literalOnly = regex.equals(literal);
+    }
+
+    String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Check if the pattern is found in the data.
+     *
+     * @param data data against search will be done.
+     * @return true if the pattern is found.
+     */
+    boolean find(String data) {
+        String literal = this.literal;
+        if (literal != null && !data.contains(literal)) {
+            return false;
+        }
+        return literalOnly || pattern.matcher(data).find();
+    }
+
+    /**
+     * Find the longest literal text, which is part of every match of the regular expression.
+     *
+     * The regular expression is scanned conservatively, everything which is not understood ends the scan.
+     *
+     * @param regex a valid regular expression.
+     * @return the literal text or null, if no required literal text could be found.
+     */
+    static @Nullable String requiredLiteral(String regex) {
+        if (regex.contains("(?") || regex.contains("\\Q")) {
+            // Flags like case insensitive matching and quoting are not supported
+            return null;
+        }
+
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        scan: while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        break scan;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (!Character.isLetterOrDigit(escaped)) {
+                        current.append(escaped);
+                    } else if (ESCAPED_CLASSES.indexOf(escaped) >= 0) {
+                        longest = longer(longest, current);
+                        current.setLength(0);
+                    } else {
+                        // Escapes of characters by their code
+                        break scan;
+                    }
+                    i += 2;
+                    continue;
+                case '?':
+                case '*':
+                case '{':
+                    // The preceding character is optional
+                    if (current.length() > 0) {
+                        current.setLength(current.length() - 1);
+                    }
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    if (c == '{') {
+                        int end = regex.indexOf('}', i);
+                        if (end < 0) {
+                            break scan;
+                        }
+                        i = end;
+                    }
+                    break;
+                case '+':
+                    // The preceding character is required, but may be repeated
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    break;
+                case '[':
+                    // A character class matches a single character, skip it
+                    longest = longer(longest, current);
+                    current.setLength(0);
+                    int end = endOfCharacterClass(regex, i);
+                    if (end < 0) {
+                        break scan;
+                    }
+                    i = end;
+                    break;
+                case '(':
+                    // Groups end the scan, they may be optional or contain alternatives
+                    break scan;
+                case '|':
+                case ')':
+                case ']':
+                case '}':
+                    return null;
+                default:
+                    current.append(c);
+            }
+            i++;
+        }
+
+        // Quantifiers of a group or escape at which the scan ended do not apply to the text before
+        longest = longer(longest, current);
+        return longest.isEmpty() ? null : longest;
+    }
+
+    /**
+     * Find the end of a simple character class.
+     *
+     * @return the index of the closing bracket or -1, if the character class is nested.
+     */
+    private static int endOfCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        // A closing bracket at the first position is part of the class
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                return -1;
+            } else if (c == ']') {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static String longer(String longest, StringBuilder current) {
+        return current.length() > longest.length() ? current.toString() : longest;
+    }
+}
@@ -325,13 +325,48 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
     @Override
     public void onControlStateUpdate(LxControl control, String stateName) {
         ChannelUID channelId = getChannelIdForControl(control, 0);
+        if (!updateChannelDefinitions(channelId, control, stateName)) {
+            // for all state updates not handled above just update the channel state the regular way
+            updateChannelStates(channelId, control);
+        }
+    }
+
+    @Override
+    public void onControlStatesUpdate(Map<LxControl, Set<String>> updates) {
+        updates.forEach((control, stateNames) -> {
+            ChannelUID channelId = getChannelIdForControl(control, 0);
+            boolean updateStates = false;
+            for (String stateName : stateNames) {
+                if (!updateChannelDefinitions(channelId, control, stateName)) {
+                    updateStates = true;
+                }
+            }
+            // channel states reflect all states of the control, so they are updated once for all changed states
+            if (updateStates) {
+                updateChannelStates(channelId, control);
+            }
+        });
+    }
 
+    /**
+     * Update state descriptions and channels of a control, if a state that defines them is updated
+     *
+     * @param channelId
+     *            first channel for the control
+     * @param control
+     *            control which state changed
+     * @param stateName
+     *            name of the state that was updated
+     * @return
+     *         true if the state update was handled, false if channel states need to be updated
+     */
+    private boolean updateChannelDefinitions(ChannelUID channelId, LxControl control, String stateName) {
         if (control instanceof LxControlLightController
                 && LxControlLightController.STATE_SCENE_LIST.equals(stateName)) {
             LxControlLightController controller = (LxControlLightController) control;
             setStateDescription(channelId, null, false, controller.getSceneNames(), BigDecimal.ZERO,
                     new BigDecimal((LxControlLightController.NUM_OF_SCENES - 1)));
-            return;
+            return true;
         } else if (control instanceof LxControlLightControllerV2) {
             LxControlLightControllerV2 controller = (LxControlLightControllerV2) control;
 
@@ -342,7 +377,7 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
                 Map<LxUuid, LxControlMood> moods = controller.getMoods();
                 if (moods == null) {
                     logger.debug("Moods list state was received, but mood list is null.");
-                    return;
+                    return true;
                 }
 
                 // convert all moods to options list for state description
@@ -383,11 +418,10 @@ public class LoxoneMiniserverHandler extends BaseThingHandler implements LxServe
                 });
 
                 updateThing(builder.build());
-                return;
+                return true;
             }
         }
-        // for all state updates not handled above just update the channel state the regular way
-        updateChannelStates(channelId, control);
+        return false;
     }
 
     @Override
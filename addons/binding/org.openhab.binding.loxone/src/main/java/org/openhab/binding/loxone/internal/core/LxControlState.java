@@ -73,9 +73,22 @@ class LxControlState {
         }
 
         if (changed) {
-            for (LxControlStateListener listener : listeners) {
-                listener.onStateChange(this);
-            }
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Sets current value of the control's state, avoiding boxing of the value if it has not changed
+     *
+     * @param value
+     *            current state's value to set
+     */
+    void setValue(double value) {
+        uuid.setUpdate(true);
+
+        if (this.value == null || Double.doubleToLongBits(this.value) != Double.doubleToLongBits(value)) {
+            this.value = value;
+            notifyListeners();
         }
     }
 
@@ -152,6 +165,12 @@ class LxControlState {
         return uuid;
     }
 
+    private void notifyListeners() {
+        for (LxControlStateListener listener : listeners) {
+            listener.onStateChange(this);
+        }
+    }
+
     /**
      * Adds a listener to state changes
      *
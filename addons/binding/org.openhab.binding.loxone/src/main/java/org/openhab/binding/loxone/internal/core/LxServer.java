@@ -12,8 +12,11 @@ import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -87,6 +90,9 @@ public class LxServer {
     private int userErrorDelay = 60;
     private int comErrorDelay = 30;
 
+    // Time in milliseconds to collect state updates before they are passed to the listeners in one batch
+    private static final long STATE_UPDATE_BATCH_TIME = 50;
+
     // Data structures
     private final Map<LxUuid, LxControl> controls = new HashMap<>();
     private final Map<LxUuid, LxContainer> rooms = new HashMap<>();
@@ -96,6 +102,8 @@ public class LxServer {
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private final Map<LxUuid, Map<LxUuid, LxControlState>> states = new HashMap<>();
+    // Index of the above states by binary UUID, rebuilt with each configuration, to process binary state tables
+    private LxStateIndex stateIndex = new LxStateIndex(states);
     private final List<LxServerListener> listeners = new ArrayList<>();
 
     // Services
@@ -384,6 +392,9 @@ public class LxServer {
         private final LxServer server;
         private boolean running = true;
         private int waitTime = firstConDelay;
+        // updated states not yet passed to the listeners, per control
+        private Map<LxControl, Set<String>> pendingUpdates = new LinkedHashMap<>();
+        private int pendingUpdateCount;
 
         LxServerThread(LxServer server) {
             this.server = server;
@@ -403,6 +414,7 @@ public class LxServer {
                                 processMessage(wsMsg);
                             }
                         } while (wsMsg != null);
+                        publishStateUpdates();
                         logger.debug("[{}] Server connecting to websocket", debugId);
                         connected = socketClient.connect();
                         if (!connected) {
@@ -412,6 +424,15 @@ public class LxServer {
                     while (connected) {
                         LxServerEvent wsMsg = queue.take();
                         connected = processMessage(wsMsg);
+                        // collect state updates which follow shortly, to pass them to the listeners at once
+                        long batchEnd = System.currentTimeMillis() + STATE_UPDATE_BATCH_TIME;
+                        long remaining = STATE_UPDATE_BATCH_TIME;
+                        while (connected && !pendingUpdates.isEmpty() && remaining > 0
+                                && (wsMsg = queue.poll(remaining, TimeUnit.MILLISECONDS)) != null) {
+                            connected = processMessage(wsMsg);
+                            remaining = batchEnd - System.currentTimeMillis();
+                        }
+                        publishStateUpdates();
                     }
                 }
             } catch (InterruptedException e) {
@@ -431,6 +452,10 @@ public class LxServer {
         private boolean processMessage(LxServerEvent wsMsg) {
             EventType event = wsMsg.getEvent();
             logger.trace("[{}] Server received event: {}", debugId, event);
+            if (event != EventType.STATE_UPDATE && event != EventType.STATE_TABLE_UPDATE) {
+                // keep order of state updates and other events
+                publishStateUpdates();
+            }
             switch (event) {
                 case RECEIVED_CONFIG:
                     LxJsonApp3 config = (LxJsonApp3) wsMsg.getObject();
@@ -449,21 +474,26 @@ public class LxServer {
                     if (perStateUuid != null) {
                         perStateUuid.forEach((controlUuid, state) -> {
                             state.setValue(update.getValue(), update.getText());
-                            LxControl control = state.getControl();
-                            if (control != null) {
-                                logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId,
-                                        update.getUuid(), control.getName(), state.getName(), update.getValue(),
-                                        update.getText());
-                                for (LxServerListener listener : listeners) {
-                                    listener.onControlStateUpdate(control, state.getName().toLowerCase());
-                                }
-                            } else {
-                                logger.debug("[{}] State update {} ({}) of unknown control", debugId, update.getUuid(),
-                                        state.getName());
-                            }
+                            stateUpdated(state, update.getValue(), update.getText());
                         });
                     }
                     break;
+                case STATE_TABLE_UPDATE:
+                    LxWsValueStateTable table = (LxWsValueStateTable) wsMsg.getObject();
+                    int count = table.getCount();
+                    for (int i = 0; i < count; i++) {
+                        LxControlState[] perState = stateIndex.get(table.getUuidMsb(i), table.getUuidLsb(i));
+                        if (perState != null) {
+                            double value = table.getValue(i);
+                            for (LxControlState state : perState) {
+                                state.setValue(value);
+                                stateUpdated(state, state.getValue(), null);
+                            }
+                        } else if (logger.isTraceEnabled()) {
+                            logger.trace("[{}] State update {} of unknown state", debugId, table.getUuid(i));
+                        }
+                    }
+                    break;
                 case SERVER_ONLINE:
                     for (LxServerListener listener : listeners) {
                         listener.onServerGoesOnline();
@@ -506,6 +536,37 @@ public class LxServer {
             return true;
         }
 
+        private void stateUpdated(LxControlState state, Double value, String text) {
+            LxControl control = state.getControl();
+            if (control != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("[{}] State update {} ({}:{}) to value {}, text '{}'", debugId, state.getUuid(),
+                            control.getName(), state.getName(), value, text);
+                }
+                pendingUpdates.computeIfAbsent(control, c -> new LinkedHashSet<>())
+                        .add(state.getName().toLowerCase());
+                pendingUpdateCount++;
+            } else {
+                logger.debug("[{}] State update {} ({}) of unknown control", debugId, state.getUuid(), state.getName());
+            }
+        }
+
+        /**
+         * Pass collected state updates to the listeners, each updated state of a control once
+         */
+        private void publishStateUpdates() {
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            Map<LxControl, Set<String>> updates = pendingUpdates;
+            logger.debug("[{}] Publishing {} state updates of {} controls", debugId, pendingUpdateCount,
+                    updates.size());
+            pendingUpdates = new LinkedHashMap<>();
+            pendingUpdateCount = 0;
+            for (LxServerListener listener : listeners) {
+                listener.onControlStatesUpdate(updates);
+            }
+        }
     }
 
     /**
@@ -565,6 +626,8 @@ public class LxServer {
         removeUnusedFromMap(categories);
         removeUnusedFromMap(controls);
         removeUnusedFromMap(states);
+        stateIndex = new LxStateIndex(states);
+        logger.trace("[{}] indexed {} states", debugId, stateIndex.size());
     }
 
     /**
@@ -42,10 +42,15 @@ class LxServerEvent {
          */
         RECEIVED_CONFIG,
         /**
-         * Received control's state value or text update from Miniserver. There is a {@link LxWsStateUpdateEvent} object
+         * Received control's state text update from Miniserver. There is a {@link LxWsStateUpdateEvent} object
          * associated.
          */
         STATE_UPDATE,
+        /**
+         * Received a table of controls' state value updates from Miniserver. There is a {@link LxWsValueStateTable}
+         * object associated.
+         */
+        STATE_TABLE_UPDATE,
         /**
          * Received request to shutdown thread from {@link LxServer} object.
          */
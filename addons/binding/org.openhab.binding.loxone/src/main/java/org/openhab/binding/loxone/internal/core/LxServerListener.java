@@ -9,6 +9,7 @@
 package org.openhab.binding.loxone.internal.core;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface to get notifications about {@link LxServer} asynchronous events.
@@ -57,6 +58,25 @@ public interface LxServerListener {
      */
     void onControlStateUpdate(LxControl control, String stateName);
 
+    /**
+     * Called by {@link LxServer} thread with a batch of control states updated on the Loxone Miniserver.
+     * <p>
+     * Updates received within a short period are collected in a batch. Each updated state is reported only once per
+     * batch, with the latest received value stored in the control.
+     * <p>
+     * Default implementation calls {@link #onControlStateUpdate(LxControl, String)} for each updated state.
+     *
+     * @param updates
+     *            names of the updated states per control, in order of first update
+     */
+    default void onControlStatesUpdate(Map<LxControl, Set<String>> updates) {
+        updates.forEach((control, stateNames) -> {
+            for (String stateName : stateNames) {
+                onControlStateUpdate(control, stateName);
+            }
+        });
+    }
+
     Object getSetting(String name);
 
     void setSettings(Map<String, String> properties);
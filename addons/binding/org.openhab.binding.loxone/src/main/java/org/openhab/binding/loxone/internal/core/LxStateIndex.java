@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.util.Map;
+
+/**
+ * Index of controls' states by the binary form of their UUID.
+ * <p>
+ * It is used to find the states updated by a binary state table received from the Miniserver, without creating
+ * {@link LxUuid} objects for the received UUIDs. The index is an open addressing hash table, which is built once for
+ * each received configuration and is not modified afterwards.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxStateIndex {
+    private final long[] msbs;
+    private final long[] lsbs;
+    private final LxControlState[][] states;
+    private final int mask;
+    private int size;
+
+    /**
+     * Create an index of states
+     *
+     * @param stateMap
+     *            map of state UUID to a map of control UUID and state objects, as maintained by {@link LxServer}
+     */
+    LxStateIndex(Map<LxUuid, Map<LxUuid, LxControlState>> stateMap) {
+        int capacity = 16;
+        while (capacity < stateMap.size() * 2) {
+            capacity <<= 1;
+        }
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        states = new LxControlState[capacity][];
+        mask = capacity - 1;
+
+        stateMap.forEach((uuid, perControl) -> {
+            if (uuid.isBinary() && !perControl.isEmpty()) {
+                put(uuid.getMsb(), uuid.getLsb(), perControl.values().toArray(new LxControlState[perControl.size()]));
+            }
+        });
+    }
+
+    /**
+     * Find states with given UUID
+     *
+     * @param msb
+     *            most significant 64 bits of the state UUID
+     * @param lsb
+     *            least significant 64 bits of the state UUID
+     * @return
+     *         states with this UUID, one per control, or null if there is no such state
+     */
+    LxControlState[] get(long msb, long lsb) {
+        for (int i = slot(msb, lsb);; i = (i + 1) & mask) {
+            LxControlState[] found = states[i];
+            if (found == null || (msbs[i] == msb && lsbs[i] == lsb)) {
+                return found;
+            }
+        }
+    }
+
+    /**
+     * Get number of indexed state UUIDs
+     *
+     * @return
+     *         number of state UUIDs in the index
+     */
+    int size() {
+        return size;
+    }
+
+    private void put(long msb, long lsb, LxControlState[] value) {
+        int i = slot(msb, lsb);
+        while (states[i] != null) {
+            i = (i + 1) & mask;
+        }
+        msbs[i] = msb;
+        lsbs[i] = lsb;
+        states[i] = value;
+        size++;
+    }
+
+    private int slot(long msb, long lsb) {
+        long hash = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        hash ^= hash >>> 32;
+        hash ^= hash >>> 16;
+        return (int) hash & mask;
+    }
+}
@@ -24,6 +24,10 @@ public class LxUuid {
     private String uuid;
     private String uuidOriginal;
     private boolean updated;
+    // binary form of the UUID, as sent by the Miniserver in state update tables
+    private boolean binary;
+    private long msb;
+    private long lsb;
 
     /**
      * Create a new {@link LxUuid} object from an UUID on a Miniserver.
@@ -49,6 +53,74 @@ public class LxUuid {
         uuidOriginal = uuid;
         this.uuid = uuidOriginal.replaceAll("[^a-zA-Z0-9-]", "-").toUpperCase();
         updated = true;
+        parseBinary();
+    }
+
+    /**
+     * Compute the binary form of the UUID, if it is in the format used by the Miniserver for binary UUIDs:
+     * xxxxxxxx-xxxx-xxxx-xxxxxxxxxxxxxxxx
+     */
+    private void parseBinary() {
+        binary = false;
+        if (uuid.length() != 35 || uuid.charAt(8) != '-' || uuid.charAt(13) != '-' || uuid.charAt(18) != '-') {
+            return;
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < uuid.length(); i++) {
+            if (i == 8 || i == 13 || i == 18) {
+                continue;
+            }
+            int digit = Character.digit(uuid.charAt(i), 16);
+            if (digit < 0) {
+                return;
+            }
+            if (i < 18) {
+                high = (high << 4) | digit;
+            } else {
+                low = (low << 4) | digit;
+            }
+        }
+        msb = high;
+        lsb = low;
+        binary = true;
+    }
+
+    /**
+     * Read the most significant half of a binary UUID received from the Miniserver, without creating an object.
+     * Together with {@link #getLsb(byte[], int)} it identifies the same UUID as {@link #LxUuid(byte[], int)}.
+     *
+     * @param data
+     *            buffer with the binary UUID
+     * @param offset
+     *            offset of the UUID in the buffer
+     * @return
+     *         most significant 64 bits of the UUID
+     */
+    static long getMsb(byte data[], int offset) {
+        // first three groups are little endian
+        return (data[offset] & 0xFFL) << 32 | (data[offset + 1] & 0xFFL) << 40 | (data[offset + 2] & 0xFFL) << 48
+                | (data[offset + 3] & 0xFFL) << 56 | (data[offset + 4] & 0xFFL) << 16
+                | (data[offset + 5] & 0xFFL) << 24 | (data[offset + 6] & 0xFFL)
+                | (data[offset + 7] & 0xFFL) << 8;
+    }
+
+    /**
+     * Read the least significant half of a binary UUID received from the Miniserver, without creating an object.
+     *
+     * @param data
+     *            buffer with the binary UUID
+     * @param offset
+     *            offset of the UUID in the buffer
+     * @return
+     *         least significant 64 bits of the UUID
+     */
+    static long getLsb(byte data[], int offset) {
+        long value = 0;
+        for (int i = 8; i < 16; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFFL);
+        }
+        return value;
     }
 
     @Override
@@ -87,6 +159,36 @@ public class LxUuid {
         return uuidOriginal;
     }
 
+    /**
+     * Check if the UUID has a binary form, which can be compared with UUIDs received in binary messages.
+     *
+     * @return
+     *         true if {@link #getMsb()} and {@link #getLsb()} are valid
+     */
+    boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Get the most significant 64 bits of the binary form of the UUID.
+     *
+     * @return
+     *         most significant 64 bits of the UUID
+     */
+    long getMsb() {
+        return msb;
+    }
+
+    /**
+     * Get the least significant 64 bits of the binary form of the UUID.
+     *
+     * @return
+     *         least significant 64 bits of the UUID
+     */
+    long getLsb() {
+        return lsb;
+    }
+
     /**
      * Indicate the object corresponding to UUID has recently been updated.
      *
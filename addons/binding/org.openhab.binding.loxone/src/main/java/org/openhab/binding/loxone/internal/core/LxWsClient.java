@@ -651,12 +651,8 @@ class LxWsClient {
                     switch (header.type) {
                         case EVENT_TABLE_OF_VALUE_STATES:
                             stopResponseTimeout();
-                            while (length > 0) {
-                                LxWsStateUpdateEvent event = new LxWsStateUpdateEvent(true, data, offset);
-                                offset += event.getSize();
-                                length -= event.getSize();
-                                notifyMaster(EventType.STATE_UPDATE, null, event);
-                            }
+                            notifyMaster(EventType.STATE_TABLE_UPDATE, null,
+                                    new LxWsValueStateTable(data, offset, length));
                             break;
                         case EVENT_TABLE_OF_TEXT_STATES:
                             while (length > 0) {
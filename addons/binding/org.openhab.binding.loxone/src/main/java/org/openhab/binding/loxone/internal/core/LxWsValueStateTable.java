@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.loxone.internal.core;
+
+import java.util.Arrays;
+
+/**
+ * A table of value state updates received from Loxone Miniserver in a single binary message.
+ * <p>
+ * Each entry consists of a binary UUID of the state (16 bytes) and a double value (8 bytes, little endian). Entries are
+ * decoded on access straight from the received bytes, so processing the table does not create any objects per entry.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+class LxWsValueStateTable {
+    /**
+     * Size of a single value state entry in bytes
+     */
+    static final int ENTRY_SIZE = 24;
+
+    private final byte[] data;
+    private final int count;
+
+    /**
+     * Create a new value state table from binary message
+     *
+     * @param data
+     *            buffer with binary message received from Miniserver
+     * @param offset
+     *            offset in buffer where the table starts
+     * @param length
+     *            length of the table in bytes
+     */
+    LxWsValueStateTable(byte data[], int offset, int length) throws IndexOutOfBoundsException {
+        count = Math.max(length, 0) / ENTRY_SIZE;
+        // the websocket may reuse its buffer once the message is handled
+        this.data = Arrays.copyOfRange(data, offset, offset + count * ENTRY_SIZE);
+    }
+
+    /**
+     * Get number of state updates in the table
+     *
+     * @return
+     *         number of entries
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Get most significant 64 bits of the UUID of a state
+     *
+     * @param index
+     *            index of the entry
+     * @return
+     *         most significant 64 bits of the state UUID
+     */
+    long getUuidMsb(int index) {
+        return LxUuid.getMsb(data, index * ENTRY_SIZE);
+    }
+
+    /**
+     * Get least significant 64 bits of the UUID of a state
+     *
+     * @param index
+     *            index of the entry
+     * @return
+     *         least significant 64 bits of the state UUID
+     */
+    long getUuidLsb(int index) {
+        return LxUuid.getLsb(data, index * ENTRY_SIZE);
+    }
+
+    /**
+     * Get UUID of a state as an object, e.g. for logging
+     *
+     * @param index
+     *            index of the entry
+     * @return
+     *         UUID of the state
+     */
+    LxUuid getUuid(int index) {
+        return new LxUuid(data, index * ENTRY_SIZE);
+    }
+
+    /**
+     * Get new value of a state
+     *
+     * @param index
+     *            index of the entry
+     * @return
+     *         value of the state
+     */
+    double getValue(int index) {
+        int offset = index * ENTRY_SIZE + 16;
+        long bits = 0;
+        for (int i = 7; i >= 0; i--) {
+            bits = (bits << 8) | (data[offset + i] & 0xFFL);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+}
@@ -45,6 +45,27 @@ public class ModbusBindingConstantsInternal {
     public static final String CHANNEL_LAST_WRITE_SUCCESS = "lastWriteSuccess";
     public static final String CHANNEL_LAST_WRITE_ERROR = "lastWriteError";
 
+    // Statistics channels of the endpoint things
+    public static final String CHANNEL_SUCCESSFUL_OPERATIONS = "successfulOperations";
+    public static final String CHANNEL_FAILED_OPERATIONS = "failedOperations";
+    public static final String CHANNEL_RETRIES = "retries";
+    public static final String CHANNEL_CONNECTION_ERRORS = "connectionErrors";
+    public static final String CHANNEL_IO_ERRORS = "ioErrors";
+    public static final String CHANNEL_SLAVE_ERROR_RESPONSES = "slaveErrorResponses";
+    public static final String CHANNEL_TRANSACTION_ID_MISMATCHES = "transactionIdMismatches";
+    public static final String CHANNEL_QUEUED_OPERATIONS = "queuedOperations";
+    public static final String CHANNEL_EXECUTOR_QUEUE_SIZE = "executorQueueSize";
+    public static final String CHANNEL_TRANSACTION_MEAN_MILLIS = "transactionMeanMillis";
+    public static final String CHANNEL_TRANSACTION_P95_MILLIS = "transactionP95Millis";
+    public static final String CHANNEL_CONNECTION_BORROW_MEAN_MILLIS = "connectionBorrowMeanMillis";
+    public static final String CHANNEL_QUEUE_WAIT_P95_MILLIS = "queueWaitP95Millis";
+
+    public static final String[] STATISTICS_CHANNELS = { CHANNEL_SUCCESSFUL_OPERATIONS, CHANNEL_FAILED_OPERATIONS,
+            CHANNEL_RETRIES, CHANNEL_CONNECTION_ERRORS, CHANNEL_IO_ERRORS, CHANNEL_SLAVE_ERROR_RESPONSES,
+            CHANNEL_TRANSACTION_ID_MISMATCHES, CHANNEL_QUEUED_OPERATIONS, CHANNEL_EXECUTOR_QUEUE_SIZE,
+            CHANNEL_TRANSACTION_MEAN_MILLIS, CHANNEL_TRANSACTION_P95_MILLIS, CHANNEL_CONNECTION_BORROW_MEAN_MILLIS,
+            CHANNEL_QUEUE_WAIT_P95_MILLIS };
+
     public static final String[] DATA_CHANNELS = { CHANNEL_SWITCH, CHANNEL_CONTACT, CHANNEL_DATETIME, CHANNEL_DIMMER,
             CHANNEL_NUMBER, CHANNEL_STRING, CHANNEL_ROLLERSHUTTER };
 
@@ -8,18 +8,25 @@
  */
 package org.openhab.binding.modbus.internal.handler;
 
+import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -48,6 +55,13 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     protected volatile EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
 
+    /**
+     * Interval for updating the statistics channels
+     */
+    private static final long STATISTICS_REFRESH_INTERVAL_MILLIS = 10_000;
+    @Nullable
+    private volatile ScheduledFuture<?> statisticsJob;
+
     public AbstractModbusEndpointThingHandler(Bridge bridge, Supplier<ModbusManager> managerRef) {
         super(bridge);
         this.managerRef = managerRef;
@@ -55,6 +69,9 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        if (command instanceof RefreshType) {
+            refreshStatistics();
+        }
     }
 
     @Override
@@ -71,6 +88,7 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 managerRef.get().addListener(this);
                 managerRef.get().setEndpointPoolConfiguration(endpoint, poolConfiguration);
                 updateStatus(ThingStatus.ONLINE);
+                startStatisticsJob();
             } catch (ModbusConfigurationException e) {
                 logger.debug("Exception during initialization", e);
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, String.format(
@@ -83,6 +101,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> statisticsJob = this.statisticsJob;
+        if (statisticsJob != null) {
+            statisticsJob.cancel(false);
+            this.statisticsJob = null;
+        }
         managerRef.get().removeListener(this);
     }
 
@@ -115,6 +138,64 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
     @Override
     public abstract int getSlaveId();
 
+    private void startStatisticsJob() {
+        ScheduledFuture<?> previousJob = statisticsJob;
+        if (previousJob != null) {
+            previousJob.cancel(false);
+        }
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::refreshStatistics, STATISTICS_REFRESH_INTERVAL_MILLIS,
+                STATISTICS_REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Update statistics channels of this endpoint. Manager is not queried if none of the channels are linked.
+     */
+    protected void refreshStatistics() {
+        @Nullable
+        E endpoint = this.endpoint;
+        if (endpoint == null) {
+            return;
+        }
+        boolean anyLinked = false;
+        for (String channelId : STATISTICS_CHANNELS) {
+            anyLinked |= isLinked(channelId);
+        }
+        if (!anyLinked) {
+            return;
+        }
+        ModbusManager manager = managerRef.get();
+        ModbusEndpointStatistics statistics = manager.getEndpointStatistics(endpoint);
+        logger.trace("Statistics of endpoint {}: {}", endpoint, statistics);
+        updateStatistic(CHANNEL_SUCCESSFUL_OPERATIONS, statistics.getSuccessfulOperationCount());
+        updateStatistic(CHANNEL_FAILED_OPERATIONS, statistics.getFailedOperationCount());
+        updateStatistic(CHANNEL_RETRIES, statistics.getRetryCount());
+        updateStatistic(CHANNEL_CONNECTION_ERRORS, statistics.getConnectionErrorCount());
+        updateStatistic(CHANNEL_IO_ERRORS, statistics.getIOErrorCount());
+        updateStatistic(CHANNEL_SLAVE_ERROR_RESPONSES, statistics.getSlaveErrorResponseCount());
+        updateStatistic(CHANNEL_TRANSACTION_ID_MISMATCHES, statistics.getTransactionIdMismatchCount());
+        updateStatistic(CHANNEL_QUEUED_OPERATIONS, statistics.getQueuedOperationCount());
+        int executorQueueSize = manager.getExecutorQueueSize();
+        if (executorQueueSize >= 0) {
+            updateStatistic(CHANNEL_EXECUTOR_QUEUE_SIZE, executorQueueSize);
+        }
+        if (isLinked(CHANNEL_TRANSACTION_MEAN_MILLIS)) {
+            updateState(CHANNEL_TRANSACTION_MEAN_MILLIS,
+                    new DecimalType(statistics.getTransactionLatency().getMeanMillis()));
+        }
+        updateStatistic(CHANNEL_TRANSACTION_P95_MILLIS, statistics.getTransactionLatency().getPercentileMillis(95));
+        if (isLinked(CHANNEL_CONNECTION_BORROW_MEAN_MILLIS)) {
+            updateState(CHANNEL_CONNECTION_BORROW_MEAN_MILLIS,
+                    new DecimalType(statistics.getConnectionBorrowLatency().getMeanMillis()));
+        }
+        updateStatistic(CHANNEL_QUEUE_WAIT_P95_MILLIS, statistics.getQueueWaitLatency().getPercentileMillis(95));
+    }
+
+    private void updateStatistic(String channelId, long value) {
+        if (isLinked(channelId)) {
+            updateState(channelId, new DecimalType(value));
+        }
+    }
+
     /**
      * Must be overriden by subclasses to initialize config, endpoint, and poolConfiguration
      */
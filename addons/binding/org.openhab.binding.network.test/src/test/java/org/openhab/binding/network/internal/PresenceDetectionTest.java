@@ -15,8 +15,8 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.net.UnknownHostException;
+import java.net.InetSocketAddress;
 import java.util.Collections;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -46,7 +46,7 @@ public class PresenceDetectionTest {
     PresenceDetectionListener listener;
 
     @Mock
-    ExecutorService executorService;
+    PresenceDetectionEngine engine;
 
     @Mock
     Consumer<PresenceDetectionValue> callback;
@@ -64,6 +64,7 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        subject.engine = engine;
         subject.cache = spy(new ExpiringCacheAsync<PresenceDetectionValue>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -85,11 +86,27 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    /**
+     * Performs the checks handed over to the engine synchronously and reports all TCP services as reachable.
+     */
+    @SuppressWarnings("unchecked")
+    private void performChecksImmediately() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            ((Runnable) invocation.getArgument(2)).run();
+            return null;
+        }).when(engine).execute(any(), anyInt(), any());
+        doAnswer(invocation -> {
+            ((Consumer<Boolean>) invocation.getArgument(2)).accept(true);
+            return null;
+        }).when(engine).connect(any(), anyInt(), any());
+    }
+
+    // Depending on the amount of test methods an according amount of checks is handed over to the engine.
+    // We will check if they are started and finish in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.detectionRunning);
 
         doNothing().when(subject).performARPping(any());
         doNothing().when(subject).performJavaPing();
@@ -98,13 +115,14 @@ public class PresenceDetectionTest {
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionRunning);
+        verify(engine, times(2)).execute(any(), eq(300), any());
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionRunning);
     }
 
     @Test
@@ -112,7 +130,7 @@ public class PresenceDetectionTest {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
         doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
                 any(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        performChecksImmediately();
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -121,6 +139,7 @@ public class PresenceDetectionTest {
         verify(subject).performSystemPing();
         verify(subject).performARPping(any());
         verify(subject).performServicePing(anyInt());
+        verify(engine).connect(eq(new InetSocketAddress("127.0.0.1", 1010)), eq(300), any());
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
@@ -134,25 +153,28 @@ public class PresenceDetectionTest {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
         doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
                 any(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionRunning);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
+        // Perform the different presence detection checks now
+        ArgumentCaptor<Runnable> checks = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Runnable> finished = ArgumentCaptor.forClass(Runnable.class);
+        verify(engine, times(2)).execute(checks.capture(), anyInt(), finished.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<Boolean>> tcpResult = ArgumentCaptor.forClass(Consumer.class);
+        verify(engine).connect(any(), anyInt(), tcpResult.capture());
+        for (int i = 0; i < 2; ++i) {
+            checks.getAllValues().get(i).run();
+            finished.getAllValues().get(i).run();
         }
+        tcpResult.getValue().accept(true);
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+
+/**
+ * Tests cases for {@see NetworkSweep}
+ *
+ * @author agent - Initial contribution
+ */
+public class NetworkSweepTest {
+    @Mock
+    PresenceDetectionEngine engine;
+
+    @Mock
+    NetworkUtils networkUtils;
+
+    @Mock
+    NetworkSweep.Listener listener;
+
+    Set<String> ips = new LinkedHashSet<>(Arrays.asList("192.168.0.1", "192.168.0.2", "192.168.0.3"));
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Consumer<Boolean>> connectResults() {
+        return ArgumentCaptor.forClass(Consumer.class);
+    }
+
+    @Test
+    public void limitsPendingConnectionAttempts() {
+        NetworkSweep sweep = new NetworkSweep(engine, networkUtils, listener, 2, 500);
+        sweep.setServicePorts(Arrays.asList(80, 548));
+        sweep.start(ips);
+
+        // Only two connection attempts at a time, ordered by port
+        ArgumentCaptor<InetSocketAddress> addresses = ArgumentCaptor.forClass(InetSocketAddress.class);
+        ArgumentCaptor<Consumer<Boolean>> results = connectResults();
+        verify(engine, times(2)).connect(addresses.capture(), eq(500), results.capture());
+        assertThat(addresses.getAllValues().get(0), is(new InetSocketAddress("192.168.0.1", 80)));
+        assertThat(addresses.getAllValues().get(1), is(new InetSocketAddress("192.168.0.2", 80)));
+
+        // A finished attempt starts the next one
+        results.getAllValues().get(0).accept(true);
+        verify(listener).newServiceDevice("192.168.0.1", 80);
+        verify(engine, times(3)).connect(addresses.capture(), eq(500), results.capture());
+        assertThat(addresses.getValue(), is(new InetSocketAddress("192.168.0.3", 80)));
+        assertThat(sweep.getScannedHosts(), is(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void reportsFinishedScan() {
+        doAnswer(invocation -> {
+            ((Consumer<Boolean>) invocation.getArgument(2)).accept(false);
+            return null;
+        }).when(engine).connect(any(), anyInt(), any());
+
+        NetworkSweep sweep = new NetworkSweep(engine, networkUtils, listener, 2, 500);
+        sweep.setServicePorts(Arrays.asList(80, 548));
+        sweep.start(ips);
+
+        verify(engine, times(6)).connect(any(), anyInt(), any());
+        verify(listener, never()).newServiceDevice(anyString(), anyInt());
+        verify(listener).scanFinished(3);
+        assertThat(sweep.getScannedHosts(), is(3));
+    }
+
+    @Test
+    public void skipsConnectionAttemptsToPingDevices() throws IOException, InterruptedException {
+        doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.IPUTILS_LINUX_PING), eq("192.168.0.1"),
+                anyInt());
+
+        NetworkSweep sweep = new NetworkSweep(engine, networkUtils, listener, 1, 500);
+        sweep.setServicePorts(Arrays.asList(80, 548));
+        sweep.setPingMethod(IpPingMethodEnum.IPUTILS_LINUX_PING);
+        sweep.start(Collections.singleton("192.168.0.1"));
+
+        ArgumentCaptor<Consumer<Boolean>> results = connectResults();
+        verify(engine).connect(any(), anyInt(), results.capture());
+        ArgumentCaptor<Runnable> pings = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Runnable> finished = ArgumentCaptor.forClass(Runnable.class);
+        verify(engine).execute(pings.capture(), anyInt(), finished.capture());
+
+        // The host responds to the ping
+        pings.getValue().run();
+        finished.getValue().run();
+        verify(listener).newPingDevice("192.168.0.1");
+
+        // The pending connection attempt is not reported and the next one is skipped
+        results.getValue().accept(true);
+        verify(engine, times(1)).connect(any(), anyInt(), any());
+        verify(listener, never()).newServiceDevice(anyString(), anyInt());
+        verify(listener).scanFinished(1);
+    }
+}
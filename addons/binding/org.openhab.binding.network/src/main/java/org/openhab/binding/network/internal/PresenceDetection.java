@@ -11,12 +11,15 @@ package org.openhab.binding.network.internal;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -65,9 +68,12 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
+    PresenceDetectionEngine engine = PresenceDetectionEngine.getInstance();
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    /// Set while a presence detection is performed, counted down as soon as it is finished
+    protected @Nullable CountDownLatch detectionRunning;
+    private final List<Future<?>> runningChecks = new ArrayList<>();
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -214,14 +220,11 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are performed by the binding wide
+     * {@link PresenceDetectionEngine}: TCP connection attempts do not block any thread and
+     * pings are executed by a bounded set of worker threads.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -235,66 +238,59 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        final CountDownLatch detection;
+        Set<String> interfaceNames = null;
+        synchronized (this) {
+            if (detectionRunning != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod != null) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != null) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        if (detectionChecks == 0) {
-            return false;
+            detection = new CountDownLatch(1);
+            detectionRunning = detection;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
-
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort);
         }
 
-        // ARP ping for IPv4 addresses. Use an own executor for each network interface
+        // ARP ping for IPv4 addresses. Use an own check for each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                addRunningCheck(detection, engine.execute(() -> performARPping(interfaceName), timeoutInMS,
+                        () -> checkIfFinished(detection)));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            addRunningCheck(detection, engine.execute(() -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
-                checkIfFinished();
-            });
+            }, timeoutInMS, () -> checkIfFinished(detection)));
         }
 
         if (waitForDetectionToFinish) {
@@ -304,21 +300,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    private synchronized void addRunningCheck(CountDownLatch detection, @Nullable Future<?> check) {
+        if (check == null) {
+            return;
+        }
+        if (detectionRunning == detection) {
+            runningChecks.add(check);
+        } else {
+            // The detection has already been finished
+            check.cancel(true);
+        }
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and all remaining checks are
+     * cancelled.
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+    private synchronized void submitFinalResult(CountDownLatch detection) {
+        // Do nothing if we are not in this detection process anymore
+        if (detectionRunning != detection) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        stopRunningChecks();
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -336,37 +342,57 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.finalDetectionResult(v);
     }
 
+    private synchronized void stopRunningChecks() {
+        CountDownLatch detection = detectionRunning;
+        for (Future<?> check : runningChecks) {
+            check.cancel(true);
+        }
+        runningChecks.clear();
+        detectionRunning = null;
+        if (detection != null) {
+            detection.countDown();
+        }
+    }
+
     /**
      * This method is called after each individual check and increases a check counter.
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(CountDownLatch detection) {
+        if (detectionRunning != detection) {
+            // A check of a previous detection, which has already been finished
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
         }
-        submitFinalResult();
+        submitFinalResult(detection);
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CountDownLatch detection = detectionRunning;
+        if (detection == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            if (!detection.await(timeoutInMS + 100, TimeUnit.MILLISECONDS)) {
+                submitFinalResult(detection);
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (detectionRunning == detection) {
+                    stopRunningChecks();
+                }
+            }
         }
     }
 
@@ -395,20 +421,28 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
+    /**
+     * Starts a TCP connection attempt to the given port. The connection attempt does not block
+     * the calling thread, it is counted as a finished check of the current detection as soon as
+     * the result is known.
+     *
+     * @param tcpPort The TCP port
+     */
     protected void performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            double pingTime = System.nanoTime();
-            if (networkUtils.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS)) {
+        final CountDownLatch detection = detectionRunning;
+        final double pingTime = System.nanoTime();
+        engine.connect(new InetSocketAddress(destination, tcpPort), timeoutInMS, reachable -> {
+            if (reachable) {
                 final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
                 v.addReachableTcpService(tcpPort);
                 updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+            if (detection != null) {
+                checkIfFinished(detection);
+            }
+        });
     }
 
     /**
@@ -482,17 +516,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.partialDetectionResult(v);
     }
 
+    /**
+     * Start/Restart a fixed scheduled runner to update the devices reach-ability state
+     * on the timer shared by all presence detections.
+     */
+    public void startAutomaticRefresh() {
+        startAutomaticRefresh(engine.getScheduler());
+    }
+
     /**
      * Start/Restart a fixed scheduled runner to update the devices reach-ability state.
+     * The runner does not wait for the presence detection to finish, a refresh is skipped
+     * if the previous presence detection is still ongoing.
      *
      * @param scheduledExecutorService A scheduler to run pings periodically.
      */
     public void startAutomaticRefresh(ScheduledExecutorService scheduledExecutorService) {
         ScheduledFuture<?> future = refreshJob;
         if (future != null && !future.isDone()) {
-            future.cancel(true);
+            future.cancel(false);
         }
-        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(true), 0,
+        refreshJob = scheduledExecutorService.scheduleWithFixedDelay(() -> performPresenceDetection(false), 0,
                 refreshIntervalInMS, TimeUnit.MILLISECONDS);
 
         enableDHCPListen(useDHCPsniffing);
@@ -511,9 +555,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     public void stopAutomaticRefresh() {
         ScheduledFuture<?> future = refreshJob;
         if (future != null && !future.isDone()) {
-            future.cancel(true);
+            future.cancel(false);
             refreshJob = null;
         }
+        stopRunningChecks();
         enableDHCPListen(false);
     }
 
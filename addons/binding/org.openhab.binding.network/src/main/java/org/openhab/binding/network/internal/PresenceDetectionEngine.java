@@ -0,0 +1,335 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton, shared by all {@link PresenceDetection} objects of the binding.
+ *
+ * TCP connection attempts are performed non-blocking and are all multiplexed by a single selector thread.
+ * Checks that block, like the native ping and arping utilities, are executed by a bounded set of worker threads.
+ * The periodic refreshes of all devices are scheduled on a single timer thread.
+ *
+ * All threads are started on demand and end if there is nothing to do.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceDetectionEngine {
+    /** Maximum number of blocking checks executed at the same time */
+    public static final int WORKER_THREADS = 16;
+    /** Time in milliseconds after which idle threads end */
+    static final int IDLE_TIME = 10000;
+    /** Additional time in milliseconds a blocking check gets in addition to its own timeout */
+    static final int CHECK_GRACE_TIME = 100;
+
+    private static @Nullable PresenceDetectionEngine instance;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceDetectionEngine.class);
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final Queue<TcpProbe> newProbes = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    /**
+     * Returns the engine shared by all presence detections of the binding.
+     */
+    public static synchronized PresenceDetectionEngine getInstance() {
+        PresenceDetectionEngine engine = instance;
+        if (engine == null) {
+            engine = new PresenceDetectionEngine();
+            instance = engine;
+        }
+        return engine;
+    }
+
+    PresenceDetectionEngine() {
+        workers = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, IDLE_TIME, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory("presenceDetection"));
+        workers.allowCoreThreadTimeOut(true);
+        scheduler = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("presenceDetectionTimer"));
+        scheduler.setKeepAliveTime(IDLE_TIME, TimeUnit.MILLISECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Returns the timer all device refreshes and check timeouts are scheduled on. Scheduled tasks must not block.
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Executes a blocking check on one of the worker threads. If the check does not return within the given timeout
+     * after it has been started, the worker thread is interrupted and the check is regarded as finished.
+     *
+     * @param check The check to perform
+     * @param timeoutInMS The timeout of the check in milliseconds
+     * @param finished Called exactly once, as soon as the check returned or timed out
+     * @return A future to cancel the check with
+     */
+    public Future<?> execute(Runnable check, int timeoutInMS, Runnable finished) {
+        AtomicBoolean done = new AtomicBoolean();
+        Runnable finishOnce = () -> {
+            if (done.compareAndSet(false, true)) {
+                finished.run();
+            }
+        };
+        return workers.submit(() -> {
+            Thread worker = Thread.currentThread();
+            AtomicBoolean running = new AtomicBoolean(true);
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                synchronized (running) {
+                    if (running.get()) {
+                        logger.trace("Check on {} timed out", worker.getName());
+                        worker.interrupt();
+                    }
+                }
+                finishOnce.run();
+            }, timeoutInMS + CHECK_GRACE_TIME, TimeUnit.MILLISECONDS);
+            try {
+                check.run();
+            } finally {
+                timeout.cancel(false);
+                synchronized (running) {
+                    running.set(false);
+                }
+                // The check may have been interrupted by its timeout, the interrupt is not meant for the next task
+                Thread.interrupted();
+                finishOnce.run();
+            }
+        });
+    }
+
+    /**
+     * Tries to establish a TCP connection to the given address without blocking the calling thread. The
+     * connection is closed immediately after it has been established.
+     *
+     * @param address The address and port to connect to
+     * @param timeoutInMS The timeout in milliseconds
+     * @param result Called exactly once with true if the connection could be established and false if a timeout
+     *            occurred or the connection was denied. It is called by the selector thread and must not block.
+     */
+    public void connect(InetSocketAddress address, int timeoutInMS, Consumer<Boolean> result) {
+        TcpProbe probe = new TcpProbe(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMS), result);
+        try {
+            SocketChannel channel = SocketChannel.open();
+            probe.channel = channel;
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                probe.complete(true);
+                return;
+            }
+        } catch (IOException e) {
+            logger.trace("Connection to {} failed", address, e);
+            probe.complete(false);
+            return;
+        }
+        newProbes.add(probe);
+        synchronized (this) {
+            Selector selector = this.selector;
+            if (selector == null) {
+                try {
+                    selector = Selector.open();
+                } catch (IOException e) {
+                    logger.warn("Could not open a selector for TCP presence detection", e);
+                    newProbes.remove(probe);
+                    probe.complete(false);
+                    return;
+                }
+                this.selector = selector;
+                final Selector threadSelector = selector;
+                new DaemonThreadFactory("presenceDetectionTCP").newThread(() -> selectLoop(threadSelector)).start();
+            } else {
+                selector.wakeup();
+            }
+        }
+    }
+
+    private void selectLoop(Selector selector) {
+        long idleSince = System.nanoTime();
+        try {
+            while (true) {
+                TcpProbe probe;
+                while ((probe = newProbes.poll()) != null) {
+                    try {
+                        probe.getChannel().register(selector, SelectionKey.OP_CONNECT, probe);
+                    } catch (ClosedChannelException e) {
+                        probe.complete(false);
+                    }
+                }
+
+                // Time out pending connections. Cancelled keys are removed by the next select.
+                long now = System.nanoTime();
+                long nextTimeout = Long.MAX_VALUE;
+                for (SelectionKey key : selector.keys()) {
+                    probe = (TcpProbe) key.attachment();
+                    if (!key.isValid() || probe == null) {
+                        continue;
+                    }
+                    if (probe.deadline - now <= 0) {
+                        key.cancel();
+                        probe.complete(false);
+                    } else {
+                        nextTimeout = Math.min(nextTimeout, probe.deadline - now);
+                    }
+                }
+
+                if (nextTimeout == Long.MAX_VALUE) {
+                    // No pending connection
+                    synchronized (this) {
+                        if (newProbes.isEmpty() && now - idleSince >= TimeUnit.MILLISECONDS.toNanos(IDLE_TIME)) {
+                            this.selector = null;
+                            return;
+                        }
+                    }
+                    nextTimeout = TimeUnit.MILLISECONDS.toNanos(IDLE_TIME);
+                } else {
+                    idleSince = now;
+                }
+
+                // New probes wake up the selector. The wake up must not be consumed before, or new probes
+                // would have to wait for the timeout.
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextTimeout)));
+                handleSelectedKeys(selector);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("TCP presence detection failed", e);
+            synchronized (this) {
+                this.selector = null;
+            }
+            for (SelectionKey key : selector.keys()) {
+                TcpProbe probe = (TcpProbe) key.attachment();
+                if (probe != null) {
+                    probe.complete(false);
+                }
+            }
+            TcpProbe probe;
+            while ((probe = newProbes.poll()) != null) {
+                probe.complete(false);
+            }
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void handleSelectedKeys(Selector selector) {
+        for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+            SelectionKey key = it.next();
+            it.remove();
+            TcpProbe probe = (TcpProbe) key.attachment();
+            if (probe == null) {
+                continue;
+            }
+            boolean connected;
+            try {
+                connected = probe.getChannel().finishConnect();
+                if (!connected) {
+                    // Not yet connected, keep waiting
+                    continue;
+                }
+            } catch (IOException e) {
+                // Connection refused, no route to host and the like
+                connected = false;
+            }
+            key.cancel();
+            probe.complete(connected);
+        }
+    }
+
+    /**
+     * A pending TCP connection attempt
+     */
+    private class TcpProbe {
+        final long deadline;
+        final Consumer<Boolean> result;
+        @Nullable
+        SocketChannel channel;
+        boolean completed;
+
+        TcpProbe(long deadline, Consumer<Boolean> result) {
+            this.deadline = deadline;
+            this.result = result;
+        }
+
+        SocketChannel getChannel() throws ClosedChannelException {
+            SocketChannel channel = this.channel;
+            if (channel == null) {
+                throw new ClosedChannelException();
+            }
+            return channel;
+        }
+
+        void complete(boolean connected) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            SocketChannel channel = this.channel;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            try {
+                result.accept(connected);
+            } catch (RuntimeException e) {
+                logger.warn("Presence detection result could not be processed", e);
+            }
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@Nullable Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -10,18 +10,17 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
-import java.net.UnknownHostException;
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
@@ -30,10 +29,11 @@ import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -45,15 +45,19 @@ import org.slf4j.LoggerFactory;
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * All IPs are scanned at once by a {@link NetworkSweep}.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
 @NonNullByDefault
 @Component(service = DiscoveryService.class, immediate = true, configurationPid = "discovery.network")
-public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
+public class NetworkDiscoveryService extends AbstractDiscoveryService
+        implements PresenceDetectionListener, NetworkSweep.Listener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final String PARAMETER_MAX_PROBES = "maxProbes";
+    static final int DEFAULT_MAX_PROBES = 256;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -62,8 +66,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private Integer scannedIPcount = 0;
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable NetworkSweep sweep = null;
+    private int maxProbes = DEFAULT_MAX_PROBES;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -87,7 +91,18 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // We update instead of replace the configuration object, so that if the user updates the
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
-        configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        Configuration discoveryConfig = new Configuration(config);
+        configuration.update(discoveryConfig.as(NetworkBindingConfiguration.class));
+
+        Object maxProbesValue = discoveryConfig.get(PARAMETER_MAX_PROBES);
+        try {
+            maxProbes = maxProbesValue == null ? DEFAULT_MAX_PROBES
+                    : new BigDecimal(maxProbesValue.toString()).intValue();
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using {}", maxProbesValue, PARAMETER_MAX_PROBES,
+                    DEFAULT_MAX_PROBES);
+            maxProbes = DEFAULT_MAX_PROBES;
+        }
     }
 
     @Override
@@ -114,67 +129,50 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts a {@link NetworkSweep} over every IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (sweep != null) {
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        scannedIPcount = 0;
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            try {
-                s.setHostname(ip);
-            } catch (UnknownHostException unknownHostException) {
-                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
-                continue;
-            }
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
-                }
-            });
+
+        // The feature tests are performed once per scan and not for every IP
+        final NetworkSweep sweep = new NetworkSweep(PresenceDetectionEngine.getInstance(), networkUtils, this,
+                maxProbes, PING_TIMEOUT_IN_MS);
+        sweep.setServicePorts(tcpServicePorts);
+        sweep.setPingMethod(networkUtils.determinePingMethod());
+        if (StringUtils.isNotBlank(configuration.arpPingToolPath)) {
+            ArpPingUtilEnum arpPingMethod = networkUtils.determineNativeARPpingMethod(configuration.arpPingToolPath);
+            sweep.setArpPing(arpPingMethod, configuration.arpPingToolPath, networkUtils.getInterfaceNames());
         }
+        this.sweep = sweep;
+        sweep.start(networkIPs);
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
+        final NetworkSweep sweep = this.sweep;
+        if (sweep == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+        if (sweep.getScannedHosts() < sweep.getTotalHosts()) {
+            logger.debug("Network Device Discovery stopped after {} of {} IPs", sweep.getScannedHosts(),
+                    sweep.getTotalHosts());
         }
-        service.shutdown();
-        executorService = null;
+        sweep.stop();
+        this.sweep = null;
+    }
+
+    @Override
+    public void scanFinished(int scannedHosts) {
+        logger.trace("Scan of {} IPs successful", scannedHosts);
+        stopScan();
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -183,11 +181,13 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the {@link NetworkSweep} started in
+     * {@link startScan}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
      */
+    @Override
     public void newServiceDevice(String ip, int tcpPort) {
         logger.trace("Found reachable service for device with IP address {} on port {}", ip, tcpPort);
 
@@ -226,10 +226,12 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called by the {@link NetworkSweep} started in
+     * {@link startScan}.
      *
      * @param ip The device IP
      */
+    @Override
     public void newPingDevice(String ip) {
         logger.trace("Found pingable network device with IP address {}", ip);
 
@@ -0,0 +1,418 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.PresenceDetectionEngine;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scans a set of hosts for reachable TCP services and for ping responses.
+ *
+ * The TCP connection attempts to all hosts and ports are performed non-blocking by the {@link PresenceDetectionEngine}.
+ * At most a configurable amount of connection attempts is pending at any time. Pings are executed by the worker threads
+ * of the engine, but only half of the workers are used, so that the presence detection of the things is not delayed by
+ * a scan. As soon as a host responded to a ping, it is known as a ping device and the remaining connection attempts to
+ * this host are skipped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NetworkSweep {
+    /** Maximum number of ping checks executed at the same time */
+    static final int MAXIMUM_PINGS = Math.max(1, PresenceDetectionEngine.WORKER_THREADS / 2);
+
+    /**
+     * Receives the results of a scan. Results are reported by different threads.
+     */
+    interface Listener {
+        /**
+         * A host responded to a ping.
+         *
+         * @param ip The host address
+         */
+        void newPingDevice(String ip);
+
+        /**
+         * A TCP connection to a host could be established.
+         *
+         * @param ip The host address
+         * @param tcpPort The TCP port
+         */
+        void newServiceDevice(String ip, int tcpPort);
+
+        /**
+         * All hosts have been scanned. Not called, if the scan was stopped.
+         *
+         * @param scannedHosts The amount of scanned hosts
+         */
+        void scanFinished(int scannedHosts);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(NetworkSweep.class);
+
+    private final PresenceDetectionEngine engine;
+    private final NetworkUtils networkUtils;
+    private final Listener listener;
+    private final int maximumProbes;
+    private final int timeoutInMS;
+
+    private Collection<Integer> tcpPorts = Collections.emptyList();
+    private @Nullable IpPingMethodEnum pingMethod;
+    private @Nullable ArpPingUtilEnum arpPingMethod;
+    private String arpPingUtilPath = "";
+    private Collection<String> interfaceNames = Collections.emptyList();
+
+    /// State of a scan, guarded by this
+    private final Queue<TcpProbe> pendingProbes = new ArrayDeque<>();
+    private final Queue<Host> pendingPings = new ArrayDeque<>();
+    private int probesInFlight;
+    private int pingsInFlight;
+    private int totalHosts;
+    private int scannedHosts;
+    private int reportedProgress;
+    private long startTime;
+    private boolean starting;
+    private boolean stopped;
+    private boolean finished;
+
+    /**
+     * A host to scan
+     */
+    private static class Host {
+        final InetAddress address;
+        final String ip;
+        /// Checks not finished yet
+        int remainingChecks;
+        /// Set if the remaining TCP connection attempts can be skipped
+        boolean terminated;
+
+        Host(InetAddress address, int checks) {
+            this.address = address;
+            this.ip = address.getHostAddress();
+            this.remainingChecks = checks;
+        }
+    }
+
+    /**
+     * A TCP connection attempt to a host
+     */
+    private static class TcpProbe {
+        final Host host;
+        final int port;
+
+        TcpProbe(Host host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+    }
+
+    /**
+     * Creates a new scan.
+     *
+     * @param engine The engine to perform the checks with
+     * @param networkUtils The network utilities to perform the pings with
+     * @param listener Receives the results
+     * @param maximumProbes The maximum amount of pending TCP connection attempts
+     * @param timeoutInMS The timeout of a single check in milliseconds
+     */
+    NetworkSweep(PresenceDetectionEngine engine, NetworkUtils networkUtils, Listener listener, int maximumProbes,
+            int timeoutInMS) {
+        this.engine = engine;
+        this.networkUtils = networkUtils;
+        this.listener = listener;
+        this.maximumProbes = Math.max(1, maximumProbes);
+        this.timeoutInMS = timeoutInMS;
+    }
+
+    /**
+     * Sets the TCP ports to scan on every host.
+     */
+    void setServicePorts(Collection<Integer> tcpPorts) {
+        this.tcpPorts = tcpPorts;
+    }
+
+    /**
+     * Sets the ICMP ping method or null to disable ICMP pings.
+     */
+    void setPingMethod(@Nullable IpPingMethodEnum pingMethod) {
+        this.pingMethod = pingMethod;
+    }
+
+    /**
+     * Enables ARP pings on the given interfaces. ARP pings are disabled, if the method is null or unknown.
+     *
+     * @param arpPingMethod The arping utility
+     * @param arpPingUtilPath The file path to the utility
+     * @param interfaceNames The network interfaces to ping on
+     */
+    void setArpPing(@Nullable ArpPingUtilEnum arpPingMethod, String arpPingUtilPath, Collection<String> interfaceNames) {
+        if (arpPingMethod == ArpPingUtilEnum.UNKNOWN_TOOL) {
+            this.arpPingMethod = null;
+        } else {
+            this.arpPingMethod = arpPingMethod;
+        }
+        this.arpPingUtilPath = arpPingUtilPath;
+        this.interfaceNames = interfaceNames;
+    }
+
+    private boolean isPingEnabled() {
+        return pingMethod != null || (arpPingMethod != null && !interfaceNames.isEmpty());
+    }
+
+    /**
+     * Starts the scan of the given hosts. The connection attempts are ordered by port, so that the first port of all
+     * hosts is tried first.
+     *
+     * @param ips The IP addresses of the hosts
+     */
+    void start(Set<String> ips) {
+        final int checksPerHost = tcpPorts.size() + (isPingEnabled() ? 1 : 0);
+        final List<Host> hosts = new ArrayList<>(ips.size());
+        for (String ip : ips) {
+            try {
+                hosts.add(new Host(InetAddress.getByName(ip), checksPerHost));
+            } catch (UnknownHostException unknownHostException) {
+                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
+            }
+        }
+
+        synchronized (this) {
+            startTime = System.nanoTime();
+            totalHosts = hosts.size();
+            if (checksPerHost == 0 || hosts.isEmpty()) {
+                scannedHosts = totalHosts;
+                finished = true;
+            } else {
+                for (int tcpPort : tcpPorts) {
+                    for (Host host : hosts) {
+                        pendingProbes.add(new TcpProbe(host, tcpPort));
+                    }
+                }
+                if (isPingEnabled()) {
+                    pendingPings.addAll(hosts);
+                }
+            }
+        }
+        logger.debug("Scanning {} hosts on {} TCP ports with at most {} pending connection attempts", hosts.size(),
+                tcpPorts.size(), maximumProbes);
+
+        if (checksPerHost == 0 || hosts.isEmpty()) {
+            listener.scanFinished(hosts.size());
+            return;
+        }
+        startChecks();
+    }
+
+    /**
+     * Stops the scan. Checks that are already performed are not reported anymore.
+     */
+    synchronized void stop() {
+        stopped = true;
+        pendingProbes.clear();
+        pendingPings.clear();
+    }
+
+    /**
+     * Returns the amount of hosts that have been scanned completely.
+     */
+    synchronized int getScannedHosts() {
+        return scannedHosts;
+    }
+
+    /**
+     * Returns the amount of hosts of the scan.
+     */
+    synchronized int getTotalHosts() {
+        return totalHosts;
+    }
+
+    /**
+     * Starts as many pending checks as allowed. Only one thread starts checks at a time, checks that finish
+     * while checks are started by another thread free their slot for this thread. This avoids a deep recursion
+     * for checks that finish immediately.
+     */
+    private void startChecks() {
+        synchronized (this) {
+            if (starting) {
+                return;
+            }
+            starting = true;
+        }
+        boolean reportFinished = false;
+        try {
+            while (true) {
+                TcpProbe probe;
+                Host pingHost;
+                synchronized (this) {
+                    probe = nextProbe();
+                    pingHost = nextPing();
+                    if (probe == null && pingHost == null) {
+                        // Report the end of the scan only once
+                        reportFinished = !stopped && !finished && scannedHosts == totalHosts;
+                        finished |= reportFinished;
+                        break;
+                    }
+                }
+                if (probe != null) {
+                    startProbe(probe);
+                }
+                if (pingHost != null) {
+                    startPing(pingHost);
+                }
+            }
+        } finally {
+            synchronized (this) {
+                starting = false;
+            }
+        }
+
+        if (reportFinished) {
+            logger.debug("Scan of {} hosts finished in {} ms", scannedHosts,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            listener.scanFinished(scannedHosts);
+        }
+    }
+
+    private @Nullable TcpProbe nextProbe() {
+        while (probesInFlight < maximumProbes) {
+            TcpProbe probe = pendingProbes.poll();
+            if (probe == null) {
+                return null;
+            }
+            if (!probe.host.terminated) {
+                probesInFlight++;
+                return probe;
+            }
+            // Early termination: skip the connection attempt
+            checkFinished(probe.host);
+        }
+        return null;
+    }
+
+    private @Nullable Host nextPing() {
+        if (pingsInFlight >= MAXIMUM_PINGS) {
+            return null;
+        }
+        Host host = pendingPings.poll();
+        if (host != null) {
+            pingsInFlight++;
+        }
+        return host;
+    }
+
+    /**
+     * Counts a finished check of a host. Must be called with the lock held.
+     */
+    private void checkFinished(Host host) {
+        host.remainingChecks--;
+        if (host.remainingChecks > 0) {
+            return;
+        }
+        scannedHosts++;
+        int progress = totalHosts > 0 ? scannedHosts * 10 / totalHosts : 10;
+        if (progress > reportedProgress) {
+            reportedProgress = progress;
+            logger.debug("Scanned {} of {} hosts, {} connection attempts and {} pings pending", scannedHosts,
+                    totalHosts, probesInFlight, pingsInFlight);
+        }
+    }
+
+    private void startProbe(TcpProbe probe) {
+        engine.connect(new InetSocketAddress(probe.host.address, probe.port), timeoutInMS, reachable -> {
+            boolean report;
+            synchronized (this) {
+                probesInFlight--;
+                report = reachable && !stopped && !probe.host.terminated;
+                checkFinished(probe.host);
+            }
+            if (report) {
+                listener.newServiceDevice(probe.host.ip, probe.port);
+            }
+            startChecks();
+        });
+    }
+
+    private void startPing(Host host) {
+        // ICMP ping, followed by an ARP ping per interface. Every ping may take up to the timeout.
+        int pingTimeout = timeoutInMS * (1 + interfaceNames.size()) + 50;
+        engine.execute(() -> {
+            if (ping(host)) {
+                synchronized (this) {
+                    if (stopped) {
+                        return;
+                    }
+                    host.terminated = true;
+                }
+                listener.newPingDevice(host.ip);
+            }
+        }, pingTimeout, () -> {
+            synchronized (this) {
+                pingsInFlight--;
+                checkFinished(host);
+            }
+            startChecks();
+        });
+    }
+
+    /**
+     * Pings a host. Returns as soon as one of the enabled ping methods succeeded.
+     */
+    private boolean ping(Host host) {
+        try {
+            IpPingMethodEnum pingMethod = this.pingMethod;
+            if (pingMethod == IpPingMethodEnum.JAVA_PING) {
+                if (host.address.isReachable(timeoutInMS)) {
+                    return true;
+                }
+            } else if (pingMethod != null) {
+                if (networkUtils.nativePing(pingMethod, host.ip, timeoutInMS)) {
+                    return true;
+                }
+            }
+
+            ArpPingUtilEnum arpPingMethod = this.arpPingMethod;
+            if (arpPingMethod == null) {
+                return false;
+            }
+            // iOS devices only respond to ARP pings after they have been woken up
+            networkUtils.wakeUpIOS(host.address);
+            Thread.sleep(50);
+            for (String interfaceName : interfaceNames) {
+                if (networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName, host.ip,
+                        timeoutInMS)) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            logger.trace("Failed to ping {}", host.ip, e);
+        } catch (InterruptedException ignored) {
+            // This can be ignored, the check timed out or the scan was stopped
+        }
+        return false;
+    }
+}
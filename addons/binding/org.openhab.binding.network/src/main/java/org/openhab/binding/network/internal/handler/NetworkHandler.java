@@ -189,7 +189,7 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
         presenceDetection.setTimeout(handlerConfiguration.timeout.intValue());
 
         updateStatus(ThingStatus.ONLINE);
-        presenceDetection.startAutomaticRefresh(scheduler);
+        presenceDetection.startAutomaticRefresh();
 
         updateNetworkProperties();
     }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal.messages;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+
+/**
+ * Test for the message factory of the RFXCom-binding, replaying received frames of all supported packet types.
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComMessageFactoryTest {
+
+    private static final Object[][] RECEIVED_FRAMES = {
+            { "070301271356ECC0", RFXComUndecodedRFMessage.class },
+            { "0710000843010150", RFXComLighting1Message.class },
+            { "0B11000600109B520B000080", RFXComLighting2Message.class },
+            { "091300021D155C01E960", RFXComLighting4Message.class },
+            { "0A140F0000080D01010000", RFXComLighting5Message.class },
+            { "0B150005D950450101000080", RFXComLighting6Message.class },
+            { "0716020900A1F350", RFXComChimeMessage.class },
+            { "0919040600A21B010280", RFXComBlinds1Message.class },
+            { "0C1A0000010203040F00000000", RFXComRfyMessage.class },
+            { "0C1B0000111213410403000000", RFXComHomeConfortMessage.class },
+            { "0820004DD3DC540089", RFXComSecurity1Message.class },
+            { "1C21020000000000131211C30000000000000000000000000000000045", RFXComSecurity2Message.class },
+            { "0940001B6B1816150270", RFXComThermostat1Message.class },
+            { "08420101019FAB0280", RFXComThermostat3Message.class },
+            { "0A4E012B2955001A002179", RFXComBBQTemperatureMessage.class },
+            { "0A4F01CCF001004F03B759", RFXComTemperatureRainMessage.class },
+            { "08500110000180BC69", RFXComTemperatureMessage.class },
+            { "085101027700360189", RFXComHumidityMessage.class },
+            { "0A5201800F0201294C0349", RFXComTemperatureHumidityMessage.class },
+            { "0D54020EE90000C9270203E70439", RFXComTemperatureHumidityBarometricMessage.class },
+            { "0B550217B6000000004D3C69", RFXComRainMessage.class },
+            { "105601122F000087000000140000000079", RFXComWindMessage.class },
+            { "095703123421194731E9", RFXComUVMessage.class },
+            { "0D580117B90003041D030D150A69", RFXComDateTimeMessage.class },
+            { "0D59010F860004001D0000000049", RFXComCurrentMessage.class },
+            { "115A01071A7300000003F600000000350B89", RFXComEnergyMessage.class },
+            { "135B0106B800000016000000000000006F148889", RFXComCurrentEnergyMessage.class } };
+
+    @Test
+    public void testReceivedFrames() throws RFXComException {
+        for (Object[] frame : RECEIVED_FRAMES) {
+            byte[] data = HexUtils.hexToBytes((String) frame[0]);
+            RFXComMessage msg = RFXComMessageFactory.createMessage(data);
+
+            assertEquals("Message class of " + frame[0], frame[1], msg.getClass());
+            assertEquals("Seq number of " + frame[0], data[3], ((RFXComBaseMessage) msg).seqNbr);
+        }
+    }
+
+    @Test
+    public void testCreateMessage() throws RFXComException {
+        for (Object[] frame : RECEIVED_FRAMES) {
+            byte[] data = HexUtils.hexToBytes((String) frame[0]);
+            PacketType packetType = ByteEnumUtil.fromByte(PacketType.class, (int) data[1]);
+
+            assertEquals("Message class of " + packetType, frame[1],
+                    RFXComMessageFactory.createMessage(packetType).getClass());
+        }
+    }
+
+    @Test(expected = RFXComException.class)
+    public void testTruncatedFrame() throws RFXComException {
+        // Temperature message cut after the sequence number
+        RFXComMessageFactory.createMessage(HexUtils.hexToBytes("08500110"));
+    }
+
+    @Test(expected = RFXComMessageNotImplementedException.class)
+    public void testCreateReceiveOnlyMessage() throws RFXComException {
+        RFXComMessageFactory.createMessage(PacketType.INTERFACE_MESSAGE);
+    }
+}
@@ -9,10 +9,10 @@
 package org.openhab.binding.rfxcom.handler;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -43,6 +43,7 @@ import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage.SubTy
 import org.openhab.binding.rfxcom.internal.messages.RFXComMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
 import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComTransmitterMessage.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,37 +67,115 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
+    /**
+     * Queue of the messages to transmit. The transceiver handles one message at a time, so a message is only
+     * transmitted after the previous message is acknowledged, or the response to it has timed out. Enqueueing a message
+     * never waits for the acknowledgement of other messages.
+     */
     private class TransmitQueue {
-        private Queue<RFXComBaseMessage> queue = new LinkedBlockingQueue<>();
+        /**
+         * Time to wait for the response to a transmitted message, before the next message is transmitted
+         */
+        private static final long RESPONSE_TIMEOUT_MILLIS = 5000;
+
+        /**
+         * Messages waiting for transmission. Guarded by this.
+         */
+        private final Deque<RFXComBaseMessage> queue = new ArrayDeque<>();
+
+        /**
+         * Message transmitted and not acknowledged yet, null if no message is pending. Guarded by this.
+         */
+        private RFXComBaseMessage pendingMessage;
+        private ScheduledFuture<?> responseTimeout;
+        private byte nextSeqNbr;
 
         public synchronized void enqueue(RFXComBaseMessage msg) throws IOException {
-            boolean wasEmpty = queue.isEmpty();
-            if (queue.offer(msg)) {
-                if (wasEmpty) {
-                    send();
-                }
-            } else {
-                logger.error("Transmit queue overflow. Lost message: {}", msg);
+            queue.offer(msg);
+            sendNext();
+        }
+
+        /**
+         * Handles the response of the transceiver to the pending message and transmits the next message. Responses
+         * which do not match the sequence number of the pending message are ignored.
+         *
+         * @param response the response of the transceiver
+         * @return the acknowledged message or null if the response does not acknowledge the pending message
+         */
+        public synchronized RFXComBaseMessage acknowledge(RFXComBaseMessage response) throws IOException {
+            RFXComBaseMessage msg = pendingMessage;
+            if (msg == null) {
+                logger.debug("Ignoring response with sequence number {}, no message is pending",
+                        response.seqNbr & 0xFF);
+                return null;
+            }
+            if (msg.seqNbr != response.seqNbr) {
+                logger.debug("Ignoring response with sequence number {}, it does not match the pending message '{}'",
+                        response.seqNbr & 0xFF, msg);
+                return null;
+            }
+            release();
+            sendNext();
+            return msg;
+        }
+
+        /**
+         * Transmits the pending message again, for example after the transceiver has been restarted.
+         */
+        public synchronized void resend() throws IOException {
+            RFXComBaseMessage msg = pendingMessage;
+            if (msg != null) {
+                release();
+                queue.offerFirst(msg);
             }
+            sendNext();
         }
 
-        public synchronized void sendNext() throws IOException {
-            queue.poll();
-            send();
+        private synchronized void responseTimedOut(RFXComBaseMessage msg) {
+            if (pendingMessage != msg) {
+                // acknowledged meanwhile
+                return;
+            }
+            logger.warn("No response to message '{}' within {} ms, transmitting next message", msg,
+                    RESPONSE_TIMEOUT_MILLIS);
+            release();
+            try {
+                sendNext();
+            } catch (IOException e) {
+                eventListener.errorOccurred("I/O error");
+            }
         }
 
-        public synchronized void send() throws IOException {
-            while (!queue.isEmpty()) {
-                RFXComBaseMessage msg = queue.peek();
+        private void release() {
+            pendingMessage = null;
+            if (responseTimeout != null) {
+                responseTimeout.cancel(false);
+                responseTimeout = null;
+            }
+        }
 
+        /**
+         * Transmits the next message, unless a message is already pending. Must be called while holding the lock.
+         */
+        private void sendNext() throws IOException {
+            RFXComConnectorInterface connector = RFXComBridgeHandler.this.connector;
+            while (pendingMessage == null && connector != null && !queue.isEmpty()) {
+                RFXComBaseMessage msg = queue.poll();
                 try {
+                    msg.seqNbr = nextSeqNbr++;
                     logger.debug("Transmitting message '{}'", msg);
                     byte[] data = msg.decodeMessage();
+                    pendingMessage = msg;
                     connector.sendMessage(data);
-                    break;
+                    responseTimeout = scheduler.schedule(() -> responseTimedOut(msg), RESPONSE_TIMEOUT_MILLIS,
+                            TimeUnit.MILLISECONDS);
                 } catch (RFXComException rfxe) {
                     logger.error("Error during send of {}", msg, rfxe);
-                    queue.poll();
+                    pendingMessage = null;
+                } catch (IOException e) {
+                    pendingMessage = null;
+                    queue.offerFirst(msg);
+                    throw e;
                 }
             }
         }
@@ -274,17 +353,20 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
                     } else if (msg.subType == SubType.START_RECEIVER) {
                         updateStatus(ThingStatus.ONLINE);
                         logger.debug("Start TX of any queued messages");
-                        transmitQueue.send();
+                        transmitQueue.resend();
                     } else {
                         logger.debug("Interface response received: {}", msg);
-                        transmitQueue.sendNext();
+                        transmitQueue.acknowledge(msg);
                     }
                 } else if (message instanceof RFXComTransmitterMessage) {
                     RFXComTransmitterMessage resp = (RFXComTransmitterMessage) message;
 
                     logger.debug("Transmitter response received: {}", resp);
 
-                    transmitQueue.sendNext();
+                    RFXComBaseMessage acknowledged = transmitQueue.acknowledge(resp);
+                    if (resp.response == Response.NAK || resp.response == Response.NAK_INVALID_AC_ADDRESS) {
+                        logger.warn("Transmitter did not transmit message '{}': {}", acknowledged, resp.response);
+                    }
                 } else if (message instanceof RFXComDeviceMessage) {
                     for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
                         try {
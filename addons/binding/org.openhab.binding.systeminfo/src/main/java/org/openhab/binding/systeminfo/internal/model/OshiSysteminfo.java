@@ -9,6 +9,10 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -54,14 +58,24 @@ public class OshiSysteminfo implements SysteminfoInterface {
     private CentralProcessor cpu;
     private Sensors sensors;
 
-    // Static objects, should be recreated on each request
+    // Static objects
     private OperatingSystem operatingSystem;
-    private NetworkIF[] networks;
     private Display[] displays;
-    private OSFileStore[] fileStores;
-    private PowerSource[] powerSources;
     private HWDiskStore[] drives;
 
+    // Samples of the dynamic information, taken at most once per refresh cycle
+    private final AtomicLong refreshCycle = new AtomicLong();
+    private final Snapshot<MemoryInfo> memorySnapshot = new Snapshot<>(previous -> sampleMemory());
+    private final Snapshot<SensorsInfo> sensorsSnapshot = new Snapshot<>(previous -> sampleSensors());
+    private final Snapshot<double[]> cpuLoadSnapshot = new Snapshot<>(previous -> cpu.getSystemLoadAverage(3));
+    private final Snapshot<NetworkInfo> networkSnapshot = new Snapshot<>(this::sampleNetworks);
+    private final Snapshot<OSFileStore[]> fileStoreSnapshot = new Snapshot<>(
+            previous -> operatingSystem.getFileSystem().getFileStores());
+    private final Snapshot<PowerSource[]> powerSourceSnapshot = new Snapshot<>(
+            previous -> hal.getPowerSources());
+    private final Snapshot<Map<Integer, OSProcess>> processSnapshot = new Snapshot<>(
+            previous -> new ConcurrentHashMap<>());
+
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
     /**
@@ -84,17 +98,49 @@ public class OshiSysteminfo implements SysteminfoInterface {
         cpu = hal.getProcessor();
         sensors = hal.getSensors();
 
-        // Static objects, should be recreated on each request. In OSHI 4.0.0. it is planned to change this mechanism -
-        // see https://github.com/oshi/oshi/issues/310
-        // TODO: Once the issue is resolved in OSHI , remove unnecessary object recreations from the public get methods
+        // Static objects, the dynamic ones (network, storage, battery) are queried again in each refresh cycle
         operatingSystem = systemInfo.getOperatingSystem();
-        networks = hal.getNetworkIFs();
         displays = hal.getDisplays();
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        powerSources = hal.getPowerSources();
         drives = hal.getDiskStores();
     }
 
+    @Override
+    public void refreshSnapshot() {
+        refreshCycle.incrementAndGet();
+    }
+
+    private MemoryInfo sampleMemory() {
+        // The memory information is read again by OSHI on each call, so read everything at once
+        return new MemoryInfo(memory.getTotal(), memory.getAvailable(), memory.getSwapTotal(), memory.getSwapUsed());
+    }
+
+    private SensorsInfo sampleSensors() {
+        return new SensorsInfo(sensors.getCpuTemperature(), sensors.getCpuVoltage(), sensors.getFanSpeeds());
+    }
+
+    private NetworkInfo sampleNetworks(NetworkInfo previous) {
+        // OSHI updates the statistics of all network interfaces, when they are queried
+        NetworkIF[] networks = hal.getNetworkIFs();
+        NetworkInfo info = new NetworkInfo(networks);
+        if (previous == null) {
+            return info;
+        }
+        for (int i = 0; i < networks.length; i++) {
+            NetworkIF network = networks[i];
+            for (NetworkIF previousNetwork : previous.networks) {
+                if (network.getName().equals(previousNetwork.getName())) {
+                    long interval = network.getTimeStamp() - previousNetwork.getTimeStamp();
+                    info.dataSentRates[i] = getRate(network.getBytesSent() - previousNetwork.getBytesSent(),
+                            interval);
+                    info.dataReceivedRates[i] = getRate(network.getBytesRecv() - previousNetwork.getBytesRecv(),
+                            interval);
+                    break;
+                }
+            }
+        }
+        return info;
+    }
+
     @SuppressWarnings("null")
     private Object getDevice(Object[] devices, int index) throws DeviceNotFoundException {
         if ((devices != null) && (devices.length <= index)) {
@@ -104,7 +150,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
     }
 
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        OSProcess process = processSnapshot.get().computeIfAbsent(pid, operatingSystem::getProcess);
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -171,22 +217,23 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = memorySnapshot.get().total;
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = memorySnapshot.get().available;
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        MemoryInfo memoryInfo = memorySnapshot.get();
+        long totalMemory = memoryInfo.total;
+        long availableMemory = memoryInfo.available;
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -194,10 +241,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -205,10 +249,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -216,10 +257,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -229,10 +267,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -246,10 +281,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -264,31 +296,28 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getStorageName(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), index);
         String name = fileStore.getName();
         return new StringType(name);
     }
 
     @Override
     public StringType getStorageType(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), deviceIndex);
         String type = fileStore.getType();
         return new StringType(type);
     }
 
     @Override
     public StringType getStorageDescription(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStoreSnapshot.get(), index);
         String description = fileStore.getDescription();
         return new StringType(description);
     }
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(networkSnapshot.get().networks, index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -296,14 +325,14 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkName(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(networkSnapshot.get().networks, index);
         String name = netInterface.getName();
         return new StringType(name);
     }
 
     @Override
     public StringType getNetworkDisplayName(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(networkSnapshot.get().networks, index);
         String adapterName = netInterface.getDisplayName();
         return new StringType(adapterName);
     }
@@ -326,31 +355,28 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSensorsCpuTemperature() {
-        BigDecimal cpuTemp = new BigDecimal(sensors.getCpuTemperature());
+        BigDecimal cpuTemp = new BigDecimal(sensorsSnapshot.get().cpuTemperature);
         cpuTemp = cpuTemp.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuTemp.signum() == 1 ? new DecimalType(cpuTemp) : null;
     }
 
     @Override
     public DecimalType getSensorsCpuVoltage() {
-        BigDecimal cpuVoltage = new BigDecimal(sensors.getCpuVoltage());
+        BigDecimal cpuVoltage = new BigDecimal(sensorsSnapshot.get().cpuVoltage);
         cpuVoltage = cpuVoltage.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuVoltage.signum() == 1 ? new DecimalType(cpuVoltage) : null;
     }
 
     @Override
     public DecimalType getSensorsFanSpeed(int index) throws DeviceNotFoundException {
-        int[] fanSpeeds = sensors.getFanSpeeds();
+        int[] fanSpeeds = sensorsSnapshot.get().fanSpeeds;
         int speed = (int) getDevice(ArrayUtils.toObject(fanSpeeds), index);
         return speed > 0 ? new DecimalType(speed) : null;
     }
 
     @Override
     public DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(powerSourceSnapshot.get(), index);
         double remainingTimeInSeconds = powerSource.getTimeRemaining();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -359,10 +385,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(powerSourceSnapshot.get(), index);
         double remainingCapacity = powerSource.getRemainingCapacity();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -370,15 +393,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getBatteryName(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(powerSourceSnapshot.get(), index);
         String name = powerSource.getName();
         return new StringType(name);
     }
 
     @Override
     public DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        MemoryInfo memoryInfo = memorySnapshot.get();
+        long availableMemory = memoryInfo.available;
+        long totalMemory = memoryInfo.total;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -390,8 +414,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        MemoryInfo memoryInfo = memorySnapshot.get();
+        long availableMemory = memoryInfo.available;
+        long totalMemory = memoryInfo.total;
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -425,15 +450,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapTotal() {
-        long swapTotal = memory.getSwapTotal();
+        long swapTotal = memorySnapshot.get().swapTotal;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailable() {
-        long swapTotal = memory.getSwapTotal();
-        long swapUsed = memory.getSwapUsed();
+        MemoryInfo memoryInfo = memorySnapshot.get();
+        long swapTotal = memoryInfo.swapTotal;
+        long swapUsed = memoryInfo.swapUsed;
         long swapAvaialble = swapTotal - swapUsed;
         swapAvaialble = getSizeInMB(swapAvaialble);
         return swapAvaialble > 0 ? new DecimalType(swapAvaialble) : null;
@@ -441,15 +467,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsed() {
-        long swapTotal = memory.getSwapUsed();
+        long swapTotal = memorySnapshot.get().swapUsed;
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailablePercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        MemoryInfo memoryInfo = memorySnapshot.get();
+        long usedSwap = memoryInfo.swapUsed;
+        long totalSwap = memoryInfo.swapTotal;
         long freeSwap = totalSwap - usedSwap;
         if (totalSwap > 0) {
             double freePercentDecimal = (double) freeSwap / (double) totalSwap;
@@ -462,8 +489,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsedPercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        MemoryInfo memoryInfo = memorySnapshot.get();
+        long usedSwap = memoryInfo.swapUsed;
+        long totalSwap = memoryInfo.swapTotal;
         if (totalSwap > 0) {
             double usedPercentDecimal = (double) usedSwap / (double) totalSwap;
             BigDecimal usedPercent = getPercentsValue(usedPercentDecimal);
@@ -483,6 +511,19 @@ public class OshiSysteminfo implements SysteminfoInterface {
         return result;
     }
 
+    /**
+     * Returns the rate per second of a counter, which has changed by the given difference in the given interval.
+     * Returns null if the interval is unknown or the counter has been reset.
+     */
+    private BigDecimal getRate(long difference, long intervalInMillis) {
+        if (intervalInMillis <= 0 || difference < 0) {
+            return null;
+        }
+        BigDecimal rate = new BigDecimal(difference * 1000.0 / intervalInMillis);
+        rate = rate.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+        return rate;
+    }
+
     private BigDecimal getTimeInMinutes(double timeInSeconds) {
         BigDecimal timeInMinutes = new BigDecimal(timeInSeconds / 60);
         timeInMinutes = timeInMinutes.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_UP);
@@ -538,7 +579,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = cpuLoadSnapshot.get();
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -558,55 +599,55 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkMac(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
+        NetworkIF network = (NetworkIF) getDevice(networkSnapshot.get().networks, networkIndex);
         String mac = network.getMacaddr();
         return new StringType(mac);
     }
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(networkSnapshot.get().networks, networkIndex);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(networkSnapshot.get().networks, networkIndex);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(networkSnapshot.get().networks, networkIndex);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = (NetworkIF) getDevice(networkSnapshot.get().networks, networkIndex);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
 
+    @Override
+    public DecimalType getNetworkDataSentRate(int networkIndex) throws DeviceNotFoundException {
+        NetworkInfo info = networkSnapshot.get();
+        getDevice(info.networks, networkIndex);
+        BigDecimal rate = info.dataSentRates[networkIndex];
+        return rate != null ? new DecimalType(rate) : null;
+    }
+
+    @Override
+    public DecimalType getNetworkDataReceivedRate(int networkIndex) throws DeviceNotFoundException {
+        NetworkInfo info = networkSnapshot.get();
+        getDevice(info.networks, networkIndex);
+        BigDecimal rate = info.dataReceivedRates[networkIndex];
+        return rate != null ? new DecimalType(rate) : null;
+    }
+
     @Override
     public StringType getProcessName(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
@@ -664,4 +705,69 @@ public class OshiSysteminfo implements SysteminfoInterface {
         }
     }
 
+    /**
+     * Holds the value sampled from OSHI in the current refresh cycle. The value is sampled again, when it is
+     * requested for the first time after {@link OshiSysteminfo#refreshSnapshot()} has been called.
+     *
+     * @param <T> the type of the sampled value
+     */
+    private class Snapshot<T> {
+        private final UnaryOperator<T> sampler;
+        private long cycle = -1;
+        private T value;
+
+        /**
+         * @param sampler samples a new value, the value of the previous cycle or null is passed to it
+         */
+        Snapshot(UnaryOperator<T> sampler) {
+            this.sampler = sampler;
+        }
+
+        synchronized T get() {
+            long currentCycle = refreshCycle.get();
+            if (value == null || cycle != currentCycle) {
+                value = sampler.apply(value);
+                cycle = currentCycle;
+            }
+            return value;
+        }
+    }
+
+    private static class MemoryInfo {
+        final long total;
+        final long available;
+        final long swapTotal;
+        final long swapUsed;
+
+        MemoryInfo(long total, long available, long swapTotal, long swapUsed) {
+            this.total = total;
+            this.available = available;
+            this.swapTotal = swapTotal;
+            this.swapUsed = swapUsed;
+        }
+    }
+
+    private static class SensorsInfo {
+        final double cpuTemperature;
+        final double cpuVoltage;
+        final int[] fanSpeeds;
+
+        SensorsInfo(double cpuTemperature, double cpuVoltage, int[] fanSpeeds) {
+            this.cpuTemperature = cpuTemperature;
+            this.cpuVoltage = cpuVoltage;
+            this.fanSpeeds = fanSpeeds;
+        }
+    }
+
+    private static class NetworkInfo {
+        final NetworkIF[] networks;
+        final BigDecimal[] dataSentRates;
+        final BigDecimal[] dataReceivedRates;
+
+        NetworkInfo(NetworkIF[] networks) {
+            this.networks = networks;
+            this.dataSentRates = new BigDecimal[networks.length];
+            this.dataReceivedRates = new BigDecimal[networks.length];
+        }
+    }
 }
@@ -23,6 +23,13 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Start a new refresh cycle. The information of every subsystem (memory, network, storage, ...) is sampled again,
+     * when it is requested for the first time in the new cycle. All further requests of the cycle are answered from
+     * this sample.
+     */
+    public void refreshSnapshot();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -335,6 +342,24 @@ public interface SysteminfoInterface {
      */
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException;
 
+    /**
+     * Get the rate of data sent in bytes per second for this network, calculated from the last two refresh cycles
+     *
+     * @param networkIndex - the index of the network
+     * @return the rate or null, if it is not known yet
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getNetworkDataSentRate(int networkIndex) throws DeviceNotFoundException;
+
+    /**
+     * Get the rate of data received in bytes per second for this network, calculated from the last two refresh cycles
+     *
+     * @param networkIndex - the index of the network
+     * @return the rate or null, if it is not known yet
+     * @throws DeviceNotFoundException
+     */
+    public DecimalType getNetworkDataReceivedRate(int networkIndex) throws DeviceNotFoundException;
+
     // Display info
     /**
      * Get information about the display device as product number, manufacturer, serial number, width and height in cm";
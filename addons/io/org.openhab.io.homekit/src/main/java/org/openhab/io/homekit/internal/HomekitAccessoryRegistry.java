@@ -8,9 +8,11 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,10 @@ import com.beowulfe.hap.HomekitRoot;
  * Stores the created HomekitAccessories. GroupedAccessories are also held here
  * in a pre-created pending state until all required characteristics are found.
  *
+ * The bridge resets its accessory registry and all client connections on every added or removed accessory once it
+ * is started. Between {@link #beginBulkRegistration()} and {@link #endBulkRegistration()} changes are therefore only
+ * collected and published to the bridge at the end.
+ *
  * @author Andy Lintner
  */
 class HomekitAccessoryRegistry {
@@ -36,31 +42,76 @@ class HomekitAccessoryRegistry {
     private final Set<Integer> createdIds = new HashSet<>();
     private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
     private final List<HomekitTaggedItem> pendingCharacteristics = new LinkedList<>();
+    // Accessories that have been added to the bridge
+    private final Set<HomekitAccessory> publishedAccessories = new LinkedHashSet<>();
+    private boolean bulkRegistration = false;
 
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
-    public void remove(HomekitTaggedItem taggedItem) {
+    public synchronized void remove(HomekitTaggedItem taggedItem) {
         Iterator<HomekitAccessory> i = createdAccessories.iterator();
         while (i.hasNext()) {
             HomekitAccessory accessory = i.next();
             if (accessory.getId() == taggedItem.getId()) {
                 logger.debug("Removed accessory {}", accessory.getId());
-                bridge.removeAccessory(accessory);
                 i.remove();
+                if (!bulkRegistration && publishedAccessories.remove(accessory)) {
+                    bridge.removeAccessory(accessory);
+                }
             }
         }
     }
 
     public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
-        }
+        createdAccessories.clear();
         createdIds.clear();
+        if (!bulkRegistration) {
+            publish();
+        }
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        publishedAccessories.clear();
+        if (!bulkRegistration) {
+            publish();
+        }
+    }
+
+    /**
+     * Collects all following changes until {@link #endBulkRegistration()} is called.
+     */
+    public synchronized void beginBulkRegistration() {
+        bulkRegistration = true;
+    }
+
+    /**
+     * Publishes the changes since {@link #beginBulkRegistration()} to the bridge at once.
+     */
+    public synchronized void endBulkRegistration() {
+        bulkRegistration = false;
+        publish();
+    }
+
+    /**
+     * Removes accessories from the bridge that are not created anymore and adds the ones that are not published yet.
+     */
+    private void publish() {
+        if (bridge == null) {
+            return;
+        }
+        Set<HomekitAccessory> created = new HashSet<>(createdAccessories);
+        for (HomekitAccessory accessory : new ArrayList<>(publishedAccessories)) {
+            if (!created.contains(accessory)) {
+                publishedAccessories.remove(accessory);
+                bridge.removeAccessory(accessory);
+            }
+        }
+        for (HomekitAccessory accessory : createdAccessories) {
+            if (publishedAccessories.add(accessory)) {
+                bridge.addAccessory(accessory);
+            }
+        }
     }
 
     public synchronized void addRootDevice(HomekitAccessory accessory) {
@@ -101,7 +152,8 @@ class HomekitAccessoryRegistry {
     private void doAddDevice(HomekitAccessory accessory) {
         createdAccessories.add(accessory);
         createdIds.add(accessory.getId());
-        if (bridge != null) {
+        if (!bulkRegistration && bridge != null) {
+            publishedAccessories.add(accessory);
             bridge.addAccessory(accessory);
         }
         logger.debug("Added accessory {}", accessory.getId());
@@ -10,7 +10,11 @@ package org.openhab.io.homekit.internal;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -26,12 +30,18 @@ import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
  * Homekit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * State changes within {@link #NOTIFICATION_WINDOW_MS} are coalesced into a single notification per
+ * characteristic. The notification carries the state at the end of the window, so that chattering sensors
+ * don't flood the clients.
+ *
  * @author Andy Lintner
  */
 public class HomekitAccessoryUpdater {
+    private static final long NOTIFICATION_WINDOW_MS = 250;
 
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("homekit");
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
@@ -50,7 +60,7 @@ public class HomekitAccessoryUpdater {
                 logger.error("Received duplicate subscription on {}", item.getName());
                 unsubscribe(item, key);
             }
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new CoalescingSubscription(k, callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -82,6 +92,35 @@ public class HomekitAccessoryUpdater {
         }
     }
 
+    /**
+     * Notifies the callback once at the end of the window that started with the first state change.
+     */
+    private class CoalescingSubscription implements Subscription {
+        private final ItemKey itemKey;
+        private final HomekitCharacteristicChangeCallback callback;
+        private final AtomicBoolean notificationPending = new AtomicBoolean();
+
+        public CoalescingSubscription(ItemKey itemKey, HomekitCharacteristicChangeCallback callback) {
+            this.itemKey = itemKey;
+            this.callback = callback;
+        }
+
+        @Override
+        public void stateChanged(Item item, State oldState, State newState) {
+            if (notificationPending.compareAndSet(false, true)) {
+                scheduler.schedule(this::notifyCallback, NOTIFICATION_WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void notifyCallback() {
+            notificationPending.set(false);
+            // Skip the notification if the client unsubscribed in the meantime
+            if (subscriptionsByName.get(itemKey) == this) {
+                callback.changed();
+            }
+        }
+    }
+
     private static class ItemKey {
         public GenericItem item;
         public String key;
@@ -9,7 +9,13 @@
 package org.openhab.io.homekit.internal;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
@@ -23,27 +29,28 @@ import com.beowulfe.hap.HomekitRoot;
  * Listens for changes to the item registry. When changes are detected, check
  * for Homekit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Changes are collected until no item has been changed for {@link #PUBLISH_DELAY_MS} and then published together,
+ * so that editing or reloading many items doesn't reset the bridge for every single item.
+ *
  * @author Andy Lintner
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
+    private static final long PUBLISH_DELAY_MS = 1000;
 
     private ItemRegistry itemRegistry;
     private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
     private Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
     private final HomekitAccessoryRegistry accessoryRegistry = new HomekitAccessoryRegistry();
     private HomekitSettings settings;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("homekit");
+    // Changed item names mapped to the item before the first change or null for new items
+    private final Map<String, Item> pendingChanges = new LinkedHashMap<>();
+    private ScheduledFuture<?> publishJob;
 
     @Override
     public synchronized void added(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
-            if (taggedItem.isRootDevice()) {
-                createRootDevice(taggedItem);
-            }
-            if (taggedItem.isCharacteristic()) {
-                createCharacteristic(taggedItem);
-            }
-        }
+        pendingChanges.putIfAbsent(item.getName(), null);
+        schedulePublish();
     }
 
     @Override
@@ -53,19 +60,22 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     @Override
     public synchronized void removed(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
-        if (taggedItem.isTagged()) {
-            accessoryRegistry.remove(taggedItem);
+        if (!pendingChanges.containsKey(item.getName())) {
+            pendingChanges.put(item.getName(), item);
         }
+        schedulePublish();
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
-        removed(oldElement);
-        added(element);
+    public synchronized void updated(Item oldElement, Item element) {
+        if (!pendingChanges.containsKey(element.getName())) {
+            pendingChanges.put(element.getName(), oldElement);
+        }
+        schedulePublish();
     }
 
     public synchronized void clearAccessories() {
+        pendingChanges.clear();
         accessoryRegistry.clear();
     }
 
@@ -76,7 +86,12 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getAll().forEach(item -> added(item));
+        accessoryRegistry.beginBulkRegistration();
+        try {
+            itemRegistry.getAll().forEach(item -> addItem(item));
+        } finally {
+            accessoryRegistry.endBulkRegistration();
+        }
     }
 
     public void setUpdater(HomekitAccessoryUpdater updater) {
@@ -87,12 +102,69 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.settings = settings;
     }
 
-    public void stop() {
+    public synchronized void stop() {
+        if (publishJob != null) {
+            publishJob.cancel(false);
+            publishJob = null;
+        }
+        pendingChanges.clear();
         if (this.itemRegistry != null) {
             this.itemRegistry.removeRegistryChangeListener(this);
         }
     }
 
+    private void schedulePublish() {
+        if (publishJob != null) {
+            publishJob.cancel(false);
+        }
+        publishJob = scheduler.schedule(this::publishChanges, PUBLISH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes the accessories of all changed items and adds the current ones again in one go.
+     */
+    private synchronized void publishChanges() {
+        publishJob = null;
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        logger.debug("Publishing changes of {} items", pendingChanges.size());
+        accessoryRegistry.beginBulkRegistration();
+        try {
+            pendingChanges.forEach((name, oldItem) -> {
+                if (oldItem != null) {
+                    removeItem(oldItem);
+                }
+                Item item = itemRegistry.get(name);
+                if (item != null) {
+                    addItem(item);
+                }
+            });
+        } finally {
+            pendingChanges.clear();
+            accessoryRegistry.endBulkRegistration();
+        }
+    }
+
+    private void addItem(Item item) {
+        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
+        if (taggedItem.isTagged()) {
+            if (taggedItem.isRootDevice()) {
+                createRootDevice(taggedItem);
+            }
+            if (taggedItem.isCharacteristic()) {
+                createCharacteristic(taggedItem);
+            }
+        }
+    }
+
+    private void removeItem(Item item) {
+        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
+        if (taggedItem.isTagged()) {
+            accessoryRegistry.remove(taggedItem);
+        }
+    }
+
     private void createRootDevice(HomekitTaggedItem taggedItem) {
         try {
             logger.debug("Adding homekit device {}", taggedItem.getItem().getName());
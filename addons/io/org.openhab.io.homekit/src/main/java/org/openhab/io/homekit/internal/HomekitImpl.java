@@ -65,7 +65,7 @@ public class HomekitImpl implements Homekit {
     }
 
     protected void deactivate() {
-        changeListener.clearAccessories();
+        // A stopped bridge doesn't reset its clients for each removed accessory
         if (bridge != null) {
             bridge.stop();
             bridge = null;
@@ -75,6 +75,7 @@ public class HomekitImpl implements Homekit {
             homekit = null;
         }
 
+        changeListener.clearAccessories();
         changeListener.setBridge(null);
         changeListener.stop();
     }
@@ -97,7 +98,8 @@ public class HomekitImpl implements Homekit {
         homekit = new HomekitServer(settings.getNetworkInterface(), settings.getPort());
         bridge = homekit.createBridge(new HomekitAuthInfoImpl(storageService, settings.getPin()), settings.getName(),
                 settings.getManufacturer(), settings.getModel(), settings.getSerialNumber());
-        bridge.start();
+        // Add all accessories before starting the bridge, it publishes them at once then
         changeListener.setBridge(bridge);
+        bridge.start();
     }
 }
@@ -25,10 +25,12 @@ import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.library.items.ColorItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.openhab.io.hueemulation.internal.RESTApi.ETag;
 import org.openhab.io.hueemulation.internal.RESTApi.HttpMethod;
 import org.openhab.io.hueemulation.internal.dto.HueDataStore;
 import org.openhab.io.hueemulation.internal.dto.HueDevice;
@@ -183,4 +185,34 @@ public class HueRestAPITest {
         assertThat(((HueStateColorBulb) ds.lights.get(2).state).toHSBType().getSaturation().intValue(), is(88));
         assertThat(((HueStateColorBulb) ds.lights.get(2).state).toHSBType().getBrightness().intValue(), is(78));
     }
+
+    @Test
+    public void lightsNotModified() throws IOException {
+        ds.config.whitelist.put("testuser", new HueUserAuth("testuser"));
+
+        StringWriter out = new StringWriter();
+        ETag eTag = new ETag(null);
+        int result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false, eTag);
+        assertEquals(200, result);
+        assertThat(out.toString(), containsString("\"on\":false"));
+        String firstETag = eTag.getValue();
+        assertNotNull(firstETag);
+
+        // Unchanged lights are not sent again
+        out = new StringWriter();
+        eTag = new ETag(firstETag);
+        result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false, eTag);
+        assertEquals(304, result);
+        assertThat(out.toString(), is(""));
+        assertThat(eTag.getValue(), is(firstETag));
+
+        // A changed item state invalidates the cached copy
+        ((SwitchItem) ds.lights.get(1).item).setState(OnOffType.ON);
+        out = new StringWriter();
+        eTag = new ETag(firstETag);
+        result = restAPI.handle(HttpMethod.GET, "", out, Paths.get("/api/testuser/lights"), false, eTag);
+        assertEquals(200, result);
+        assertThat(out.toString(), containsString("\"on\":true"));
+        assertThat(eTag.getValue(), not(firstETag));
+    }
 }
@@ -42,6 +42,7 @@ import org.eclipse.smarthome.core.service.ReadyMarker;
 import org.eclipse.smarthome.core.service.ReadyService;
 import org.eclipse.smarthome.core.service.ReadyService.ReadyTracker;
 import org.eclipse.smarthome.core.storage.StorageService;
+import org.openhab.io.hueemulation.internal.RESTApi.ETag;
 import org.openhab.io.hueemulation.internal.RESTApi.HttpMethod;
 import org.openhab.io.hueemulation.internal.dto.HueDataStore;
 import org.openhab.io.hueemulation.internal.dto.HueGroup;
@@ -171,8 +172,9 @@ public class HueEmulationService implements ReadyTracker {
                 }
 
                 int statuscode = 0;
+                ETag eTag = new ETag(req.getHeader("If-None-Match"));
                 try {
-                    statuscode = restAPI.handle(method, postBody, out, path, isDebug);
+                    statuscode = restAPI.handle(method, postBody, out, path, isDebug, eTag);
                     switch (statuscode) {
                         case 10403: // Fake status code -> translate to real one
                             statuscode = 403;
@@ -196,6 +198,10 @@ public class HueEmulationService implements ReadyTracker {
                     apiServerError(req, out, HueResponse.INVALID_JSON, "Invalid request: " + e.getMessage());
                 }
 
+                String eTagValue = eTag.getValue();
+                if (eTagValue != null) {
+                    resp.setHeader("ETag", eTagValue);
+                }
                 resp.setStatus(statuscode);
                 httpOut.print(out.toString());
 
@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.hueemulation.internal.dto.HueDataStore;
+import org.openhab.io.hueemulation.internal.dto.HueDevice;
+import org.openhab.io.hueemulation.internal.dto.HueGroup;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps serialized copies of the lights and groups of a {@link HueDataStore}.
+ *
+ * <p>
+ * Hue clients poll the complete list of lights every few seconds. A copy is only serialized again if
+ * {@link HueDataStore#getModificationCount()} changed, if a light or group got replaced or if the state of an exposed
+ * item changed. Each copy has its own entity tag, so that clients can revalidate their cached copy.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class JsonSnapshots {
+    /**
+     * A serialized copy and its entity tag
+     */
+    static class Snapshot {
+        final String json;
+        final String eTag;
+
+        Snapshot(String json, String eTag) {
+            this.json = json;
+            this.eTag = eTag;
+        }
+    }
+
+    private final HueDataStore ds;
+    private final Gson gson;
+    // Entity tags must not be reused after a restart
+    private final String eTagPrefix = Long.toHexString(System.currentTimeMillis()) + "-";
+    private long snapshotCounter = 0;
+
+    private @Nullable Snapshot lights;
+    private long lightsModificationCount;
+    // Hue ID, device and item state of each light, in the iteration order of HueDataStore#lights
+    private Object[] lightsFingerprint = new Object[0];
+
+    private @Nullable Snapshot groups;
+    private long groupsModificationCount;
+    // Hue ID and group of each group, in the iteration order of HueDataStore#groups
+    private Object[] groupsFingerprint = new Object[0];
+
+    JsonSnapshots(HueDataStore ds, Gson gson) {
+        this.ds = ds;
+        this.gson = gson;
+    }
+
+    /**
+     * Returns the serialized map of all lights. The map is serialized again only if something has changed.
+     */
+    synchronized Snapshot lights() {
+        long modificationCount = ds.getModificationCount();
+        Snapshot snapshot = lights;
+        if (snapshot == null || modificationCount != lightsModificationCount || !isLightsFingerprintValid()) {
+            Object[] fingerprint = new Object[ds.lights.size() * 3];
+            int i = 0;
+            for (Map.Entry<Integer, HueDevice> entry : ds.lights.entrySet()) {
+                HueDevice device = entry.getValue();
+                fingerprint[i++] = entry.getKey();
+                fingerprint[i++] = device;
+                fingerprint[i++] = device.item.getState();
+                device.updateState();
+            }
+            snapshot = newSnapshot(gson.toJson(ds.lights));
+            lights = snapshot;
+            lightsModificationCount = modificationCount;
+            lightsFingerprint = fingerprint;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the serialized map of all groups. The map is serialized again only if something has changed.
+     */
+    synchronized Snapshot groups() {
+        long modificationCount = ds.getModificationCount();
+        Snapshot snapshot = groups;
+        if (snapshot == null || modificationCount != groupsModificationCount || !isGroupsFingerprintValid()) {
+            Object[] fingerprint = new Object[ds.groups.size() * 2];
+            int i = 0;
+            for (Map.Entry<Integer, HueGroup> entry : ds.groups.entrySet()) {
+                fingerprint[i++] = entry.getKey();
+                fingerprint[i++] = entry.getValue();
+            }
+            snapshot = newSnapshot(gson.toJson(ds.groups));
+            groups = snapshot;
+            groupsModificationCount = modificationCount;
+            groupsFingerprint = fingerprint;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the complete data store. The config contains the current time and is always serialized, the lights and
+     * groups are taken from their snapshots.
+     */
+    String fullState() {
+        StringBuilder b = new StringBuilder();
+        b.append("{\"config\":").append(gson.toJson(ds.config));
+        b.append(",\"lights\":").append(lights().json);
+        b.append(",\"groups\":").append(groups().json);
+        b.append(",\"scenes\":").append(gson.toJson(ds.scenes));
+        b.append(",\"rules\":").append(gson.toJson(ds.rules));
+        b.append(",\"sensors\":").append(gson.toJson(ds.sensors));
+        b.append(",\"schedules\":").append(gson.toJson(ds.schedules));
+        b.append(",\"resourcelinks\":").append(gson.toJson(ds.resourcelinks));
+        return b.append('}').toString();
+    }
+
+    private Snapshot newSnapshot(String json) {
+        return new Snapshot(json, "\"" + eTagPrefix + Long.toHexString(++snapshotCounter) + "\"");
+    }
+
+    /**
+     * Lights that are not added via {@link LightItems} (like in tests) and item state changes don't change the
+     * modification count. Compare the lights with the ones of the last snapshot instead.
+     */
+    private boolean isLightsFingerprintValid() {
+        Object[] fingerprint = lightsFingerprint;
+        if (fingerprint.length != ds.lights.size() * 3) {
+            return false;
+        }
+        int i = 0;
+        for (Map.Entry<Integer, HueDevice> entry : ds.lights.entrySet()) {
+            HueDevice device = entry.getValue();
+            if (!entry.getKey().equals(fingerprint[i]) || device != fingerprint[i + 1]
+                    || !device.item.getState().equals(fingerprint[i + 2])) {
+                return false;
+            }
+            i += 3;
+        }
+        return true;
+    }
+
+    private boolean isGroupsFingerprintValid() {
+        Object[] fingerprint = groupsFingerprint;
+        if (fingerprint.length != ds.groups.size() * 2) {
+            return false;
+        }
+        int i = 0;
+        for (Map.Entry<Integer, HueGroup> entry : ds.groups.entrySet()) {
+            if (!entry.getKey().equals(fingerprint[i]) || entry.getValue() != fingerprint[i + 1]) {
+                return false;
+            }
+            i += 2;
+        }
+        return true;
+    }
+}
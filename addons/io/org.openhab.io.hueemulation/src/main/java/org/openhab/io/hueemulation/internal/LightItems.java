@@ -289,6 +289,7 @@ public class LightItems implements RegistryChangeListener<Item> {
         }
         updateGroup0();
         itemUIDtoHueID.put(element.getUID(), hueID);
+        dataStore.modified();
         if (initDone) {
             logger.debug("Add item {}", element.getUID());
             if (itemAssociationCreated) {
@@ -318,6 +319,7 @@ public class LightItems implements RegistryChangeListener<Item> {
         dataStore.groups.remove(hueID);
         updateGroup0();
         itemUIDtoHueID.remove(element.getUID());
+        dataStore.modified();
         writeToFile();
     }
 
@@ -327,6 +329,9 @@ public class LightItems implements RegistryChangeListener<Item> {
     @SuppressWarnings({ "null", "unused" })
     @Override
     public synchronized void updated(Item oldElement, Item element) {
+        // Group memberships of this item might have changed as well
+        dataStore.modified();
+
         Integer hueID = itemUIDtoHueID.get(element.getUID());
         if (hueID == null) {
             // If the correct tags got added -> use the logic within added()
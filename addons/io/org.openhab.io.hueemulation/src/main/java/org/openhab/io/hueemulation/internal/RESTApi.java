@@ -61,6 +61,7 @@ public class RESTApi {
     private final Gson gson;
     private final UserManagement userManagement;
     private final ConfigManagement configManagement;
+    private final JsonSnapshots snapshots;
     private @NonNullByDefault({}) EventPublisher eventPublisher;
 
     public static enum HttpMethod {
@@ -70,11 +71,53 @@ public class RESTApi {
         DELETE
     }
 
+    /**
+     * The entity tag of a request and its response. A client that sends the entity tag of its cached copy with
+     * If-None-Match gets a 304 status instead of the same content again.
+     */
+    public static class ETag {
+        private final @Nullable String ifNoneMatch;
+        private @Nullable String value;
+
+        /**
+         * @param ifNoneMatch The If-None-Match header of the request or null
+         */
+        public ETag(@Nullable String ifNoneMatch) {
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        /**
+         * Returns the entity tag of the response or null if the response can't be revalidated
+         */
+        public @Nullable String getValue() {
+            return value;
+        }
+
+        /**
+         * Sets the entity tag of the response and returns true if the client already has this version.
+         */
+        boolean notModified(String value) {
+            this.value = value;
+            String ifNoneMatch = this.ifNoneMatch;
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String part : ifNoneMatch.split(",")) {
+                String tag = part.trim();
+                if ("*".equals(tag) || value.equals(tag) || ("W/" + value).equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     public RESTApi(HueDataStore ds, UserManagement userManagement, ConfigManagement configManagement, Gson gson) {
         this.ds = ds;
         this.userManagement = userManagement;
         this.configManagement = configManagement;
         this.gson = gson;
+        this.snapshots = new JsonSnapshots(ds, gson);
     }
 
     public void setEventPublisher(@Nullable EventPublisher eventPublisher) {
@@ -97,9 +140,20 @@ public class RESTApi {
      *
      * @param isDebug
      */
-    @SuppressWarnings("null")
     public int handle(HttpMethod method, String body, Writer out, Path path, boolean isDebug)
             throws IOException, JsonParseException {
+        return handle(method, body, out, path, isDebug, new ETag(null));
+    }
+
+    /**
+     * Handles /api and forwards any deeper path
+     *
+     * @param isDebug
+     * @param eTag The entity tag of the request. The entity tag of the response is set, if it has one.
+     */
+    @SuppressWarnings("null")
+    public int handle(HttpMethod method, String body, Writer out, Path path, boolean isDebug, ETag eTag)
+            throws IOException, JsonParseException {
         if (!"api".equals(path.getName(0).toString())) {
             return 404;
         }
@@ -136,7 +190,8 @@ public class RESTApi {
 
         Path userPath = remaining(path);
 
-        return handleUser(method, body, out, userPath.getName(0).toString(), remaining(userPath), path, isDebug);
+        return handleUser(method, body, out, userPath.getName(0).toString(), remaining(userPath), path, isDebug,
+                eTag);
     }
 
     /**
@@ -144,6 +199,14 @@ public class RESTApi {
      */
     public int handleUser(HttpMethod method, String body, Writer out, String userName, Path remainingPath, Path fullURI,
             boolean isDebug) throws IOException, JsonParseException {
+        return handleUser(method, body, out, userName, remainingPath, fullURI, isDebug, new ETag(null));
+    }
+
+    /**
+     * Handles /api/config and /api/{user-name} and forwards any deeper path
+     */
+    public int handleUser(HttpMethod method, String body, Writer out, String userName, Path remainingPath, Path fullURI,
+            boolean isDebug, ETag eTag) throws IOException, JsonParseException {
 
         if ("config".equals(userName)) { // Reduced config
             try (JsonWriter writer = new JsonWriter(out)) {
@@ -164,7 +227,7 @@ public class RESTApi {
         if (remainingPath.getNameCount() == 0) { /** /api/{username} */
             switch (method) {
                 case GET:
-                    out.write(gson.toJson(ds));
+                    out.write(snapshots.fullState());
                     return 200;
                 default:
                     return 405;
@@ -176,9 +239,9 @@ public class RESTApi {
 
         switch (function) {
             case "lights":
-                return handleLights(method, body, out, remaining(remainingPath), fullURI, isDebug);
+                return handleLights(method, body, out, remaining(remainingPath), fullURI, isDebug, eTag);
             case "groups":
-                return handleGroups(method, body, out, remaining(remainingPath));
+                return handleGroups(method, body, out, remaining(remainingPath), eTag);
             case "config":
                 return handleConfig(method, body, out, remaining(remainingPath), userName);
             default:
@@ -258,7 +321,7 @@ public class RESTApi {
 
     @SuppressWarnings({ "null", "unused" })
     public int handleLights(HttpMethod method, String body, Writer out, Path remainingPath, Path fullURI,
-            boolean isDebug) throws IOException, JsonParseException {
+            boolean isDebug, ETag eTag) throws IOException, JsonParseException {
         /** /api/{username}/lights */
         if (remainingPath.getNameCount() == 0) {
             switch (method) {
@@ -270,8 +333,11 @@ public class RESTApi {
                             out.write("\n");
                         }
                     } else {
-                        ds.lights.values().forEach(v -> v.updateState());
-                        out.write(gson.toJson(ds.lights));
+                        JsonSnapshots.Snapshot lights = snapshots.lights();
+                        if (eTag.notModified(lights.eTag)) {
+                            return 304;
+                        }
+                        out.write(lights.json);
                     }
                     return 200;
                 case POST:
@@ -332,12 +398,17 @@ public class RESTApi {
     }
 
     @SuppressWarnings({ "null", "unused" })
-    public int handleGroups(HttpMethod method, String body, Writer out, Path remainingPath) throws IOException {
+    public int handleGroups(HttpMethod method, String body, Writer out, Path remainingPath, ETag eTag)
+            throws IOException {
         /** /api/{username}/groups */
         if (remainingPath.getNameCount() == 0) {
             switch (method) {
                 case GET:
-                    out.write(gson.toJson(ds.groups));
+                    JsonSnapshots.Snapshot groups = snapshots.groups();
+                    if (eTag.notModified(groups.eTag)) {
+                        return 304;
+                    }
+                    out.write(groups.json);
                     return 200;
                 case POST:
                     int hueid = ds.generateNextGroupHueID();
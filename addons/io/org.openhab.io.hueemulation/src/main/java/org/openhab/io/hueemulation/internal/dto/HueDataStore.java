@@ -11,6 +11,7 @@ package org.openhab.io.hueemulation.internal.dto;
 import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -33,6 +34,11 @@ public class HueDataStore {
     public Map<Integer, Dummy> schedules = new TreeMap<>();
     public Map<Integer, Dummy> resourcelinks = Collections.emptyMap();
 
+    /**
+     * Counts changes to the lights and groups, except state changes. Not part of the API DTO.
+     */
+    private final transient AtomicLong modificationCount = new AtomicLong();
+
     public HueDataStore() {
         resetGroupsAndLights();
     }
@@ -42,6 +48,19 @@ public class HueDataStore {
         lights.clear();
         // There must be a group 0 all the time!
         groups.put(0, new HueGroup("All lights", null, Collections.emptyMap()));
+        modified();
+    }
+
+    /**
+     * Must be called after a light or group got added, removed or changed, so that serialized copies of the
+     * lights and groups are invalidated.
+     */
+    public void modified() {
+        modificationCount.incrementAndGet();
+    }
+
+    public long getModificationCount() {
+        return modificationCount.get();
     }
 
     public int generateNextLightHueID() {
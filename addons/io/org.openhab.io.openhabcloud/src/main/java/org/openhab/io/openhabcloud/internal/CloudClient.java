@@ -15,19 +15,21 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -35,7 +37,7 @@ import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -79,6 +81,20 @@ public class CloudClient {
      */
     private static final int HTTP_CLIENT_TIMEOUT = 30000;
 
+    /*
+     * This constant defines the size of the chunks in which response content is sent to the openHAB Cloud.
+     * Smaller content parts received from openHAB are combined up to this size.
+     */
+    private static final int RESPONSE_CHUNK_SIZE = 32 * 1024;
+
+    /*
+     * This constant defines the time in milliseconds after which response content, which does not fill
+     * a chunk, is sent to the openHAB Cloud anyway
+     */
+    private static final int RESPONSE_FLUSH_DELAY = 10;
+
+    static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
     /*
      * This variable holds base URL for the openHAB Cloud connections
      */
@@ -109,6 +125,12 @@ public class CloudClient {
      */
     private HashMap<Integer, Request> runningRequests;
 
+    /*
+     * This list holds the actions to run as soon as the Socket.IO transport has written all pending data,
+     * which resume the local requests waiting for their content to be sent
+     */
+    private final List<Runnable> drainActions = new ArrayList<>();
+
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
      */
@@ -193,6 +215,12 @@ public class CloudClient {
                         headers.put("remoteaccess", Arrays.asList(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        runDrainActions();
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -271,6 +299,31 @@ public class CloudClient {
         if (runningRequests != null) {
             runningRequests.clear();
         }
+        // Nothing is going to be written anymore, so release everything waiting for it
+        runDrainActions();
+    }
+
+    /**
+     * Runs the given action as soon as the Socket.IO transport has written all data emitted so far
+     */
+    private void onDrain(Runnable action) {
+        synchronized (drainActions) {
+            drainActions.add(action);
+        }
+    }
+
+    private void runDrainActions() {
+        List<Runnable> actions;
+        synchronized (drainActions) {
+            if (drainActions.isEmpty()) {
+                return;
+            }
+            actions = new ArrayList<>(drainActions);
+            drainActions.clear();
+        }
+        for (Runnable action : actions) {
+            action.run();
+        }
     }
 
     /**
@@ -361,7 +414,8 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -554,15 +608,29 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     *
+     * Response content is combined into chunks of RESPONSE_CHUNK_SIZE bytes, which are sent as soon as they are full
+     * or RESPONSE_FLUSH_DELAY milliseconds after content has been received. The local request is only resumed after
+     * a full chunk has been written by the Socket.IO transport, so a slow connection to the openHAB Cloud slows down
+     * reading from openHAB instead of buffering the whole response in memory.
+     *
+     * Socket.IO emits all messages in the order they have been passed to it, so headers, content and the end of the
+     * response are emitted in the order Jetty reports them.
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
+        /*
+         * buffer holding the content received, but not sent yet
+         */
+        private byte[] mChunk;
+        private int mChunkLength;
+        private ScheduledFuture<?> mFlushJob;
+
         public ResponseListener(int requestId) {
             mRequestId = requestId;
         }
@@ -596,12 +664,14 @@ public class CloudClient {
                 }
             }
 
-            /**
-             * What is this? In some cases where latency is very low the myopenhab service
-             * can receive responseFinished before the headers or content are received and I
-             * cannot find another workaround to prevent it.
-             */
-            ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(() -> {
+            synchronized (this) {
+                if (mFlushJob != null) {
+                    mFlushJob.cancel(false);
+                    mFlushJob = null;
+                }
+                // The remaining content has to be emitted before the end of the response
+                sendContent();
+                mChunk = null;
                 JSONObject responseJson = new JSONObject();
                 try {
                     responseJson.put("id", mRequestId);
@@ -610,7 +680,7 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.error("{}", e.getMessage());
                 }
-            }, 1, TimeUnit.MILLISECONDS);
+            }
         }
 
         @Override
@@ -627,21 +697,72 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            boolean chunkSent;
+            synchronized (this) {
+                chunkSent = mChunkLength + content.remaining() >= RESPONSE_CHUNK_SIZE;
+                if (chunkSent) {
+                    // Continue reading from openHAB after the chunk has been written to the openHAB Cloud. This
+                    // has to be registered before the chunk is emitted, so it can not miss the end of the write.
+                    onDrain(callback::succeeded);
+                }
+                while (content.hasRemaining()) {
+                    if (mChunk == null) {
+                        mChunk = new byte[RESPONSE_CHUNK_SIZE];
+                    }
+                    int length = Math.min(content.remaining(), mChunk.length - mChunkLength);
+                    content.get(mChunk, mChunkLength, length);
+                    mChunkLength += length;
+                    if (mChunkLength == mChunk.length) {
+                        sendContent();
+                    }
+                }
+                if (mChunkLength > 0 && mFlushJob == null) {
+                    mFlushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(this::flush,
+                            RESPONSE_FLUSH_DELAY, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (!chunkSent) {
+                callback.succeeded();
+            }
+        }
+
+        private synchronized void flush() {
+            mFlushJob = null;
+            sendContent();
+        }
+
+        /**
+         * Emits the content received so far
+         */
+        private void sendContent() {
+            if (mChunkLength == 0) {
+                return;
+            }
+            byte[] body;
+            if (mChunkLength == mChunk.length) {
+                // Socket.IO encodes the message later on its own thread, so a full chunk is handed over as is and
+                // a new buffer is used for the following content
+                body = mChunk;
+                mChunk = null;
+            } else {
+                body = Arrays.copyOf(mChunk, mChunkLength);
+            }
+            mChunkLength = 0;
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
                 socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
+                logger.debug("Sent content of size {} to request {}", body.length, mRequestId);
             } catch (JSONException e) {
                 logger.error("{}", e.getMessage());
             }
         }
 
         @Override
-        public void onHeaders(Response response) {
+        public synchronized void onHeaders(Response response) {
             if (!mHeadersSent) {
                 logger.debug("Jetty finished receiving response header");
                 JSONObject responseJson = new JSONObject();
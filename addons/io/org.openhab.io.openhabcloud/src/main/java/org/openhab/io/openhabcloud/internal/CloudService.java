@@ -24,6 +24,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventFilter;
 import org.eclipse.smarthome.core.events.EventPublisher;
@@ -60,13 +61,16 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_UPDATE_INTERVAL = "itemUpdateInterval";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
+    private static final long DEFAULT_UPDATE_INTERVAL = 500;
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
 
     public static String clientVersion = null;
     private CloudClient cloudClient;
+    private ItemUpdateBatcher itemUpdateBatcher;
     private String cloudBaseUrl = null;
     protected ItemRegistry itemRegistry = null;
     protected EventPublisher eventPublisher = null;
@@ -149,6 +153,9 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     protected void deactivate() {
         logger.debug("openHAB Cloud connector deactivated");
+        if (itemUpdateBatcher != null) {
+            itemUpdateBatcher.shutdown();
+        }
         cloudClient.shutdown();
     }
 
@@ -184,8 +191,22 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        long updateInterval = DEFAULT_UPDATE_INTERVAL;
+        Object intervalCfg = config.get(CFG_UPDATE_INTERVAL);
+        if (intervalCfg != null) {
+            try {
+                updateInterval = intervalCfg instanceof Number ? ((Number) intervalCfg).longValue()
+                        : Long.parseLong(intervalCfg.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid item update interval '{}', using {} ms", intervalCfg, DEFAULT_UPDATE_INTERVAL);
+            }
+        }
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
+        if (itemUpdateBatcher != null) {
+            itemUpdateBatcher.shutdown();
+        }
         if (cloudClient != null) {
             cloudClient.shutdown();
         }
@@ -196,6 +217,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
+        itemUpdateBatcher = new ItemUpdateBatcher(cloudClient,
+                ThreadPoolManager.getScheduledPool(CloudClient.THREADPOOL_OPENHABCLOUD), updateInterval);
         NotificationAction.cloudService = this;
     }
 
@@ -334,7 +357,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     public void receive(Event event) {
         ItemStateEvent ise = (ItemStateEvent) event;
         if (exposedItems != null && exposedItems.contains(ise.getItemName())) {
-            cloudClient.sendItemUpdate(ise.getItemName(), ise.getItemState().toString());
+            itemUpdateBatcher.add(ise.getItemName(), ise.getItemState().toString());
         }
     }
 
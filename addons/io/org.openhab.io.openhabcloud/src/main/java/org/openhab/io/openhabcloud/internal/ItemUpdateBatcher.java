@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects item updates which are to be sent to the openHAB Cloud.
+ * Updates are collected during a configurable interval, only the latest state of
+ * every item is kept and all collected updates are sent to the openHAB Cloud at once.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateBatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateBatcher.class);
+
+    private final CloudClient cloudClient;
+    private final ScheduledExecutorService scheduler;
+    private final long interval;
+
+    /*
+     * This map holds the latest state of every item updated since the last batch was sent
+     */
+    private Map<String, String> pendingUpdates = new LinkedHashMap<>();
+    private ScheduledFuture<?> sendJob;
+
+    /*
+     * Counters for the updates which have been sent, which have been replaced by a later update
+     * of the same item before they were sent, and which could not be sent because there was no
+     * connection to the openHAB Cloud
+     */
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Constructor of ItemUpdateBatcher
+     *
+     * @param cloudClient the client to send the updates with
+     * @param scheduler the scheduler to send the batches with
+     * @param interval time in milliseconds in which updates are collected, 0 sends every update immediately
+     */
+    public ItemUpdateBatcher(CloudClient cloudClient, ScheduledExecutorService scheduler, long interval) {
+        this.cloudClient = cloudClient;
+        this.scheduler = scheduler;
+        this.interval = interval;
+    }
+
+    /**
+     * Adds an item update to the current batch
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public void add(String itemName, String itemState) {
+        if (interval <= 0) {
+            send(itemName, itemState);
+            return;
+        }
+        synchronized (this) {
+            if (pendingUpdates.put(itemName, itemState) != null) {
+                mergedCount.incrementAndGet();
+            }
+            if (sendJob == null) {
+                sendJob = scheduler.schedule(this::sendPendingUpdates, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends the updates collected so far and stops collecting updates
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (sendJob != null) {
+                sendJob.cancel(false);
+            }
+        }
+        sendPendingUpdates();
+        logger.debug("Item updates: {} sent, {} merged, {} dropped", sentCount.get(), mergedCount.get(),
+                droppedCount.get());
+    }
+
+    private void sendPendingUpdates() {
+        Map<String, String> updates;
+        synchronized (this) {
+            sendJob = null;
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            updates = pendingUpdates;
+            pendingUpdates = new LinkedHashMap<>();
+        }
+        logger.debug("Sending {} item updates", updates.size());
+        for (Map.Entry<String, String> update : updates.entrySet()) {
+            send(update.getKey(), update.getValue());
+        }
+        logger.trace("Item updates: {} sent, {} merged, {} dropped", sentCount.get(), mergedCount.get(),
+                droppedCount.get());
+    }
+
+    private void send(String itemName, String itemState) {
+        if (cloudClient.isConnected()) {
+            cloudClient.sendItemUpdate(itemName, itemState);
+            sentCount.incrementAndGet();
+        } else {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of item updates which have been sent to the openHAB Cloud
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * Returns the number of item updates which have been replaced by a later update of the same item
+     */
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    /**
+     * Returns the number of item updates which have not been sent because there was no connection
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
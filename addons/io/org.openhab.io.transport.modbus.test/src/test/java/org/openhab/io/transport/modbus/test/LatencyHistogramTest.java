@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointStatisticsRecorder;
+import org.openhab.io.transport.modbus.internal.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getMeanMillis(), is(equalTo(0.0)));
+        assertThat(histogram.getPercentileMillis(95), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testBucketsAndPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(3);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(150);
+        }
+        // bucket bounds are inclusive
+        histogram.record(200);
+        histogram.record(-5);
+
+        assertThat(histogram.getCount(), is(equalTo(102L)));
+        assertThat(histogram.getTotalMillis(), is(equalTo(90 * 3L + 10 * 150L + 200L)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(200L)));
+        assertThat(histogram.getPercentileMillis(0), is(equalTo(1L)));
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(5L)));
+        assertThat(histogram.getPercentileMillis(95), is(equalTo(200L)));
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(200L)));
+
+        long[] bounds = histogram.getBucketUpperBoundsMillis();
+        long[] counts = histogram.getBucketCounts();
+        assertThat(counts.length, is(equalTo(bounds.length)));
+        assertThat(bounds[bounds.length - 1], is(equalTo(Long.MAX_VALUE)));
+        long sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (bounds[i] == 200) {
+                assertThat(counts[i], is(equalTo(11L)));
+            }
+            sum += counts[i];
+        }
+        assertThat(sum, is(equalTo(102L)));
+    }
+
+    @Test
+    public void testLargeValuesAreLimitedByMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(30000);
+        assertThat(histogram.getPercentileMillis(99), is(equalTo(30000L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getPercentileMillis(101);
+    }
+
+    @Test
+    public void testSnapshotIsNotUpdated() {
+        EndpointStatisticsRecorder recorder = new EndpointStatisticsRecorder(
+                new ModbusTCPSlaveEndpoint("localhost", 502));
+        recorder.recordTransaction(10);
+        recorder.recordRetry();
+        recorder.recordIOError();
+        recorder.recordOperationCompleted(true, 1);
+        ModbusEndpointStatistics snapshot = recorder.snapshot(3);
+
+        recorder.recordTransaction(10);
+        recorder.recordTransactionIdMismatch();
+        recorder.recordOperationCompleted(false, 1);
+
+        assertThat(snapshot.getTransactionLatency().getCount(), is(equalTo(1L)));
+        assertThat(snapshot.getRetryCount(), is(equalTo(1L)));
+        assertThat(snapshot.getIOErrorCount(), is(equalTo(1L)));
+        assertThat(snapshot.getTransactionIdMismatchCount(), is(equalTo(0L)));
+        assertThat(snapshot.getSuccessfulOperationCount(), is(equalTo(1L)));
+        assertThat(snapshot.getFailedOperationCount(), is(equalTo(0L)));
+        assertThat(snapshot.getQueuedOperationCount(), is(equalTo(3)));
+        assertThat(recorder.snapshot(0).getFailedOperationCount(), is(equalTo(1L)));
+    }
+}
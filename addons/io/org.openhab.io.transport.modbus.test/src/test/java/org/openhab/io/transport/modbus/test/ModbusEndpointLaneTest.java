@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointLane;
+
+public class ModbusEndpointLaneTest {
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTasksAreSerializedAndDelayed() throws InterruptedException {
+        ModbusEndpointLane lane = new ModbusEndpointLane(new ModbusTCPSlaveEndpoint("localhost", 502), executor,
+                () -> 50L);
+        int taskCount = 5;
+        CountDownLatch done = new CountDownLatch(taskCount);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        List<Long> startTimes = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            lane.submit(() -> {
+                startTimes.add(System.currentTimeMillis());
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                concurrent.decrementAndGet();
+                done.countDown();
+                return ModbusEndpointLane.DONE;
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(maxConcurrent.get(), is(equalTo(1)));
+        for (int i = 1; i < startTimes.size(); i++) {
+            // allow some slack for timer granularity
+            assertTrue(String.format("Delay between tasks was only %d ms", startTimes.get(i) - startTimes.get(i - 1)),
+                    startTimes.get(i) - startTimes.get(i - 1) >= 45);
+        }
+    }
+
+    @Test
+    public void testRetryIsRescheduledBeforeNextTask() throws InterruptedException {
+        ModbusEndpointLane lane = new ModbusEndpointLane(new ModbusTCPSlaveEndpoint("localhost", 502), executor,
+                () -> 0L);
+        List<String> steps = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicInteger tries = new AtomicInteger();
+        lane.submit(() -> {
+            int tryIndex = tries.incrementAndGet();
+            steps.add("first-" + tryIndex);
+            if (tryIndex < 3) {
+                return 20L;
+            }
+            done.countDown();
+            return ModbusEndpointLane.DONE;
+        });
+        lane.submit(() -> {
+            steps.add("second");
+            done.countDown();
+            return ModbusEndpointLane.DONE;
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(steps.toString(), is(equalTo("[first-1, first-2, first-3, second]")));
+        assertThat(lane.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testExceptionDoesNotStallLane() throws InterruptedException {
+        ModbusEndpointLane lane = new ModbusEndpointLane(new ModbusTCPSlaveEndpoint("localhost", 502), executor,
+                () -> 0L);
+        CountDownLatch done = new CountDownLatch(1);
+        lane.submit(() -> {
+            throw new IllegalStateException("expected in test");
+        });
+        lane.submit(() -> {
+            done.countDown();
+            return ModbusEndpointLane.DONE;
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedMergeDoesNotLoseTasks() throws InterruptedException {
+        ModbusEndpointLane lane = new ModbusEndpointLane(new ModbusTCPSlaveEndpoint("localhost", 502), executor,
+                () -> 0L);
+        List<String> steps = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        // Block the lane so that the tasks below are queued together
+        lane.submit(() -> {
+            try {
+                blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ModbusEndpointLane.DONE;
+        });
+        lane.submit(new ModbusEndpointLane.LaneTask() {
+            @Override
+            public long executeStep() {
+                steps.add("first");
+                done.countDown();
+                return ModbusEndpointLane.DONE;
+            }
+
+            @Override
+            public ModbusEndpointLane.LaneTask mergeWith(Deque<ModbusEndpointLane.LaneTask> queued) {
+                queued.pollFirst();
+                throw new IllegalStateException("expected in test");
+            }
+        });
+        lane.submit(() -> {
+            steps.add("second");
+            done.countDown();
+            return ModbusEndpointLane.DONE;
+        });
+        blocked.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(steps.toString(), is(equalTo("[first, second]")));
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegister;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ReadRequestCoalescer;
+import org.openhab.io.transport.modbus.internal.ReadRequestCoalescer.CoalescedPollTask;
+
+public class ReadRequestCoalescerTest {
+
+    private static class RecordingCallback implements ModbusReadCallback {
+        private List<Object> received = new ArrayList<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.add(registers);
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.add(bits);
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private PollTask task(int unitId, ModbusReadFunctionCode functionCode, int start, int length,
+            ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(unitId, functionCode, start, length, 3), callback);
+    }
+
+    private PollTask registerTask(int start, int length) {
+        return task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, new RecordingCallback());
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingAreMerged() {
+        List<CoalescedPollTask> plan = ReadRequestCoalescer
+                .plan(Arrays.asList(registerTask(10, 5), registerTask(0, 10), registerTask(12, 8)), 0);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(20)));
+        assertThat(plan.get(0).getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGapTolerance() {
+        List<PollTask> tasks = Arrays.asList(registerTask(0, 5), registerTask(8, 2));
+        assertThat(ReadRequestCoalescer.plan(tasks, 2).size(), is(equalTo(2)));
+        List<CoalescedPollTask> plan = ReadRequestCoalescer.plan(tasks, 3);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(10)));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        List<CoalescedPollTask> plan = ReadRequestCoalescer
+                .plan(Arrays.asList(registerTask(0, 100), registerTask(100, 25), registerTask(125, 1)), 0);
+        assertThat(plan.size(), is(equalTo(2)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(plan.get(1).getRequest().getReference(), is(equalTo(125)));
+
+        List<CoalescedPollTask> coilPlan = ReadRequestCoalescer.plan(
+                Arrays.asList(task(1, ModbusReadFunctionCode.READ_COILS, 0, 1500, new RecordingCallback()),
+                        task(1, ModbusReadFunctionCode.READ_COILS, 1500, 500, new RecordingCallback())),
+                0);
+        assertThat(coilPlan.size(), is(equalTo(1)));
+        assertThat(coilPlan.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodesAndUnitsAreNotMerged() {
+        List<CoalescedPollTask> plan = ReadRequestCoalescer.plan(Arrays.asList(registerTask(0, 5),
+                task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 5, new RecordingCallback()),
+                task(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5, new RecordingCallback())), 10);
+        assertThat(plan.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testRegistersAreSlicedToCallbacks() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        List<CoalescedPollTask> plan = ReadRequestCoalescer.plan(
+                Arrays.asList(task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2, callback1),
+                        task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 1, callback2)),
+                1);
+        assertThat(plan.size(), is(equalTo(1)));
+        CoalescedPollTask merged = plan.get(0);
+        ModbusRegister[] registers = new ModbusRegister[4];
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = new BasicModbusRegister((byte) 0, (byte) (i + 2));
+        }
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(registers));
+
+        ModbusRegisterArray slice1 = (ModbusRegisterArray) callback1.received.get(0);
+        assertThat(slice1.size(), is(equalTo(2)));
+        assertThat(slice1.getRegister(0).toUnsignedShort(), is(equalTo(2)));
+        assertThat(slice1.getRegister(1).toUnsignedShort(), is(equalTo(3)));
+        ModbusRegisterArray slice2 = (ModbusRegisterArray) callback2.received.get(0);
+        assertThat(slice2.size(), is(equalTo(1)));
+        assertThat(slice2.getRegister(0).toUnsignedShort(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotAffectOtherMembers() {
+        ModbusReadCallback failing = new RecordingCallback() {
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                throw new IllegalStateException("expected in test");
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                throw new IllegalStateException("expected in test");
+            }
+        };
+        RecordingCallback callback = new RecordingCallback();
+        CoalescedPollTask merged = ReadRequestCoalescer
+                .plan(Arrays.asList(task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 1, failing),
+                        task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 1, callback)), 0)
+                .get(0);
+        merged.getCallback().onRegisters(merged.getRequest(), new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0, (byte) 1),
+                        new BasicModbusRegister((byte) 0, (byte) 2) }));
+        assertThat(callback.received.size(), is(equalTo(1)));
+
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+        assertThat(callback.received.get(1), is(sameInstance(error)));
+    }
+
+    @Test
+    public void testBitsAreSlicedToCallbacksAndErrorsFannedOut() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        List<CoalescedPollTask> plan = ReadRequestCoalescer
+                .plan(Arrays.asList(task(1, ModbusReadFunctionCode.READ_COILS, 0, 2, callback1),
+                        task(1, ModbusReadFunctionCode.READ_COILS, 2, 2, callback2)), 0);
+        CoalescedPollTask merged = plan.get(0);
+        merged.getCallback().onBits(merged.getRequest(), new BasicBitArray(true, false, false, true));
+        assertThat(((BitArray) callback1.received.get(0)).toBinaryString(), is(equalTo("10")));
+        assertThat(((BitArray) callback2.received.get(0)).toBinaryString(), is(equalTo("01")));
+
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+        assertThat(callback1.received.get(1), is(sameInstance(error)));
+        assertThat(callback2.received.get(1), is(sameInstance(error)));
+    }
+}
@@ -12,7 +12,11 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 import static org.junit.Assume.assumeFalse;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -291,6 +295,49 @@ public class SmokeTest extends IntegrationTestSupport {
         testCoilValues(bits, 1);
     }
 
+    /**
+     * One-off tasks are executed in submission order, and the returned future is done after the callback. Cancelled
+     * task is not executed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOneOffReadsInSubmissionOrderAndCancel() throws Exception {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+
+        List<Integer> callbackOrder = new CopyOnWriteArrayList<>();
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[3];
+        for (int i = 0; i < futures.length; i++) {
+            int index = i;
+            futures[i] = modbusManager.submitOneTimePoll(new BasicPollTaskImpl(endpoint,
+                    new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID, ModbusReadFunctionCode.READ_COILS, 1, 15, 1),
+                    new ModbusReadCallback() {
+
+                        @Override
+                        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                            callbackOrder.add(-1);
+                        }
+
+                        @Override
+                        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                            callbackOrder.add(-1);
+                        }
+
+                        @Override
+                        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                            callbackOrder.add(index);
+                        }
+                    }));
+        }
+        assertTrue(futures[1].cancel(false));
+
+        futures[2].get(5, TimeUnit.SECONDS);
+        assertTrue(futures[0].isDone());
+        assertTrue(futures[1].isCancelled());
+        assertThat(callbackOrder, is(equalTo(Arrays.asList(0, 2))));
+    }
+
     /**
      *
      * @throws InterruptedException
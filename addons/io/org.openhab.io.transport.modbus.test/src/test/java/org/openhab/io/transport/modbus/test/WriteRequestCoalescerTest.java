@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicWriteTask;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteFunctionCode;
+import org.openhab.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.WriteRequestCoalescer;
+import org.openhab.io.transport.modbus.internal.WriteRequestCoalescer.CoalescedWriteTask;
+
+public class WriteRequestCoalescerTest {
+
+    private static class RecordingCallback implements ModbusWriteCallback {
+        private List<Object> received = new ArrayList<>();
+        private List<ModbusWriteRequestBlueprint> requests = new ArrayList<>();
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            requests.add(request);
+            received.add(response);
+        }
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            requests.add(request);
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+
+    private WriteTask registerTask(int unitId, int reference, ModbusWriteCallback callback, int... values) {
+        return new BasicWriteTask(endpoint, new BasicModbusWriteRegisterRequestBlueprint(unitId, reference,
+                new BasicModbusRegisterArray(values), values.length > 1, 3), callback);
+    }
+
+    private WriteTask registerTask(int reference, int... values) {
+        return registerTask(1, reference, new RecordingCallback(), values);
+    }
+
+    private WriteTask coilTask(int reference, boolean... bits) {
+        return new BasicWriteTask(endpoint, new BasicModbusWriteCoilRequestBlueprint(1, reference,
+                new BasicBitArray(bits), bits.length > 1, 3), new RecordingCallback());
+    }
+
+    private static String registerValues(CoalescedWriteTask task) {
+        StringBuilder builder = new StringBuilder();
+        ModbusWriteRegisterRequestBlueprint request = (ModbusWriteRegisterRequestBlueprint) task.getRequest();
+        for (int i = 0; i < request.getRegisters().size(); i++) {
+            builder.append(i == 0 ? "" : ",").append(request.getRegisters().getRegister(i).toUnsignedShort());
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testContiguousSingleWritesAreMerged() {
+        List<CoalescedWriteTask> plan = WriteRequestCoalescer
+                .plan(Arrays.asList(registerTask(11, 2), registerTask(10, 1), registerTask(12, 3, 4)));
+        assertThat(plan.size(), is(equalTo(1)));
+        CoalescedWriteTask merged = plan.get(0);
+        assertThat(merged.getRequest().getReference(), is(equalTo(10)));
+        assertThat(merged.getRequest().getFunctionCode(),
+                is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_REGISTERS)));
+        assertThat(registerValues(merged), is(equalTo("1,2,3,4")));
+        assertThat(merged.getMembers().size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testSupersededWritesAreDropped() {
+        List<CoalescedWriteTask> plan = WriteRequestCoalescer
+                .plan(Arrays.asList(registerTask(5, 1), registerTask(5, 2), registerTask(6, 7), registerTask(5, 3)));
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(registerValues(plan.get(0)), is(equalTo("3,7")));
+        assertThat(plan.get(0).getMembers().size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testGapsAndUnitsAreNotMerged() {
+        List<CoalescedWriteTask> plan = WriteRequestCoalescer.plan(Arrays.asList(registerTask(0, 1),
+                registerTask(2, 1), registerTask(2, 0, new RecordingCallback(), 1)));
+        assertThat(plan.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testSubmissionOrderIsPreserved() {
+        int[] many = new int[WriteRequestCoalescer.MAX_REGISTERS_PER_WRITE];
+        List<CoalescedWriteTask> plan = WriteRequestCoalescer
+                .plan(Arrays.asList(registerTask(0, many), registerTask(100, many), registerTask(0, many)));
+        // Third write cannot be merged with the first one, since the second write (executed in between) overwrites
+        // some of the same registers
+        assertThat(plan.size(), is(equalTo(3)));
+        assertThat(plan.get(1).getRequest().getReference(), is(equalTo(100)));
+        assertThat(plan.get(2).getRequest().getReference(), is(equalTo(0)));
+
+        // Non-overlapping write is not merged with the earlier write either, since it would be executed before the
+        // write submitted in between
+        plan = WriteRequestCoalescer
+                .plan(Arrays.asList(registerTask(0, many), registerTask(200, 1), registerTask(0, 1)));
+        assertThat(plan.size(), is(equalTo(3)));
+        assertThat(plan.get(1).getRequest().getReference(), is(equalTo(200)));
+
+        // Writes of other unit ids are not moved either
+        plan = WriteRequestCoalescer.plan(Arrays.asList(registerTask(0, 1),
+                registerTask(2, 5, new RecordingCallback(), 9), registerTask(1, 2)));
+        assertThat(plan.size(), is(equalTo(3)));
+        assertThat(plan.get(1).getRequest().getUnitID(), is(equalTo(2)));
+    }
+
+    @Test
+    public void testRegisterWriteIsNotMovedBeforeCoilWrite() {
+        // e.g. set a parameter, trigger with a coil, and set the parameter next to it
+        List<CoalescedWriteTask> plan = WriteRequestCoalescer
+                .plan(Arrays.asList(registerTask(10, 1), coilTask(0, true), registerTask(11, 2)));
+        assertThat(plan.size(), is(equalTo(3)));
+        assertThat(plan.get(0).getRequest().getReference(), is(equalTo(10)));
+        assertThat(plan.get(1).getRequest(), is(instanceOf(ModbusWriteCoilRequestBlueprint.class)));
+        assertThat(plan.get(2).getRequest().getReference(), is(equalTo(11)));
+    }
+
+    @Test
+    public void testCoilsAreMerged() {
+        List<CoalescedWriteTask> plan = WriteRequestCoalescer.plan(
+                Arrays.asList(coilTask(3, true), coilTask(4, false), coilTask(5, true, true), registerTask(4, 1)));
+        assertThat(plan.size(), is(equalTo(2)));
+        ModbusWriteCoilRequestBlueprint coils = (ModbusWriteCoilRequestBlueprint) plan.get(0).getRequest();
+        assertThat(coils.getFunctionCode(), is(equalTo(ModbusWriteFunctionCode.WRITE_MULTIPLE_COILS)));
+        assertThat(coils.getReference(), is(equalTo(3)));
+        assertThat(coils.getCoils().toBinaryString(), is(equalTo("1011")));
+    }
+
+    @Test
+    public void testEveryCallbackIsAcknowledgedWithOriginalRequest() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        WriteTask task1 = registerTask(1, 0, callback1, 1);
+        WriteTask task2 = registerTask(1, 0, callback2, 2);
+        CoalescedWriteTask merged = WriteRequestCoalescer.plan(Arrays.asList(task1, task2)).get(0);
+        ModbusResponse response = () -> 16;
+        merged.getCallback().onWriteResponse(merged.getRequest(), response);
+        assertThat(callback1.received.get(0), is(sameInstance(response)));
+        assertThat(callback1.requests.get(0), is(sameInstance(task1.getRequest())));
+        assertThat(callback2.received.get(0), is(sameInstance(response)));
+        assertThat(callback2.requests.get(0), is(sameInstance(task2.getRequest())));
+
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+        assertThat(callback1.received.get(1), is(sameInstance(error)));
+        assertThat(callback2.received.get(1), is(sameInstance(error)));
+    }
+
+    @Test
+    public void testFailingCallbackDoesNotAffectOtherMembers() {
+        ModbusWriteCallback failing = new ModbusWriteCallback() {
+            @Override
+            public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                throw new IllegalStateException("expected in test");
+            }
+
+            @Override
+            public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                throw new IllegalStateException("expected in test");
+            }
+        };
+        RecordingCallback callback = new RecordingCallback();
+        CoalescedWriteTask merged = WriteRequestCoalescer
+                .plan(Arrays.asList(registerTask(1, 0, failing, 1), registerTask(1, 1, callback, 2))).get(0);
+        ModbusResponse response = () -> 16;
+        merged.getCallback().onWriteResponse(merged.getRequest(), response);
+        assertThat(callback.received.get(0), is(sameInstance(response)));
+
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+        assertThat(callback.received.get(1), is(sameInstance(error)));
+    }
+}
@@ -10,8 +10,6 @@ package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -31,6 +29,16 @@ import org.eclipse.smarthome.core.types.Command;
 @NonNullByDefault
 public class ModbusBitUtilities {
 
+    private static final int CACHED_STATES_MIN = -128;
+    private static final int CACHED_STATES_MAX = 1023;
+    private static final DecimalType[] CACHED_STATES = new DecimalType[CACHED_STATES_MAX - CACHED_STATES_MIN + 1];
+
+    static {
+        for (int i = 0; i < CACHED_STATES.length; i++) {
+            CACHED_STATES[i] = new DecimalType((long) (i + CACHED_STATES_MIN));
+        }
+    }
+
     /**
      * Read data from registers and convert the result to DecimalType
      * Interpretation of <tt>index</tt> goes as follows depending on type
@@ -94,102 +102,157 @@ public class ModbusBitUtilities {
      */
     public static DecimalType extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
-        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
-        // each register has 16 bits
-        int lastValidIndex = registers.size() * 16 - 1;
-        if (endBitIndex > lastValidIndex || index < 0) {
-            throw new IllegalArgumentException(
-                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
-                            registers.size()));
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return new DecimalType(extractFloatFromRegisters(registers, index, type));
+            case UINT64:
+            case UINT64_SWAP: {
+                long value = extractLongFromRegisters(registers, index, type);
+                if (value >= 0) {
+                    return toDecimalType(value);
+                }
+                // Does not fit to signed long, value is between 2^63 and 2^64-1
+                return new DecimalType(new BigDecimal(BigInteger.valueOf(value & Long.MAX_VALUE).setBit(63)));
+            }
+            default:
+                return toDecimalType(extractLongFromRegisters(registers, index, type));
         }
+    }
+
+    /**
+     * Read data from registers and convert the result to primitive long, without allocating intermediate objects.
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}.
+     *
+     * Note that with <tt>UINT64</tt> and <tt>UINT64_SWAP</tt> the returned value has the same bits as the unsigned
+     * 64bit integer, and values greater or equal to 2^63 are thus returned as negative numbers. Use e.g.
+     * {@link Long#toUnsignedString(long)} to interpret these.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type, must be an integer type
+     * @return value of the integer
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or type is not an integer
+     *             type
+     */
+    public static long extractLongFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
         switch (type) {
             case BIT:
-                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+                return (registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1;
             case INT8:
-                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+                return (byte) (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2)));
             case UINT8:
-                return new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
-            }
+                return (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getRegister(index).toUnsignedShort();
             case UINT16:
-                return new DecimalType(registers.getRegister(index).toUnsignedShort());
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
+                return registers.getRegister(index).toUnsignedShort();
+            case INT32:
+                return registersToInt(registers, index, index + 1);
+            case UINT32:
+                return registersToInt(registers, index, index + 1) & 0xffffffffL;
+            case INT64:
+            case UINT64:
+                return registersToLong(registers, index, index + 1, index + 2, index + 3);
+            case INT32_SWAP:
+                return registersToInt(registers, index + 1, index);
+            case UINT32_SWAP:
+                return registersToInt(registers, index + 1, index) & 0xffffffffL;
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return registersToLong(registers, index + 3, index + 2, index + 1, index);
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Type %s is not an integer type", type.getConfigValue()));
+        }
+    }
+
+    /**
+     * Read data from registers and convert the result to primitive double, without allocating intermediate objects.
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}.
+     *
+     * Note that 64bit integers cannot be represented exactly with double when their magnitude exceeds 2^53.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return value as double
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static double extractDoubleFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return extractFloatFromRegisters(registers, index, type);
+            case UINT64:
             case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array())));
+                long value = extractLongFromRegisters(registers, index, type);
+                // unsigned interpretation of the bits
+                return value >= 0 ? value : (double) ((value >>> 1) | (value & 1)) * 2.0;
             }
             default:
-                throw new IllegalArgumentException(type.getConfigValue());
+                return extractLongFromRegisters(registers, index, type);
+        }
+    }
+
+    private static float extractFloatFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
+        switch (type) {
+            case FLOAT32:
+                return Float.intBitsToFloat(registersToInt(registers, index, index + 1));
+            case FLOAT32_SWAP:
+                return Float.intBitsToFloat(registersToInt(registers, index + 1, index));
+            default:
+                throw new IllegalArgumentException(String.format("Type %s is not a float type", type.getConfigValue()));
+        }
+    }
+
+    private static void checkBounds(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+    }
+
+    private static int registersToInt(ModbusRegisterArray registers, int hiIndex, int loIndex) {
+        return (registers.getRegister(hiIndex).toUnsignedShort() << 16)
+                | registers.getRegister(loIndex).toUnsignedShort();
+    }
+
+    private static long registersToLong(ModbusRegisterArray registers, int index0, int index1, int index2,
+            int index3) {
+        return ((long) registers.getRegister(index0).toUnsignedShort() << 48)
+                | ((long) registers.getRegister(index1).toUnsignedShort() << 32)
+                | ((long) registers.getRegister(index2).toUnsignedShort() << 16)
+                | registers.getRegister(index3).toUnsignedShort();
+    }
+
+    /**
+     * Convert long to DecimalType, using cached instances for small values.
+     *
+     * DecimalType is immutable, and thus the same instance can be shared. Small values are very common (e.g. bits,
+     * bytes, status codes), and caching avoids allocation of DecimalType and BigDecimal with each poll.
+     *
+     * @param value value to convert
+     * @return DecimalType representing the value
+     */
+    public static DecimalType toDecimalType(long value) {
+        if (value >= CACHED_STATES_MIN && value <= CACHED_STATES_MAX) {
+            return CACHED_STATES[(int) (value - CACHED_STATES_MIN)];
         }
+        return new DecimalType(value);
     }
 
     /**
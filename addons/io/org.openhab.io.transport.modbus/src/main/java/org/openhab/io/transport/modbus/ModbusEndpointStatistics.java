@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Snapshot of the statistics collected from operations executed with a single endpoint.
+ *
+ * Counters are cumulative since the activation of the {@link ModbusManager}. Rates can be calculated by comparing two
+ * snapshots.
+ *
+ * An operation refers to single read or write task, executed with one or more transactions (tries).
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusEndpointStatistics {
+
+    /**
+     * Get the endpoint these statistics relate to
+     *
+     * @return endpoint
+     */
+    public ModbusSlaveEndpoint getEndpoint();
+
+    /**
+     * Get number of operations completed successfully
+     *
+     * @return number of successful operations
+     */
+    public long getSuccessfulOperationCount();
+
+    /**
+     * Get number of operations that failed, i.e. the error callback was called
+     *
+     * @return number of failed operations
+     */
+    public long getFailedOperationCount();
+
+    /**
+     * Get number of retries, i.e. transactions that failed but were tried again
+     *
+     * @return number of retries
+     */
+    public long getRetryCount();
+
+    /**
+     * Get number of times the connection to the endpoint could not be established
+     *
+     * @return number of connection errors
+     */
+    public long getConnectionErrorCount();
+
+    /**
+     * Get number of transactions that failed due to I/O error, e.g. timeout
+     *
+     * @return number of I/O errors
+     */
+    public long getIOErrorCount();
+
+    /**
+     * Get number of transactions where slave responded with MODBUS exception response
+     *
+     * @return number of slave exception responses
+     */
+    public long getSlaveErrorResponseCount();
+
+    /**
+     * Get number of transactions where transaction id of the response did not match the request
+     *
+     * @return number of transaction id mismatches
+     */
+    public long getTransactionIdMismatchCount();
+
+    /**
+     * Get number of operations currently queued with the endpoint, including the operation being executed
+     *
+     * @return number of queued operations
+     */
+    public int getQueuedOperationCount();
+
+    /**
+     * Get distribution of transaction durations. Every try is measured, including failed ones.
+     *
+     * @return transaction latency histogram
+     */
+    public ModbusLatencyHistogram getTransactionLatency();
+
+    /**
+     * Get distribution of the time spent waiting for a connection from the connection pool, including the time to
+     * establish new connection.
+     *
+     * @return connection borrow latency histogram
+     */
+    public ModbusLatencyHistogram getConnectionBorrowLatency();
+
+    /**
+     * Get distribution of the time operations waited in the queue of the endpoint before execution started
+     *
+     * @return queue wait histogram
+     */
+    public ModbusLatencyHistogram getQueueWaitLatency();
+
+    /**
+     * Get distribution of the time spent executing callbacks of the operations
+     *
+     * @return callback latency histogram
+     */
+    public ModbusLatencyHistogram getCallbackLatency();
+
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Histogram of measured durations, in milliseconds.
+ *
+ * Durations are counted in buckets with fixed upper bounds. Each bucket counts the durations that are greater than the
+ * upper bound of the previous bucket, and less than or equal to the upper bound of the bucket itself. The upper bound
+ * of the last bucket is {@link Long#MAX_VALUE}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusLatencyHistogram {
+
+    /**
+     * Get (inclusive) upper bounds of the buckets, in ascending order
+     *
+     * @return upper bounds of the buckets in milliseconds
+     */
+    public long[] getBucketUpperBoundsMillis();
+
+    /**
+     * Get number of measurements in each bucket. The array is aligned with {@link #getBucketUpperBoundsMillis()}
+     *
+     * @return number of measurements in each bucket
+     */
+    public long[] getBucketCounts();
+
+    /**
+     * Get total number of measurements
+     *
+     * @return number of measurements
+     */
+    public long getCount();
+
+    /**
+     * Get sum of all measurements
+     *
+     * @return sum of measured durations in milliseconds
+     */
+    public long getTotalMillis();
+
+    /**
+     * Get largest measurement
+     *
+     * @return largest measured duration in milliseconds, or 0 if there are no measurements
+     */
+    public long getMaxMillis();
+
+    /**
+     * Get mean of the measurements
+     *
+     * @return mean duration in milliseconds, or 0 if there are no measurements
+     */
+    public double getMeanMillis();
+
+    /**
+     * Get estimate of the given percentile.
+     *
+     * The estimate is the upper bound of the bucket containing the percentile, limited by the largest measurement.
+     *
+     * @param percentile percentile to estimate, between 0 and 100
+     * @return estimate of the percentile in milliseconds, or 0 if there are no measurements
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getPercentileMillis(double percentile);
+
+}
@@ -28,8 +28,11 @@ public interface ModbusManager {
      * Submit one-time poll task. The method returns immediately, and the execution of the poll task will happen in
      * background.
      *
+     * Tasks of the same endpoint are executed one at a time, in submission order.
+     *
      * @param task
-     * @return future representing the polled task
+     * @return future which is done when the execution of the task has ended, i.e. the callback has been called or the
+     *         task was aborted. Cancelling the future prevents the execution, unless the task has already started.
      */
     public ScheduledFuture<?> submitOneTimePoll(PollTask task);
 
@@ -55,8 +58,13 @@ public interface ModbusManager {
      * Submit one-time write task. The method returns immediately, and the execution of the task will happen in
      * background.
      *
+     * Tasks of the same endpoint are executed one at a time, in submission order. When write coalescing is enabled
+     * with the endpoint (see {@link EndpointPoolConfiguration#isWriteCoalescing()}), consecutive writes may be merged
+     * into a single transaction. The callback is called for every task nevertheless.
+     *
      * @param task
-     * @return future representing the task
+     * @return future which is done when the execution of the task has ended, i.e. the callback has been called or the
+     *         task was aborted. Cancelling the future prevents the execution, unless the task has already started.
      */
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task);
 
@@ -100,4 +108,22 @@ public interface ModbusManager {
      */
     public Set<PollTask> getRegisteredRegularPolls();
 
+    /**
+     * Get statistics of the operations executed with the given endpoint
+     *
+     * The statistics are collected always, regardless of logging configuration. Statistics of an endpoint without
+     * any executed operations are all zeros.
+     *
+     * @param endpoint endpoint to query
+     * @return snapshot of the statistics
+     */
+    public ModbusEndpointStatistics getEndpointStatistics(ModbusSlaveEndpoint endpoint);
+
+    /**
+     * Get number of tasks waiting in the queue of the executor shared by all endpoints
+     *
+     * @return number of queued tasks, or -1 if the size of the queue is not known
+     */
+    public int getExecutorQueueSize();
+
 }
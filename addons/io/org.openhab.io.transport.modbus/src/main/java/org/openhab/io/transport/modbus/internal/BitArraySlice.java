@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BitArray;
+
+/**
+ * BitArray implementation which is a view to a sub-range of another {@link BitArray}
+ *
+ * No data is copied.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BitArraySlice implements BitArray {
+
+    private final BitArray wrapped;
+    private final int offset;
+    private final int size;
+
+    /**
+     *
+     * @param wrapped wrapped data
+     * @param offset index of the wrapped data corresponding to index 0 of this slice
+     * @param size number of bits in this slice
+     * @throws IndexOutOfBoundsException when the slice would extend beyond the wrapped data
+     */
+    public BitArraySlice(BitArray wrapped, int offset, int size) {
+        if (offset < 0 || size < 0 || offset + size > wrapped.size()) {
+            throw new IndexOutOfBoundsException(String.format("Slice (offset=%d, size=%d) out of bounds (size=%d)",
+                    offset, size, wrapped.size()));
+        }
+        this.wrapped = wrapped;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public boolean getBit(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return wrapped.getBit(offset + index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("BitArraySlice(bits=").append(size == 0 ? "<empty>" : toBinaryString()).append(")")
+                .toString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return sizeAndValuesEquals(obj);
+    }
+
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Collects statistics of operations executed with a single endpoint.
+ *
+ * Recording is thread-safe and cheap enough to be done for every transaction.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointStatisticsRecorder {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Immutable snapshot of the statistics
+     *
+     * @author agent - Initial contribution
+     */
+    private static class Snapshot implements ModbusEndpointStatistics {
+
+        private final ModbusSlaveEndpoint endpoint;
+        private final long successfulOperations;
+        private final long failedOperations;
+        private final long retries;
+        private final long connectionErrors;
+        private final long ioErrors;
+        private final long slaveErrorResponses;
+        private final long transactionIdMismatches;
+        private final int queuedOperations;
+        private final ModbusLatencyHistogram transactionLatency;
+        private final ModbusLatencyHistogram connectionBorrowLatency;
+        private final ModbusLatencyHistogram queueWaitLatency;
+        private final ModbusLatencyHistogram callbackLatency;
+
+        private Snapshot(EndpointStatisticsRecorder recorder, int queuedOperations) {
+            this.endpoint = recorder.endpoint;
+            this.successfulOperations = recorder.successfulOperations.sum();
+            this.failedOperations = recorder.failedOperations.sum();
+            this.retries = recorder.retries.sum();
+            this.connectionErrors = recorder.connectionErrors.sum();
+            this.ioErrors = recorder.ioErrors.sum();
+            this.slaveErrorResponses = recorder.slaveErrorResponses.sum();
+            this.transactionIdMismatches = recorder.transactionIdMismatches.sum();
+            this.queuedOperations = queuedOperations;
+            this.transactionLatency = recorder.transactionLatency.snapshot();
+            this.connectionBorrowLatency = recorder.connectionBorrowLatency.snapshot();
+            this.queueWaitLatency = recorder.queueWaitLatency.snapshot();
+            this.callbackLatency = recorder.callbackLatency.snapshot();
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public long getSuccessfulOperationCount() {
+            return successfulOperations;
+        }
+
+        @Override
+        public long getFailedOperationCount() {
+            return failedOperations;
+        }
+
+        @Override
+        public long getRetryCount() {
+            return retries;
+        }
+
+        @Override
+        public long getConnectionErrorCount() {
+            return connectionErrors;
+        }
+
+        @Override
+        public long getIOErrorCount() {
+            return ioErrors;
+        }
+
+        @Override
+        public long getSlaveErrorResponseCount() {
+            return slaveErrorResponses;
+        }
+
+        @Override
+        public long getTransactionIdMismatchCount() {
+            return transactionIdMismatches;
+        }
+
+        @Override
+        public int getQueuedOperationCount() {
+            return queuedOperations;
+        }
+
+        @Override
+        public ModbusLatencyHistogram getTransactionLatency() {
+            return transactionLatency;
+        }
+
+        @Override
+        public ModbusLatencyHistogram getConnectionBorrowLatency() {
+            return connectionBorrowLatency;
+        }
+
+        @Override
+        public ModbusLatencyHistogram getQueueWaitLatency() {
+            return queueWaitLatency;
+        }
+
+        @Override
+        public ModbusLatencyHistogram getCallbackLatency() {
+            return callbackLatency;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, toStringStyle).append("endpoint", endpoint)
+                    .append("successfulOperations", successfulOperations).append("failedOperations", failedOperations)
+                    .append("retries", retries).append("connectionErrors", connectionErrors)
+                    .append("ioErrors", ioErrors).append("slaveErrorResponses", slaveErrorResponses)
+                    .append("transactionIdMismatches", transactionIdMismatches)
+                    .append("queuedOperations", queuedOperations).append("transactionLatency", transactionLatency)
+                    .append("connectionBorrowLatency", connectionBorrowLatency)
+                    .append("queueWaitLatency", queueWaitLatency).append("callbackLatency", callbackLatency)
+                    .toString();
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final LongAdder successfulOperations = new LongAdder();
+    private final LongAdder failedOperations = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder connectionErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder slaveErrorResponses = new LongAdder();
+    private final LongAdder transactionIdMismatches = new LongAdder();
+    private final LatencyHistogram transactionLatency = new LatencyHistogram();
+    private final LatencyHistogram connectionBorrowLatency = new LatencyHistogram();
+    private final LatencyHistogram queueWaitLatency = new LatencyHistogram();
+    private final LatencyHistogram callbackLatency = new LatencyHistogram();
+
+    public EndpointStatisticsRecorder(ModbusSlaveEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Record completion of an operation
+     *
+     * @param success whether the operation succeeded
+     * @param callbackMillis time spent in callbacks of the operation
+     */
+    public void recordOperationCompleted(boolean success, long callbackMillis) {
+        (success ? successfulOperations : failedOperations).increment();
+        callbackLatency.record(callbackMillis);
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordConnectionError() {
+        connectionErrors.increment();
+    }
+
+    public void recordIOError() {
+        ioErrors.increment();
+    }
+
+    public void recordSlaveErrorResponse() {
+        slaveErrorResponses.increment();
+    }
+
+    public void recordTransactionIdMismatch() {
+        transactionIdMismatches.increment();
+    }
+
+    public void recordTransaction(long millis) {
+        transactionLatency.record(millis);
+    }
+
+    public void recordConnectionBorrow(long millis) {
+        connectionBorrowLatency.record(millis);
+    }
+
+    public void recordQueueWait(long millis) {
+        queueWaitLatency.record(millis);
+    }
+
+    /**
+     * Take snapshot of the statistics
+     *
+     * @param queuedOperations number of operations currently queued with the endpoint
+     * @return immutable snapshot of the statistics
+     */
+    public ModbusEndpointStatistics snapshot(int queuedOperations) {
+        return new Snapshot(this, queuedOperations);
+    }
+}
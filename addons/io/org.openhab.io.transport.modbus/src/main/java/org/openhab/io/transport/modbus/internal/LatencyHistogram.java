@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+
+/**
+ * Thread-safe {@link ModbusLatencyHistogram} with fixed buckets
+ *
+ * Buckets follow 1-2-5 series, from 1 ms up to 10 seconds. Longer durations are counted in the last bucket.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LatencyHistogram implements ModbusLatencyHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000,
+            Long.MAX_VALUE };
+
+    private final long[] counts;
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+
+    public LatencyHistogram() {
+        counts = new long[BUCKET_UPPER_BOUNDS.length];
+    }
+
+    private LatencyHistogram(LatencyHistogram other) {
+        counts = other.counts.clone();
+        count = other.count;
+        totalMillis = other.totalMillis;
+        maxMillis = other.maxMillis;
+    }
+
+    /**
+     * Record single measurement. Negative values (e.g. due to clock adjustments) are counted as zero.
+     *
+     * @param millis measured duration in milliseconds
+     */
+    public synchronized void record(long millis) {
+        long value = Math.max(0, millis);
+        int index = Arrays.binarySearch(BUCKET_UPPER_BOUNDS, value);
+        counts[index >= 0 ? index : -index - 1]++;
+        count++;
+        totalMillis += value;
+        maxMillis = Math.max(maxMillis, value);
+    }
+
+    /**
+     * Get immutable copy of this histogram
+     *
+     * @return copy of this histogram
+     */
+    public synchronized LatencyHistogram snapshot() {
+        return new LatencyHistogram(this);
+    }
+
+    @Override
+    public long[] getBucketUpperBoundsMillis() {
+        return BUCKET_UPPER_BOUNDS.clone();
+    }
+
+    @Override
+    public synchronized long[] getBucketCounts() {
+        return counts.clone();
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return count;
+    }
+
+    @Override
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    @Override
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    @Override
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : (double) totalMillis / count;
+    }
+
+    @Override
+    public synchronized long getPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS[i], maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringBuilder("LatencyHistogram [count=").append(count).append(", mean=")
+                .append(String.format("%.1f", getMeanMillis())).append(", p95=").append(getPercentileMillis(95))
+                .append(", max=").append(maxMillis).append("]").toString();
+    }
+}
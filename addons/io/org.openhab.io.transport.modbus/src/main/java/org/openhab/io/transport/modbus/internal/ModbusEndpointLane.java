@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serialized execution lane for a single endpoint
+ *
+ * Tasks submitted to the lane are executed one at a time, in submission order, using the shared scheduled executor.
+ * Delays between transactions (and between retries of a single task) are implemented by rescheduling the lane on the
+ * executor, instead of sleeping in the executor thread. This way threads of the shared pool are never parked waiting
+ * for a slow endpoint, and the throughput scales with the number of endpoints instead of number of threads.
+ *
+ * At most one step of this lane is scheduled or executing at any given time.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointLane {
+
+    /**
+     * Value returned by {@link LaneTask#executeStep()} to indicate that the task has completed.
+     */
+    public static final long DONE = -1L;
+
+    /**
+     * Task executed in the lane, possibly in several steps
+     *
+     * @author agent - Initial contribution
+     */
+    @FunctionalInterface
+    public interface LaneTask {
+
+        /**
+         * Execute single step of the task, e.g. one try of the transaction.
+         *
+         * The implementation should not block waiting for time to pass. Instead, the implementation should return
+         * the time to wait before the task should be continued.
+         *
+         * @return {@link ModbusEndpointLane#DONE} when the task is complete, otherwise the minimum number of
+         *         milliseconds to wait before the next step of this task is executed
+         */
+        public long executeStep();
+
+        /**
+         * Called when this task is about to be started. The implementation may merge other tasks waiting in the
+         * queue with this task, by removing them from the queue.
+         *
+         * @param queued tasks waiting in the queue. Tasks can be removed or added to the head of the queue.
+         * @return task to execute in place of this task
+         */
+        public default LaneTask mergeWith(Deque<LaneTask> queued) {
+            return this;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusEndpointLane.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ScheduledExecutorService executor;
+    private final LongSupplier interTransactionDelayMillis;
+
+    /**
+     * Tasks waiting for execution. Guarded by this
+     */
+    private final Deque<LaneTask> queue = new ArrayDeque<>();
+
+    /**
+     * Task that has started execution but is not yet completed, e.g. waiting for retry. Guarded by this
+     */
+    private @Nullable LaneTask current;
+
+    /**
+     * Whether next step has been scheduled or is currently executing. Guarded by this
+     */
+    private boolean scheduled;
+
+    /**
+     * Earliest time (in millis) when the next step can be executed. Guarded by this
+     */
+    private long notBeforeMillis;
+
+    /**
+     *
+     * @param endpoint endpoint which this lane serves
+     * @param executor executor used for running the steps
+     * @param interTransactionDelayMillis supplier for minimum delay between transactions with the endpoint
+     */
+    public ModbusEndpointLane(ModbusSlaveEndpoint endpoint, ScheduledExecutorService executor,
+            LongSupplier interTransactionDelayMillis) {
+        this.endpoint = endpoint;
+        this.executor = executor;
+        this.interTransactionDelayMillis = interTransactionDelayMillis;
+    }
+
+    /**
+     * Submit task for execution. The method returns immediately.
+     *
+     * @param task task to execute
+     */
+    public void submit(LaneTask task) {
+        synchronized (this) {
+            queue.addLast(task);
+            scheduleNextStepIfNeeded();
+        }
+    }
+
+    /**
+     * Number of tasks waiting in the lane, including the task currently being executed
+     *
+     * @return number of tasks
+     */
+    public synchronized int size() {
+        return queue.size() + (current == null ? 0 : 1);
+    }
+
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Schedule next step in case there is work to do and nothing has been scheduled yet. Must be called while holding
+     * the lock
+     */
+    private void scheduleNextStepIfNeeded() {
+        if (scheduled || (current == null && queue.isEmpty())) {
+            return;
+        }
+        long delay = Math.max(0, notBeforeMillis - System.currentTimeMillis());
+        try {
+            executor.schedule(this::runStep, delay, TimeUnit.MILLISECONDS);
+            scheduled = true;
+        } catch (RejectedExecutionException e) {
+            logger.warn("Could not schedule next operation with endpoint {}: {}. Discarding {} queued operations.",
+                    endpoint, e.getMessage(), size());
+            queue.clear();
+            current = null;
+        }
+    }
+
+    private void runStep() {
+        LaneTask task;
+        synchronized (this) {
+            if (current == null) {
+                LaneTask next = queue.pollFirst();
+                if (next != null) {
+                    Deque<LaneTask> unmerged = new ArrayDeque<>(queue);
+                    try {
+                        next = next.mergeWith(queue);
+                    } catch (RuntimeException e) {
+                        logger.error(
+                                "Unexpected error when merging operations with endpoint {}. Executing the operations without merging.",
+                                endpoint, e);
+                        // Restore tasks the merge might have removed already, so that they are not lost
+                        queue.clear();
+                        queue.addAll(unmerged);
+                    }
+                }
+                current = next;
+            }
+            task = current;
+            if (task == null) {
+                scheduled = false;
+                return;
+            }
+        }
+        long result = DONE;
+        try {
+            result = task.executeStep();
+        } catch (RuntimeException e) {
+            logger.error("Unexpected error when executing operation with endpoint {}. Aborting the operation.",
+                    endpoint, e);
+            result = DONE;
+        } finally {
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                notBeforeMillis = now + Math.max(0, interTransactionDelayMillis.getAsLong());
+                if (result == DONE) {
+                    current = null;
+                } else {
+                    notBeforeMillis = Math.max(notBeforeMillis, now + result);
+                }
+                scheduled = false;
+                scheduleNextStepIfNeeded();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ModbusEndpointLane [endpoint=").append(endpoint).append(", size=").append(size())
+                .append("]").toString();
+    }
+}
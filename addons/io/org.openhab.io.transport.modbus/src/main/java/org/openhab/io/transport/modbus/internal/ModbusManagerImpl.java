@@ -9,18 +9,26 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.imageio.IIOException;
 
@@ -33,6 +41,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -50,6 +59,8 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ReadRequestCoalescer.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.WriteRequestCoalescer.CoalescedWriteTask;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -272,6 +283,14 @@ public class ModbusManagerImpl implements ModbusManager {
     private volatile Collection<ModbusManagerListener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private volatile ScheduledFuture<?> monitorFuture;
+    /**
+     * Serialized execution lanes, one per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, ModbusEndpointLane> lanes = new ConcurrentHashMap<>();
+    /**
+     * Statistics of the operations, one per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointStatisticsRecorder> statistics = new ConcurrentHashMap<>();
 
     private void constructConnectionPool() {
         ModbusSlaveConnectionFactoryImpl connectionFactory = new ModbusSlaveConnectionFactoryImpl();
@@ -389,7 +408,8 @@ public class ModbusManagerImpl implements ModbusManager {
     /**
      * Establishes connection to the endpoint specified by the task
      *
-     * In case connection cannot be established, callback is called with {@link ModbusConnectionException}
+     * In case connection cannot be established, empty {@link Optional} is returned. The caller is responsible for
+     * retrying, or calling the callback with {@link ModbusConnectionException}.
      *
      * @param operationId id appened to log messages for identifying the operation
      * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
@@ -410,26 +430,19 @@ public class ModbusManagerImpl implements ModbusManager {
                 task, oneOffTask, connectionPool.getNumIdle(task.getEndpoint()),
                 connectionPool.getNumActive(task.getEndpoint()), operationId);
         long connectionBorrowStart = System.currentTimeMillis();
-        ModbusCallback callback = task.getCallback();
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
 
-        ModbusRequestBlueprint request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+        long connectionBorrowMillis = System.currentTimeMillis() - connectionBorrowStart;
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
-                System.currentTimeMillis() - connectionBorrowStart, operationId);
+                connectionBorrowMillis, operationId);
+        EndpointStatisticsRecorder stats = getStatisticsRecorder(endpoint);
+        stats.recordConnectionBorrow(connectionBorrowMillis);
         if (scheduledThreadPoolExecutor == null) {
             // manager deactivated
             timer.connection.timeRunnable(() -> invalidate(endpoint, connection));
             return Optional.empty();
         }
-        if (!connection.isPresent()) {
-            logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
-                    operationId);
-            if (callback != null) {
-                timer.callback.timeRunnable(
-                        () -> invokeCallbackWithError(request, callback, new ModbusConnectionException(endpoint)));
-            }
-        }
         return connection;
     }
 
@@ -472,232 +485,588 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     /**
-     * Execute operation using a retry mechanism.
+     * Execution of operation using a retry mechanism.
      *
-     * This is a helper function for executing read and write operations and handling the exceptions in a common way.
+     * This is a helper for executing read and write operations and handling the exceptions in a common way.
+     *
+     * The operation is executed in the endpoint lane, one try per step. Instead of sleeping between the retries, the
+     * step returns the time to wait, and the lane reschedules the next try. This ensures that threads of the shared
+     * pool are not blocked while waiting.
      *
      * With some connection types, the connection is reseted (disconnected), and new connection is received from the
-     * pool. This means that potentially other operations queuing for the connection can be executed in-between.
+     * pool before next try.
      *
      * With some other connection types, the operation is retried without reseting the connection type.
      *
-     * @param task
-     * @param oneOffTask
-     * @param operation
+     * @author Sami Salonen - Initial contribution
      */
-    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
-            @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
-        AggregateStopWatch timer = new AggregateStopWatch();
-        timer.total.resume();
-        String operationId = timer.operationId;
+    private class OperationExecution<R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>>
+            implements ModbusEndpointLane.LaneTask {
 
-        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
-        if (connectionFactory == null) {
-            // deactivated manager
-            logger.trace("Deactivated manager - aborting operation.");
-            return;
-        }
+        private final T task;
+        private final boolean oneOffTask;
+        private final ModbusOperation<T> operation;
+        private final @Nullable Runnable completionHook;
+        /**
+         * Future of one-off operation, used to check whether the operation was cancelled before it was started
+         */
+        private @Nullable Future<?> future;
+        /**
+         * Regular (not one-off) poll tasks merged to this operation. Used to verify that the tasks are still
+         * registered.
+         */
+        private Set<PollTask> regularPollMembers = Collections.emptySet();
+        private final AggregateStopWatch timer = new AggregateStopWatch();
+        private final String operationId = timer.operationId;
+        private final int maxTries;
+        private final EndpointStatisticsRecorder stats;
+        /**
+         * Time when the operation was queued. With merged operations, the time when the earliest member was queued.
+         */
+        private long queuedMillis = System.currentTimeMillis();
 
-        logTaskQueueInfo();
-        R request = task.getRequest();
-        ModbusSlaveEndpoint endpoint = task.getEndpoint();
-        @Nullable
-        C callback = task.getCallback();
-        int maxTries = task.getMaxTries();
-        AtomicReference<@Nullable Exception> lastError = new AtomicReference<>();
-        long retryDelay = Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
-                .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L);
+        private int tryIndex;
+        /**
+         * Number of failed attempts to connect
+         */
+        private int connectTryIndex;
+        private boolean started;
+        private boolean finished;
+        /**
+         * Whether the operation has completed, successfully or with error callback, as opposed to being aborted
+         */
+        private boolean completed;
+        private boolean succeeded;
+        private Optional<ModbusSlaveConnection> connection = Optional.empty();
+        private @Nullable Exception lastError;
+
+        public OperationExecution(T task, boolean oneOffTask, ModbusOperation<T> operation,
+                @Nullable Runnable completionHook) {
+            this.task = task;
+            this.oneOffTask = oneOffTask;
+            this.operation = operation;
+            this.completionHook = completionHook;
+            this.maxTries = task.getMaxTries();
+            if (maxTries <= 0) {
+                throw new IllegalArgumentException("maxTries should be positive");
+            }
+            this.stats = getStatisticsRecorder(task.getEndpoint());
+        }
 
-        if (maxTries <= 0) {
-            throw new IllegalArgumentException("maxTries should be positive");
+        @Override
+        public long executeStep() {
+            timer.total.resume();
+            long result = ModbusEndpointLane.DONE;
+            try {
+                result = tryOnce();
+            } catch (PollTaskUnregistered e) {
+                logger.warn(
+                        "Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
+                        e.getMessage(), operationId);
+                result = ModbusEndpointLane.DONE;
+            } finally {
+                if (result == ModbusEndpointLane.DONE) {
+                    finish();
+                } else {
+                    timer.suspendAllRunning();
+                }
+            }
+            return result;
         }
 
-        Optional<ModbusSlaveConnection> connection = Optional.empty();
-        try {
-            logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
-                    operationId);
-            connection = getConnection(timer, oneOffTask, task);
-            logger.trace("Operation with task {}. Got a connection {} [operation ID {}]", task,
-                    connection.isPresent() ? "successfully" : "which was unconnected (connection issue)", operationId);
-            if (!connection.isPresent()) {
-                // Could not acquire connection, time to abort
-                // Error logged already, error callback called as well
-                logger.trace("Initial connection was not successful, aborting. [operation ID {}]", operationId);
-                return;
+        private long tryOnce() throws PollTaskUnregistered {
+            ModbusSlaveConnectionFactoryImpl connectionFactory = ModbusManagerImpl.this.connectionFactory;
+            if (connectionFactory == null || scheduledThreadPoolExecutor == null) {
+                // deactivated manager
+                logger.trace("Deactivated manager - aborting operation. [operation ID {}]", operationId);
+                return ModbusEndpointLane.DONE;
             }
+            R request = task.getRequest();
+            ModbusSlaveEndpoint endpoint = task.getEndpoint();
+            @Nullable
+            C callback = task.getCallback();
 
+            if (!started) {
+                if (isCancelled()) {
+                    logger.debug("Operation with task {} was cancelled before it was started [operation ID {}]", task,
+                            operationId);
+                    return ModbusEndpointLane.DONE;
+                }
+                started = true;
+                stats.recordQueueWait(System.currentTimeMillis() - queuedMillis);
+                logTaskQueueInfo();
+                logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
+                        operationId);
+            }
+            // Check poll task is still registered (this is all asynchronous)
+            if (!oneOffTask && task instanceof PollTask) {
+                verifyTaskIsRegistered((PollTask) task);
+            }
+            if (task instanceof CoalescedPollTask && !regularPollMembers.isEmpty()) {
+                int remaining = ((CoalescedPollTask) task).removeMembers(
+                        member -> regularPollMembers.contains(member) && !scheduledPollTasks.containsKey(member));
+                if (remaining == 0) {
+                    throw new PollTaskUnregistered(String.format("All poll tasks of %s are unregistered", task));
+                }
+            }
+            if (!connection.isPresent()) {
+                // First try, or the connection was reseted with previous try
+                long connectDelayMillis = connectionFactory.getMillisUntilConnectAllowed(endpoint);
+                connection = getConnection(timer, oneOffTask, task);
+                logger.trace("Operation with task {}. Got a connection {} [operation ID {}]", task,
+                        connection.isPresent() ? "successfully" : "which was unconnected (connection issue)",
+                        operationId);
+                if (!connection.isPresent()) {
+                    return connectionFailed(connectionFactory, connectDelayMillis > 0);
+                }
+                connectTryIndex = 0;
+            }
             if (scheduledThreadPoolExecutor == null) {
                 logger.debug("Manager has been shut down, aborting proecssing request {} [operation ID {}]", request,
                         operationId);
-                return;
+                return ModbusEndpointLane.DONE;
             }
 
-            int tryIndex = 0;
-            /**
-             * last execution is tracked such that the endpoint is not spammed on retry. First retry can be executed
-             * right away since getConnection ensures enough time has passed since last transaction. More precisely,
-             * ModbusSlaveConnectionFactoryImpl sleeps on activate() (i.e. before returning connection).
-             */
-            @Nullable
-            Long lastTryMillis = null;
-            while (tryIndex < maxTries) {
-                logger.trace("Try {} out of {} [operation ID {}]", tryIndex + 1, maxTries, operationId);
-                if (!connection.isPresent()) {
-                    // Connection was likely reseted with previous try, and connection was not successfully
-                    // re-established. Error has been logged, time to abort.
-                    logger.trace("Try {} out of {}. Connection was not successful, aborting. [operation ID {}]",
-                            tryIndex + 1, maxTries, operationId);
-                    return;
+            logger.trace("Try {} out of {} [operation ID {}]", tryIndex + 1, maxTries, operationId);
+            tryIndex++;
+            boolean willRetry = tryIndex < maxTries;
+            long transactionMillisBefore = timer.transaction.getTotalTimeMillis();
+            try {
+                operation.accept(timer, task, connection.get());
+                lastError = null;
+                completed = true;
+                succeeded = true;
+                return ModbusEndpointLane.DONE;
+            } catch (IOException e) {
+                lastError = new ModbusSlaveIOExceptionImpl(e);
+                stats.recordIOError();
+                // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
+                // broken pipe on write)
+                if (willRetry) {
+                    logger.warn(
+                            "Try {} out of {} failed when executing request ({}). Will try again soon. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
+                } else {
+                    logger.error(
+                            "Last try {} failed when executing request ({}). Aborting. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
                 }
-                if (Thread.interrupted()) {
-                    logger.warn("Thread interrupted. Aborting operation [operation ID {}]", operationId);
-                    return;
+                // Invalidate connection, and empty (so that new connection is acquired before new retry)
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+            } catch (ModbusIOException e) {
+                lastError = new ModbusSlaveIOExceptionImpl(e);
+                stats.recordIOError();
+                // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
+                // broken pipe on write)
+                if (willRetry) {
+                    logger.warn(
+                            "Try {} out of {} failed when executing request ({}). Will try again soon. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
+                } else {
+                    logger.error(
+                            "Last try {} failed when executing request ({}). Aborting. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
+                }
+                // Invalidate connection, and empty (so that new connection is acquired before new retry)
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+            } catch (ModbusSlaveException e) {
+                lastError = new ModbusSlaveErrorResponseExceptionImpl(e);
+                stats.recordSlaveErrorResponse();
+                // Slave returned explicit error response, no reason to re-establish new connection
+                if (willRetry) {
+                    logger.warn(
+                            "Try {} out of {} failed when executing request ({}). Will try again soon. Error was: {} {} [operation ID {}]",
+                            tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
+                } else {
+                    logger.error(
+                            "Last try {} failed when executing request ({}). Aborting. Error was: {} {} [operation ID {}]",
+                            tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
                 }
-                // Check poll task is still registered (this is all asynchronous)
-                if (!oneOffTask && task instanceof PollTask) {
-                    verifyTaskIsRegistered((PollTask) task);
+            } catch (ModbusUnexpectedTransactionIdException e) {
+                lastError = e;
+                stats.recordTransactionIdMismatch();
+                // transaction error details already logged
+                if (willRetry) {
+                    logger.warn(
+                            "Try {} out of {} failed when executing request ({}). Will try again soon. The response transaction ID did not match the request. Reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
+                } else {
+                    logger.error(
+                            "Last try {} failed when executing request ({}). Aborting. The response transaction ID did not match the request. Reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
                 }
-                // Let's ensure that enough time is between the retries
+                // Invalidate connection, and empty (so that new connection is acquired before new retry)
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+            } catch (ModbusException e) {
+                lastError = e;
+                // Some other (unexpected) exception occurred
+                if (willRetry) {
+                    logger.warn(
+                            "Try {} out of {} failed when executing request ({}). Will try again soon. Error was unexpected error, so reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId, e);
+                } else {
+                    logger.error(
+                            "Last try {} failed when executing request ({}). Aborting. Error was unexpected error, so reseting the connection. Error details: {} {} [operation ID {}]",
+                            tryIndex, request, e.getClass().getName(), e.getMessage(), operationId, e);
+                }
+                // Invalidate connection, and empty (so that new connection is acquired before new retry)
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+            } finally {
+                stats.recordTransaction(timer.transaction.getTotalTimeMillis() - transactionMillisBefore);
+            }
+
+            Exception exception = lastError;
+            if (!willRetry && exception != null) {
+                // All retries failed with some error
+                completed = true;
+                if (callback != null) {
+                    timer.callback.timeRunnable(() -> {
+                        invokeCallbackWithError(request, callback, exception);
+                    });
+                }
+                return ModbusEndpointLane.DONE;
+            }
+            stats.recordRetry();
+            // Let's ensure that enough time is between the retries. Lane reschedules us after the delay.
+            EndpointPoolConfiguration config = connectionFactory.getEndpointPoolConfiguration(endpoint);
+            long retryDelay = config == null ? 0L
+                    : connection.isPresent() ? config.getInterTransactionDelayMillis()
+                            : Math.max(config.getInterTransactionDelayMillis(), config.getInterConnectDelayMillis());
+            logger.trace("Rescheduling next try after {} ms [operation ID {}]", retryDelay, operationId);
+            return retryDelay;
+        }
+
+        /**
+         * Handle failure to get a connected connection. Instead of sleeping, the time to wait before next connect is
+         * returned, and the lane reschedules the operation.
+         *
+         * @param connectionFactory connection factory
+         * @param connectDeferred whether the connection was not connected due to the delay between connects, as
+         *            opposed to failed connect
+         * @return milliseconds to wait before next try, or {@link ModbusEndpointLane#DONE} when the operation is
+         *         aborted
+         */
+        private long connectionFailed(ModbusSlaveConnectionFactoryImpl connectionFactory, boolean connectDeferred) {
+            if (scheduledThreadPoolExecutor == null) {
+                logger.trace("Deactivated manager - aborting operation. [operation ID {}]", operationId);
+                return ModbusEndpointLane.DONE;
+            }
+            ModbusSlaveEndpoint endpoint = task.getEndpoint();
+            if (!connectDeferred) {
+                connectTryIndex++;
+            }
+            EndpointPoolConfiguration config = connectionFactory.getEndpointPoolConfiguration(endpoint);
+            int connectMaxTries = config == null ? 1 : config.getConnectMaxTries();
+            if (connectTryIndex < connectMaxTries) {
+                long connectDelayMillis = connectionFactory.getMillisUntilConnectAllowed(endpoint);
                 logger.trace(
-                        "Ensuring that enough time passes before retrying again. Sleeping if necessary [operation ID {}]",
-                        operationId);
-                long slept = ModbusSlaveConnectionFactoryImpl.waitAtleast(lastTryMillis, retryDelay);
-                logger.trace("Sleep ended, slept {} [operation ID {}]", slept, operationId);
-
-                boolean willRetry = false;
-                try {
-                    tryIndex++;
-                    willRetry = tryIndex < maxTries;
-                    operation.accept(timer, task, connection.get());
-                    lastError.set(null);
+                        "No connection ({} failed connect tries out of {}). Rescheduling next connect after {} ms [operation ID {}]",
+                        connectTryIndex, connectMaxTries, connectDelayMillis, operationId);
+                return connectDelayMillis;
+            }
+            // Could not acquire connection, time to abort
+            R request = task.getRequest();
+            @Nullable
+            C callback = task.getCallback();
+            logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
+                    operationId);
+            stats.recordConnectionError();
+            if (callback != null) {
+                timer.callback.timeRunnable(
+                        () -> invokeCallbackWithError(request, callback, new ModbusConnectionException(endpoint)));
+            }
+            completed = true;
+            return ModbusEndpointLane.DONE;
+        }
+
+        /**
+         * Merge tasks waiting in the queue with this task, if read or write coalescing is enabled with the endpoint
+         */
+        @Override
+        public ModbusEndpointLane.LaneTask mergeWith(Deque<ModbusEndpointLane.LaneTask> queued) {
+            if (started || isCancelled()) {
+                return this;
+            } else if (task instanceof PollTask && !(task instanceof CoalescedPollTask)) {
+                return mergeReads(queued);
+            } else if (task instanceof WriteTask && !(task instanceof CoalescedWriteTask)) {
+                return mergeWrites(queued);
+            } else {
+                return this;
+            }
+        }
+
+        /**
+         * Merge poll tasks waiting in the queue right after this poll task, if read coalescing is enabled with the
+         * endpoint.
+         *
+         * Only consecutive reads are merged, so that reads are never moved ahead of writes submitted before them.
+         */
+        private ModbusEndpointLane.LaneTask mergeReads(Deque<ModbusEndpointLane.LaneTask> queued) {
+            ModbusSlaveConnectionFactoryImpl connectionFactory = ModbusManagerImpl.this.connectionFactory;
+            if (connectionFactory == null) {
+                return this;
+            }
+            EndpointPoolConfiguration config = connectionFactory.getEndpointPoolConfiguration(task.getEndpoint());
+            int maxGap = config == null ? -1 : config.getReadCoalescingMaxGap();
+            if (maxGap < 0) {
+                return this;
+            }
+            PollTask pollTask = (PollTask) task;
+            List<OperationExecution<?, ?, ?>> executions = new ArrayList<>();
+            executions.add(this);
+            while (true) {
+                ModbusEndpointLane.LaneTask next = queued.peekFirst();
+                if (!(next instanceof OperationExecution)) {
                     break;
-                } catch (IOException e) {
-                    lastError.set(new ModbusSlaveIOExceptionImpl(e));
-                    // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
-                    // broken pipe on write)
-                    if (willRetry) {
-                        logger.warn(
-                                "Try {} out of {} failed when executing request ({}). Will try again soon. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
-                    } else {
-                        logger.error(
-                                "Last try {} failed when executing request ({}). Aborting. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
-                    }
-                    // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
-                    continue;
-                } catch (ModbusIOException e) {
-                    lastError.set(new ModbusSlaveIOExceptionImpl(e));
-                    // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
-                    // broken pipe on write)
-                    if (willRetry) {
-                        logger.warn(
-                                "Try {} out of {} failed when executing request ({}). Will try again soon. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
-                    } else {
-                        logger.error(
-                                "Last try {} failed when executing request ({}). Aborting. Error was I/O error, so reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
-                    }
-                    // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
-                    continue;
-                } catch (ModbusSlaveException e) {
-                    lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
-                    // Slave returned explicit error response, no reason to re-establish new connection
-                    if (willRetry) {
-                        logger.warn(
-                                "Try {} out of {} failed when executing request ({}). Will try again soon. Error was: {} {} [operation ID {}]",
-                                tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
-                    } else {
-                        logger.error(
-                                "Last try {} failed when executing request ({}). Aborting. Error was: {} {} [operation ID {}]",
-                                tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
-                    }
-                    continue;
-                } catch (ModbusUnexpectedTransactionIdException e) {
-                    lastError.set(e);
-                    // transaction error details already logged
-                    if (willRetry) {
-                        logger.warn(
-                                "Try {} out of {} failed when executing request ({}). Will try again soon. The response transaction ID did not match the request. Reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId);
-                    } else {
-                        logger.error(
-                                "Last try {} failed when executing request ({}). Aborting. The response transaction ID did not match the request. Reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
+                }
+                OperationExecution<?, ?, ?> nextExecution = (OperationExecution<?, ?, ?>) next;
+                if (nextExecution.started || nextExecution.isCancelled() || !(nextExecution.task instanceof PollTask)
+                        || nextExecution.task instanceof CoalescedPollTask
+                        || !ReadRequestCoalescer.isCompatible(pollTask, (PollTask) nextExecution.task)) {
+                    break;
+                }
+                executions.add(nextExecution);
+                queued.pollFirst();
+            }
+            if (executions.size() == 1) {
+                return this;
+            }
+
+            List<PollTask> tasks = new ArrayList<>(executions.size());
+            executions.forEach(execution -> tasks.add((PollTask) execution.task));
+            List<CoalescedPollTask> plan = ReadRequestCoalescer.plan(tasks, maxGap);
+            List<ModbusEndpointLane.LaneTask> planned = new ArrayList<>(plan.size());
+            for (CoalescedPollTask coalesced : plan) {
+                List<OperationExecution<?, ?, ?>> memberExecutions = new ArrayList<>();
+                for (OperationExecution<?, ?, ?> execution : executions) {
+                    if (coalesced.getMembers().stream().anyMatch(member -> member == execution.task)) {
+                        memberExecutions.add(execution);
                     }
-                    // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
+                }
+                executions.removeAll(memberExecutions);
+                if (memberExecutions.size() == 1) {
+                    // Nothing merged, execute as is
+                    planned.add(memberExecutions.get(0));
                     continue;
-                } catch (ModbusException e) {
-                    lastError.set(e);
-                    // Some other (unexpected) exception occurred
-                    if (willRetry) {
-                        logger.warn(
-                                "Try {} out of {} failed when executing request ({}). Will try again soon. Error was unexpected error, so reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, maxTries, request, e.getClass().getName(), e.getMessage(), operationId, e);
-                    } else {
-                        logger.error(
-                                "Last try {} failed when executing request ({}). Aborting. Error was unexpected error, so reseting the connection. Error details: {} {} [operation ID {}]",
-                                tryIndex, request, e.getClass().getName(), e.getMessage(), operationId, e);
+                }
+                Set<PollTask> regularMembers = new HashSet<>();
+                memberExecutions.stream().filter(execution -> !execution.oneOffTask)
+                        .forEach(execution -> regularMembers.add((PollTask) execution.task));
+                OperationExecution<ModbusReadRequestBlueprint, ModbusReadCallback, PollTask> mergedExecution = new OperationExecution<>(
+                        coalesced, true, pollOperation, combinedCompletionHook(memberExecutions));
+                mergedExecution.regularPollMembers = regularMembers;
+                mergedExecution.queuedMillis = earliestQueuedMillis(memberExecutions);
+                logger.debug("Merged {} poll tasks to single read {} [operation ID {}]", memberExecutions.size(),
+                        coalesced.getRequest(), mergedExecution.operationId);
+                planned.add(mergedExecution);
+            }
+            return executeFirstAndQueueRest(planned, queued);
+        }
+
+        /**
+         * Merge write tasks waiting in the queue right after this write task, if write coalescing is enabled with the
+         * endpoint.
+         *
+         * Only consecutive writes are merged, so that the order of reads and writes is preserved.
+         */
+        private ModbusEndpointLane.LaneTask mergeWrites(Deque<ModbusEndpointLane.LaneTask> queued) {
+            ModbusSlaveConnectionFactoryImpl connectionFactory = ModbusManagerImpl.this.connectionFactory;
+            if (connectionFactory == null || !WriteRequestCoalescer.isMergeable((WriteTask) task)) {
+                return this;
+            }
+            EndpointPoolConfiguration config = connectionFactory.getEndpointPoolConfiguration(task.getEndpoint());
+            if (config == null || !config.isWriteCoalescing()) {
+                return this;
+            }
+            List<OperationExecution<?, ?, ?>> executions = new ArrayList<>();
+            executions.add(this);
+            while (true) {
+                ModbusEndpointLane.LaneTask next = queued.peekFirst();
+                if (!(next instanceof OperationExecution)) {
+                    break;
+                }
+                OperationExecution<?, ?, ?> nextExecution = (OperationExecution<?, ?, ?>) next;
+                if (nextExecution.started || nextExecution.isCancelled() || !(nextExecution.task instanceof WriteTask)
+                        || nextExecution.task instanceof CoalescedWriteTask
+                        || !WriteRequestCoalescer.isMergeable((WriteTask) nextExecution.task)) {
+                    break;
+                }
+                executions.add(nextExecution);
+                queued.pollFirst();
+            }
+            if (executions.size() == 1) {
+                return this;
+            }
+
+            List<WriteTask> tasks = new ArrayList<>(executions.size());
+            executions.forEach(execution -> tasks.add((WriteTask) execution.task));
+            List<CoalescedWriteTask> plan = WriteRequestCoalescer.plan(tasks);
+            List<ModbusEndpointLane.LaneTask> planned = new ArrayList<>(plan.size());
+            for (CoalescedWriteTask coalesced : plan) {
+                List<OperationExecution<?, ?, ?>> memberExecutions = new ArrayList<>();
+                for (OperationExecution<?, ?, ?> execution : executions) {
+                    if (coalesced.getMembers().stream().anyMatch(member -> member == execution.task)) {
+                        memberExecutions.add(execution);
                     }
-                    // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
+                }
+                if (memberExecutions.size() == 1) {
+                    // Nothing merged, execute as is
+                    planned.add(memberExecutions.get(0));
                     continue;
-                } finally {
-                    lastTryMillis = System.currentTimeMillis();
-                    // Connection was reseted in error handling and needs to be reconnected.
-                    // Try to re-establish connection.
-                    if (willRetry && !connection.isPresent()) {
-                        connection = getConnection(timer, oneOffTask, task);
-                    }
                 }
+                OperationExecution<ModbusWriteRequestBlueprint, ModbusWriteCallback, WriteTask> mergedExecution = new OperationExecution<>(
+                        coalesced, true, writeOperation, combinedCompletionHook(memberExecutions));
+                mergedExecution.queuedMillis = earliestQueuedMillis(memberExecutions);
+                logger.debug("Merged {} write tasks to single write {} [operation ID {}]", memberExecutions.size(),
+                        coalesced.getRequest(), mergedExecution.operationId);
+                planned.add(mergedExecution);
             }
-            Exception exception = lastError.get();
-            if (exception != null) {
-                // All retries failed with some error
-                if (callback != null) {
-                    timer.callback.timeRunnable(() -> {
-                        invokeCallbackWithError(request, callback, exception);
-                    });
+            return executeFirstAndQueueRest(planned, queued);
+        }
+
+        private boolean isCancelled() {
+            Future<?> future = this.future;
+            return future != null && future.isCancelled();
+        }
+
+        private void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            ModbusSlaveEndpoint endpoint = task.getEndpoint();
+            try {
+                timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+                connection = Optional.empty();
+                logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
+            } finally {
+                timer.suspendAllRunning();
+                logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
+                if (completed) {
+                    stats.recordOperationCompleted(succeeded, timer.callback.getTotalTimeMillis());
                 }
+                Runnable completionHook = this.completionHook;
+                if (completionHook != null) {
+                    completionHook.run();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("OperationExecution [task=").append(task).append(", tryIndex=").append(tryIndex)
+                    .append(", operationId=").append(operationId).append("]").toString();
+        }
+    }
+
+    /**
+     * Future of one-off operation. The future is done when the operation has ended in the endpoint lane, i.e. the
+     * callback has been called or the operation was aborted.
+     */
+    private static class OperationFuture extends CompletableFuture<@Nullable Void>
+            implements ScheduledFuture<@Nullable Void> {
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            // Operation is queued immediately
+            return 0L;
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            return other == null ? 1
+                    : Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private static Runnable combinedCompletionHook(List<OperationExecution<?, ?, ?>> executions) {
+        return () -> executions.forEach(execution -> {
+            Runnable hook = execution.completionHook;
+            if (hook != null) {
+                hook.run();
+            }
+        });
+    }
+
+    private static long earliestQueuedMillis(List<OperationExecution<?, ?, ?>> executions) {
+        return executions.stream().mapToLong(execution -> execution.queuedMillis).min()
+                .orElse(System.currentTimeMillis());
+    }
+
+    /**
+     * Execute the first of the planned tasks now, and the rest next
+     *
+     * @param planned planned tasks in execution order
+     * @param queued queue of the lane
+     * @return task to execute now
+     */
+    private static ModbusEndpointLane.LaneTask executeFirstAndQueueRest(List<ModbusEndpointLane.LaneTask> planned,
+            Deque<ModbusEndpointLane.LaneTask> queued) {
+        for (int i = planned.size() - 1; i > 0; i--) {
+            queued.addFirst(planned.get(i));
+        }
+        return planned.get(0);
+    }
+
+    /**
+     * Get (or create) the serialized execution lane of the endpoint
+     *
+     * @param endpoint endpoint
+     * @return lane, or null if manager is not activated
+     */
+    private @Nullable ModbusEndpointLane getLane(ModbusSlaveEndpoint endpoint) {
+        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (executor == null || connectionFactory == null) {
+            return null;
+        }
+        return lanes.computeIfAbsent(endpoint, ep -> new ModbusEndpointLane(ep, executor,
+                () -> Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(ep))
+                        .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L)));
+    }
+
+    private EndpointStatisticsRecorder getStatisticsRecorder(ModbusSlaveEndpoint endpoint) {
+        return statistics.computeIfAbsent(endpoint, EndpointStatisticsRecorder::new);
+    }
+
+    /**
+     * Execute operation in the endpoint lane.
+     *
+     * @param task task to execute
+     * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
+     * @param operation operation to execute
+     * @param completionHook optional hook called when the operation completes (successfully or not)
+     * @param future optional future of the operation. The operation is not started if the future is cancelled.
+     */
+    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
+            @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation, @Nullable Runnable completionHook,
+            @Nullable Future<?> future) {
+        ModbusEndpointLane lane = getLane(task.getEndpoint());
+        if (lane == null) {
+            // deactivated manager
+            logger.trace("Deactivated manager - aborting operation.");
+            if (completionHook != null) {
+                completionHook.run();
             }
-        } catch (PollTaskUnregistered e) {
-            logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
-                    e.getMessage(), operationId);
             return;
-        } catch (InterruptedException e) {
-            logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
-                    e.getMessage(), operationId);
-            // Invalidate connection, and empty (so that new connection is acquired before new retry)
-            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-            connection = Optional.empty();
-        } finally {
-            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
-            logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
-            timer.suspendAllRunning();
-            logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
+        OperationExecution<R, C, T> execution = new OperationExecution<>(task, oneOffTask, operation, completionHook);
+        execution.future = future;
+        lane.submit(execution);
     }
 
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
         ScheduledExecutorService executor = scheduledThreadPoolExecutor;
         Objects.requireNonNull(executor, "Not activated!");
-        long scheduleTime = System.currentTimeMillis();
-        logger.debug("Scheduling one-off poll task {}", task);
-        ScheduledFuture<?> future = executor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, pollOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        logger.debug("Queuing one-off poll task {}", task);
+        // Queued in the calling thread, so that the tasks are executed in the order of submission
+        OperationFuture future = new OperationFuture();
+        executeOperation(task, true, pollOperation, () -> future.complete(null), future);
         return future;
     }
 
@@ -712,15 +1081,24 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
+            // Regular poll is not queued again in the lane while previous execution is still pending
+            AtomicBoolean pending = new AtomicBoolean();
             ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
                 long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
+                if (!pending.compareAndSet(false, true)) {
+                    logger.debug("Previous execution of scheduled ({}ms) poll task {} still pending. Skipping.",
+                            pollPeriodMillis, task);
+                    return;
+                }
+                logger.debug("Queuing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                         started);
-                executeOperation(task, false, pollOperation);
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
+                executeOperation(task, false, pollOperation, () -> {
+                    long finished = System.currentTimeMillis();
+                    logger.debug(
+                            "Execution of scheduled ({}ms) poll task {} finished at {}. Was queued at millis: {} (=duration of {} millis)",
+                            pollPeriodMillis, task, finished, started, finished - started);
+                    pending.set(false);
+                }, null);
             }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
 
             scheduledPollTasks.put(task, future);
@@ -775,14 +1153,10 @@ public class ModbusManagerImpl implements ModbusManager {
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task) {
         ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
         Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
-        long scheduleTime = System.currentTimeMillis();
-        logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, writeOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        logger.debug("Queuing one-off write task {}", task);
+        // Queued in the calling thread, so that the tasks are executed in the order of submission
+        OperationFuture future = new OperationFuture();
+        executeOperation(task, true, writeOperation, () -> future.complete(null), future);
         return future;
     }
 
@@ -817,6 +1191,26 @@ public class ModbusManagerImpl implements ModbusManager {
         return this.scheduledPollTasks.keySet();
     }
 
+    @Override
+    public ModbusEndpointStatistics getEndpointStatistics(ModbusSlaveEndpoint endpoint) {
+        ModbusEndpointLane lane = lanes.get(endpoint);
+        EndpointStatisticsRecorder recorder = statistics.get(endpoint);
+        if (recorder == null) {
+            // Do not populate the map with endpoints that have never been used
+            recorder = new EndpointStatisticsRecorder(endpoint);
+        }
+        return recorder.snapshot(lane == null ? 0 : lane.size());
+    }
+
+    @Override
+    public int getExecutorQueueSize() {
+        ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
+        if (scheduledThreadPoolExecutor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) scheduledThreadPoolExecutor).getQueue().size();
+        }
+        return -1;
+    }
+
     @Activate
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
@@ -856,6 +1250,9 @@ public class ModbusManagerImpl implements ModbusManager {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
             }
+            // Operations still queued in the lanes are aborted as they notice that the manager is deactivated
+            lanes.clear();
+            statistics.clear();
             // Note that it is not allowed to shutdown the executor, since they will be reused when
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
@@ -895,6 +1292,17 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             }
 
+            lanes.forEach((endpoint, lane) -> {
+                int size = lane.size();
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {} has {} operations queued. Statistics: {}", endpoint,
+                        size, getEndpointStatistics(endpoint));
+                if (size >= WARN_QUEUE_SIZE) {
+                    pollMonitorLogger.warn(
+                            "Many ({}) operations queued for endpoint {}! The endpoint cannot keep up with the requested poll and write rate.",
+                            size, endpoint);
+                }
+            });
+
             pollMonitorLogger.trace("</POLL MONITOR>");
         }
     }
@@ -0,0 +1,310 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Planner which merges read requests of the same endpoint, unit id and function code into as few transactions as
+ * possible.
+ *
+ * The merged transactions respect the protocol limits of a single read (125 registers, 2000 coils/discrete inputs).
+ * Requests are merged only if the gap between them is at most <code>maxGap</code> registers/bits. Note that the data in
+ * the gap is read from the slave but ignored. Some slaves respond with error when reading undefined addresses, and
+ * thus the gap tolerance is configurable.
+ *
+ * The callbacks of the original tasks receive views ({@link RegisterArraySlice}, {@link BitArraySlice}) of the merged
+ * response, and the original request.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadRequestCoalescer {
+
+    /**
+     * Maximum number of registers in a single read request, as specified by the protocol
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs in a single read request, as specified by the protocol
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadRequestCoalescer.class);
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Poll task representing one or more merged poll tasks
+     *
+     * @author agent - Initial contribution
+     */
+    public static class CoalescedPollTask implements PollTask {
+
+        private final ModbusSlaveEndpoint endpoint;
+        private final BasicModbusReadRequestBlueprint request;
+        private final List<PollTask> members;
+        private final ModbusReadCallback callback = new FanOutCallback();
+
+        private CoalescedPollTask(ModbusSlaveEndpoint endpoint, BasicModbusReadRequestBlueprint request,
+                List<PollTask> members) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.members = members;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusReadCallback getCallback() {
+            return callback;
+        }
+
+        /**
+         * Get the original poll tasks merged to this task
+         *
+         * @return unmodifiable list of poll tasks
+         */
+        public List<PollTask> getMembers() {
+            return Collections.unmodifiableList(members);
+        }
+
+        /**
+         * Remove original poll tasks that should not be executed anymore, e.g. unregistered regular polls
+         *
+         * @param filter predicate for tasks to remove
+         * @return number of original tasks remaining
+         */
+        public synchronized int removeMembers(Predicate<PollTask> filter) {
+            members.removeIf(filter);
+            return members.size();
+        }
+
+        private synchronized List<PollTask> getMembersSnapshot() {
+            return new ArrayList<>(members);
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                    .append("members", members.size()).toString();
+        }
+
+        /**
+         * Callback delivering slices of the merged response to the callbacks of the original tasks
+         */
+        private class FanOutCallback implements ModbusReadCallback {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint mergedRequest, ModbusRegisterArray registers) {
+                for (PollTask member : getMembersSnapshot()) {
+                    ModbusReadCallback memberCallback = member.getCallback();
+                    if (memberCallback == null) {
+                        continue;
+                    }
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    int offset = memberRequest.getReference() - request.getReference();
+                    if (offset + memberRequest.getDataLength() > registers.size()) {
+                        invokeMember(memberRequest, () -> memberCallback.onError(memberRequest,
+                                responseTooShort(memberRequest, registers.size())));
+                        continue;
+                    }
+                    invokeMember(memberRequest, () -> memberCallback.onRegisters(memberRequest,
+                            new RegisterArraySlice(registers, offset, memberRequest.getDataLength())));
+                }
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint mergedRequest, BitArray bits) {
+                for (PollTask member : getMembersSnapshot()) {
+                    ModbusReadCallback memberCallback = member.getCallback();
+                    if (memberCallback == null) {
+                        continue;
+                    }
+                    ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                    int offset = memberRequest.getReference() - request.getReference();
+                    if (offset + memberRequest.getDataLength() > bits.size()) {
+                        invokeMember(memberRequest,
+                                () -> memberCallback.onError(memberRequest, responseTooShort(memberRequest, bits.size())));
+                        continue;
+                    }
+                    invokeMember(memberRequest, () -> memberCallback.onBits(memberRequest,
+                            new BitArraySlice(bits, offset, memberRequest.getDataLength())));
+                }
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint mergedRequest, Exception error) {
+                for (PollTask member : getMembersSnapshot()) {
+                    ModbusReadCallback memberCallback = member.getCallback();
+                    if (memberCallback != null) {
+                        ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                        invokeMember(memberRequest, () -> memberCallback.onError(memberRequest, error));
+                    }
+                }
+            }
+
+            /**
+             * Call the callback of a single member, so that a failing callback does not prevent delivery to the
+             * other members
+             */
+            private void invokeMember(ModbusReadRequestBlueprint memberRequest, Runnable call) {
+                try {
+                    call.run();
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of request {} (merged to {}): {}", memberRequest,
+                            request, e.getMessage(), e);
+                }
+            }
+
+            private Exception responseTooShort(ModbusReadRequestBlueprint memberRequest, int responseSize) {
+                return new ModbusSlaveIOExceptionImpl(new IOException(String.format(
+                        "Merged response %s has only %d items, not enough for request %s", request, responseSize,
+                        memberRequest)));
+            }
+        }
+    }
+
+    /**
+     * Get the maximum number of registers or bits that can be read in a single request with the function code
+     *
+     * @param functionCode function code
+     * @return maximum length of a read
+     */
+    public static int getMaxReadLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            default:
+                return MAX_REGISTERS_PER_READ;
+        }
+    }
+
+    /**
+     * Whether two tasks could be merged to a single transaction, assuming that the address ranges allow it
+     *
+     * @param task1 first task
+     * @param task2 second task
+     * @return true if endpoint, unit id and function code match
+     */
+    public static boolean isCompatible(PollTask task1, PollTask task2) {
+        ModbusReadRequestBlueprint request1 = task1.getRequest();
+        ModbusReadRequestBlueprint request2 = task2.getRequest();
+        return request1.getUnitID() == request2.getUnitID()
+                && request1.getFunctionCode() == request2.getFunctionCode()
+                && Objects.equals(task1.getEndpoint(), task2.getEndpoint());
+    }
+
+    /**
+     * Plan the transactions for the given poll tasks
+     *
+     * Tasks are grouped by endpoint, unit id and function code. Within each group, tasks are sorted by start
+     * address and merged greedily as long as the gap to previous request is at most <code>maxGap</code>, and the
+     * merged request does not exceed protocol limits.
+     *
+     * @param tasks tasks to merge
+     * @param maxGap maximum number of unrequested registers/bits allowed between merged requests. Use 0 to merge only
+     *            adjacent or overlapping requests.
+     * @return merged tasks. Every task is part of exactly one merged task.
+     */
+    public static List<CoalescedPollTask> plan(Collection<PollTask> tasks, int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap must be non-negative");
+        }
+        Map<List<Object>, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            ModbusReadRequestBlueprint request = task.getRequest();
+            List<Object> key = new ArrayList<>(3);
+            key.add(task.getEndpoint());
+            key.add(request.getUnitID());
+            key.add(request.getFunctionCode());
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        List<CoalescedPollTask> plan = new ArrayList<>();
+        for (List<PollTask> group : groups.values()) {
+            group.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            PollTask first = group.get(0);
+            int maxLength = getMaxReadLength(first.getRequest().getFunctionCode());
+
+            List<PollTask> members = new ArrayList<>();
+            int start = 0;
+            int end = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int taskStart = request.getReference();
+                int taskEnd = taskStart + request.getDataLength();
+                if (!members.isEmpty() && taskStart - end <= maxGap && Math.max(end, taskEnd) - start <= maxLength) {
+                    members.add(task);
+                    end = Math.max(end, taskEnd);
+                    continue;
+                }
+                if (!members.isEmpty()) {
+                    plan.add(createTask(members, start, end));
+                }
+                members = new ArrayList<>();
+                members.add(task);
+                start = taskStart;
+                end = taskEnd;
+            }
+            plan.add(createTask(members, start, end));
+        }
+        logger.trace("Planned {} transactions for {} poll tasks (maxGap={})", plan.size(), tasks.size(), maxGap);
+        return plan;
+    }
+
+    private static CoalescedPollTask createTask(List<PollTask> members, int start, int end) {
+        PollTask first = members.get(0);
+        ModbusReadRequestBlueprint firstRequest = first.getRequest();
+        int maxTries = members.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(firstRequest.getUnitID(),
+                firstRequest.getFunctionCode(), start, end - start, maxTries);
+        return new CoalescedPollTask(first.getEndpoint(), request, members);
+    }
+
+}
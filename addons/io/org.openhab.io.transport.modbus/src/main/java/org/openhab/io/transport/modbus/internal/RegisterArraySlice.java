@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Implementation of {@link ModbusRegisterArray} which is a view to a sub-range of another {@link ModbusRegisterArray}
+ *
+ * No data is copied.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RegisterArraySlice implements ModbusRegisterArray {
+
+    private final ModbusRegisterArray wrapped;
+    private final int offset;
+    private final int size;
+
+    /**
+     *
+     * @param wrapped wrapped data
+     * @param offset index of the wrapped data corresponding to index 0 of this slice
+     * @param size number of registers in this slice
+     * @throws IndexOutOfBoundsException when the slice would extend beyond the wrapped data
+     */
+    public RegisterArraySlice(ModbusRegisterArray wrapped, int offset, int size) {
+        if (offset < 0 || size < 0 || offset + size > wrapped.size()) {
+            throw new IndexOutOfBoundsException(String.format("Slice (offset=%d, size=%d) out of bounds (size=%d)",
+                    offset, size, wrapped.size()));
+        }
+        this.wrapped = wrapped;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public ModbusRegister getRegister(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return wrapped.getRegister(offset + index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "RegisterArraySlice(<empty>)";
+        }
+        StringBuffer buffer = new StringBuffer(size * 2).append("RegisterArraySlice(");
+        return appendHexString(buffer).append(')').toString();
+    }
+
+}
@@ -0,0 +1,295 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Planner which merges consecutive write requests of the same endpoint and unit id into as few transactions as
+ * possible.
+ *
+ * Writes to contiguous registers are merged to a single "write multiple registers" (FC16) request, and writes to
+ * contiguous coils to a single "write multiple coils" (FC15) request, respecting the protocol limits (123 registers,
+ * 1968 coils). When several writes target the same address, only the value of the latest write is sent to the slave.
+ *
+ * The planner preserves the submission order of the writes: only writes submitted one after another are merged, and
+ * a write is never moved before an earlier write.
+ *
+ * The callback of each original task is called once, with the original request, when the merged transaction
+ * containing it completes. Superseded writes are acknowledged together with the write superseding them.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WriteRequestCoalescer {
+
+    /**
+     * Maximum number of registers in a single write request, as specified by the protocol
+     */
+    public static final int MAX_REGISTERS_PER_WRITE = 123;
+
+    /**
+     * Maximum number of coils in a single write request, as specified by the protocol
+     */
+    public static final int MAX_COILS_PER_WRITE = 1968;
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteRequestCoalescer.class);
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    /**
+     * Write task representing one or more merged write tasks
+     *
+     * @author agent - Initial contribution
+     */
+    public static class CoalescedWriteTask implements WriteTask {
+
+        private final ModbusSlaveEndpoint endpoint;
+        private final ModbusWriteRequestBlueprint request;
+        private final List<WriteTask> members;
+        private final ModbusWriteCallback callback = new FanOutCallback();
+
+        private CoalescedWriteTask(ModbusSlaveEndpoint endpoint, ModbusWriteRequestBlueprint request,
+                List<WriteTask> members) {
+            this.endpoint = endpoint;
+            this.request = request;
+            this.members = members;
+        }
+
+        @Override
+        public ModbusSlaveEndpoint getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public ModbusWriteRequestBlueprint getRequest() {
+            return request;
+        }
+
+        @Override
+        public ModbusWriteCallback getCallback() {
+            return callback;
+        }
+
+        /**
+         * Get the original write tasks merged to this task
+         *
+         * @return unmodifiable list of write tasks, in submission order
+         */
+        public List<WriteTask> getMembers() {
+            return Collections.unmodifiableList(members);
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                    .append("members", members.size()).toString();
+        }
+
+        /**
+         * Callback acknowledging the original requests
+         */
+        private class FanOutCallback implements ModbusWriteCallback {
+
+            @Override
+            public void onWriteResponse(ModbusWriteRequestBlueprint mergedRequest, ModbusResponse response) {
+                for (WriteTask member : members) {
+                    ModbusWriteCallback memberCallback = member.getCallback();
+                    if (memberCallback != null) {
+                        ModbusWriteRequestBlueprint memberRequest = member.getRequest();
+                        invokeMember(memberRequest, () -> memberCallback.onWriteResponse(memberRequest, response));
+                    }
+                }
+            }
+
+            @Override
+            public void onError(ModbusWriteRequestBlueprint mergedRequest, Exception error) {
+                for (WriteTask member : members) {
+                    ModbusWriteCallback memberCallback = member.getCallback();
+                    if (memberCallback != null) {
+                        ModbusWriteRequestBlueprint memberRequest = member.getRequest();
+                        invokeMember(memberRequest, () -> memberCallback.onError(memberRequest, error));
+                    }
+                }
+            }
+
+            /**
+             * Call the callback of a single member, so that a failing callback does not prevent acknowledging the
+             * other members
+             */
+            private void invokeMember(ModbusWriteRequestBlueprint memberRequest, Runnable call) {
+                try {
+                    call.run();
+                } catch (RuntimeException e) {
+                    logger.error("Unhandled exception in callback of request {} (merged to {}): {}", memberRequest,
+                            request, e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes of single unit id and data type (registers or coils) merged so far. Covers a contiguous address range.
+     */
+    private static class Batch {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final boolean coils;
+        private final TreeMap<Integer, Object> values = new TreeMap<>();
+        private final List<WriteTask> members = new ArrayList<>();
+
+        private Batch(ModbusSlaveEndpoint endpoint, int unitId, boolean coils) {
+            this.endpoint = endpoint;
+            this.unitId = unitId;
+            this.coils = coils;
+        }
+
+        private int start() {
+            return values.firstKey();
+        }
+
+        private int end() {
+            return values.lastKey() + 1;
+        }
+
+        private boolean canMerge(int otherStart, int otherEnd) {
+            // overlapping or adjacent, and within protocol limits
+            return otherStart <= end() && otherEnd >= start()
+                    && Math.max(end(), otherEnd) - Math.min(start(), otherStart) <= (coils ? MAX_COILS_PER_WRITE
+                            : MAX_REGISTERS_PER_WRITE);
+        }
+
+        private void add(WriteTask task) {
+            ModbusWriteRequestBlueprint request = task.getRequest();
+            int reference = request.getReference();
+            if (request instanceof ModbusWriteRegisterRequestBlueprint) {
+                ModbusRegisterArray registers = ((ModbusWriteRegisterRequestBlueprint) request).getRegisters();
+                for (int i = 0; i < registers.size(); i++) {
+                    // later write supersedes earlier write to the same address
+                    values.put(reference + i, registers.getRegister(i));
+                }
+            } else {
+                BitArray bits = ((ModbusWriteCoilRequestBlueprint) request).getCoils();
+                for (int i = 0; i < bits.size(); i++) {
+                    values.put(reference + i, bits.getBit(i));
+                }
+            }
+            members.add(task);
+        }
+    }
+
+    /**
+     * Whether the write task can be merged with other write tasks
+     *
+     * @param task task to check
+     * @return true if the task writes registers or coils
+     */
+    public static boolean isMergeable(WriteTask task) {
+        ModbusWriteRequestBlueprint request = task.getRequest();
+        return request instanceof ModbusWriteRegisterRequestBlueprint
+                || request instanceof ModbusWriteCoilRequestBlueprint;
+    }
+
+    /**
+     * Plan the transactions for the given write tasks of a single endpoint
+     *
+     * Tasks are processed in the given (submission) order. Each task is merged to the latest transaction planned, if
+     * that transaction has the same unit id and data type, and the task overlaps with or is adjacent to it. Otherwise,
+     * a new transaction is planned.
+     *
+     * @param tasks tasks to merge, in submission order. All tasks must be mergeable (see
+     *            {@link #isMergeable(WriteTask)})
+     * @return merged tasks, in the order they should be executed. Every task is part of exactly one merged task.
+     */
+    public static List<CoalescedWriteTask> plan(Collection<WriteTask> tasks) {
+        List<Batch> batches = new ArrayList<>();
+        for (WriteTask task : tasks) {
+            if (!isMergeable(task)) {
+                throw new IllegalArgumentException(String.format("Task %s cannot be merged", task));
+            }
+            ModbusWriteRequestBlueprint request = task.getRequest();
+            int unitId = request.getUnitID();
+            boolean coils = request instanceof ModbusWriteCoilRequestBlueprint;
+            int start = request.getReference();
+            int end = start + (coils ? ((ModbusWriteCoilRequestBlueprint) request).getCoils().size()
+                    : ((ModbusWriteRegisterRequestBlueprint) request).getRegisters().size());
+
+            // Only the latest batch is considered. Merging to an earlier batch would execute the write before the
+            // writes submitted before it, e.g. a register write before a coil write triggering the slave.
+            @Nullable
+            Batch target = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+            if (target == null || target.unitId != unitId || target.coils != coils || !target.canMerge(start, end)) {
+                target = new Batch(task.getEndpoint(), unitId, coils);
+                batches.add(target);
+            }
+            target.add(task);
+        }
+
+        List<CoalescedWriteTask> plan = new ArrayList<>(batches.size());
+        for (Batch batch : batches) {
+            plan.add(createTask(batch));
+        }
+        logger.trace("Planned {} transactions for {} write tasks", plan.size(), tasks.size());
+        return plan;
+    }
+
+    private static CoalescedWriteTask createTask(Batch batch) {
+        int maxTries = batch.members.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().orElse(1);
+        ModbusWriteRequestBlueprint request;
+        if (batch.coils) {
+            boolean[] bits = new boolean[batch.values.size()];
+            int index = 0;
+            for (Entry<Integer, Object> entry : batch.values.entrySet()) {
+                bits[index++] = (Boolean) entry.getValue();
+            }
+            request = new BasicModbusWriteCoilRequestBlueprint(batch.unitId, batch.start(), new BasicBitArray(bits),
+                    true, maxTries);
+        } else {
+            ModbusRegister[] registers = new ModbusRegister[batch.values.size()];
+            int index = 0;
+            for (Entry<Integer, Object> entry : batch.values.entrySet()) {
+                registers[index++] = (ModbusRegister) entry.getValue();
+            }
+            request = new BasicModbusWriteRegisterRequestBlueprint(batch.unitId, batch.start(),
+                    new BasicModbusRegisterArray(registers), true, maxTries);
+        }
+        return new CoalescedWriteTask(batch.endpoint, request, batch.members);
+    }
+
+}
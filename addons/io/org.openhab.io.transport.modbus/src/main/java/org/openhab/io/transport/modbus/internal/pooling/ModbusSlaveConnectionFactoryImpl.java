@@ -43,7 +43,8 @@ import net.wimpi.modbus.net.UDPMasterConnection;
  * - create: create connection object but do not connect it yet
  * - destroyObject: close connection and free all resources. Called by the pool when the pool is being closed or the
  * object is invalidated.
- * - activateObject: prepare connection to be used. In practice, connect if disconnected
+ * - activateObject: prepare connection to be used. In practice, connect if disconnected, unless the delay between
+ * connects is still in effect
  * - passivateObject: passivate connection before returning it back to the pool. Currently, passivateObject closes all
  * IP-based connections every now and then (reconnectAfterMillis). Serial connections we keep open.
  * - wrap: wrap created connection to pooled object wrapper class. It tracks usage statistics and last connection time.
@@ -76,7 +77,6 @@ public class ModbusSlaveConnectionFactoryImpl
 
     private final Logger logger = LoggerFactory.getLogger(ModbusSlaveConnectionFactoryImpl.class);
     private volatile Map<ModbusSlaveEndpoint, @Nullable EndpointPoolConfiguration> endpointPoolConfigs = new ConcurrentHashMap<>();
-    private volatile Map<ModbusSlaveEndpoint, Long> lastPassivateMillis = new ConcurrentHashMap<>();
     private volatile Map<ModbusSlaveEndpoint, Long> lastConnectMillis = new ConcurrentHashMap<>();
     private volatile Map<ModbusSlaveEndpoint, Long> disconnectIfConnectedBefore = new ConcurrentHashMap<>();
     private volatile Function<ModbusSlaveEndpoint, @Nullable EndpointPoolConfiguration> defaultPoolConfigurationFactory = endpoint -> null;
@@ -159,17 +159,17 @@ public class ModbusSlaveConnectionFactoryImpl
             return;
         }
         try {
-            @Nullable
-            EndpointPoolConfiguration config = getEndpointPoolConfiguration(endpoint);
             if (!connection.isConnected()) {
-                tryConnect(endpoint, obj, connection, config);
-            }
-
-            if (config != null) {
-                long waited = waitAtleast(lastPassivateMillis.get(endpoint), config.getInterTransactionDelayMillis());
-                logger.trace(
-                        "Waited {}ms (interTransactionDelayMillis {}ms) before giving returning connection {} for endpoint {}, to ensure delay between transactions.",
-                        waited, config.getInterTransactionDelayMillis(), obj.getObject(), endpoint);
+                long connectDelayMillis = getMillisUntilConnectAllowed(endpoint);
+                if (connectDelayMillis > 0) {
+                    // Leave the connection unconnected. ModbusManagerImpl reschedules the operation after the delay
+                    // instead of sleeping here.
+                    logger.trace(
+                            "Not connecting connection {} for endpoint {} yet, {}ms remaining to ensure delay between connects.",
+                            connection, endpoint, connectDelayMillis);
+                    return;
+                }
+                tryConnect(endpoint, obj, connection);
             }
         } catch (InterruptedException e) {
             // Someone wants to cancel us, reset the connection and abort
@@ -192,7 +192,6 @@ public class ModbusSlaveConnectionFactoryImpl
             return;
         }
         logger.trace("Passivating connection {} for endpoint {}...", connection, endpoint);
-        lastPassivateMillis.put(endpoint, System.currentTimeMillis());
         @Nullable
         EndpointPoolConfiguration configuration = endpointPoolConfigs.get(endpoint);
         long connected = ((PooledConnection) obj).getLastConnected();
@@ -264,72 +263,43 @@ public class ModbusSlaveConnectionFactoryImpl
         this.defaultPoolConfigurationFactory = defaultPoolConfigurationFactory;
     }
 
-    private void tryConnect(ModbusSlaveEndpoint endpoint, PooledObject<ModbusSlaveConnection> obj,
-            ModbusSlaveConnection connection, @Nullable EndpointPoolConfiguration config) throws Exception {
-        if (connection.isConnected()) {
-            return;
-        }
-        int tryIndex = 0;
+    /**
+     * Milliseconds to wait before a disconnected connection of the endpoint is connected, to ensure the configured
+     * delay between connects (see {@link EndpointPoolConfiguration#getInterConnectDelayMillis()}).
+     *
+     * Connections are not connected while the delay is in effect. Instead of sleeping, the caller should borrow the
+     * connection again after the returned time.
+     *
+     * @param endpoint endpoint to query
+     * @return milliseconds until the next connect is allowed, or zero if it is allowed now
+     */
+    public long getMillisUntilConnectAllowed(ModbusSlaveEndpoint endpoint) {
+        @Nullable
+        EndpointPoolConfiguration config = getEndpointPoolConfiguration(endpoint);
         Long lastConnect = lastConnectMillis.get(endpoint);
-        int maxTries = config == null ? 1 : config.getConnectMaxTries();
-        do {
-            try {
-                if (config != null) {
-                    long waited = waitAtleast(lastConnect,
-                            Math.max(config.getInterConnectDelayMillis(), config.getInterTransactionDelayMillis()));
-                    if (waited > 0) {
-                        logger.trace(
-                                "Waited {}ms (interConnectDelayMillis {}ms, interTransactionDelayMillis {}ms) before "
-                                        + "connecting disconnected connection {} for endpoint {}, to allow delay "
-                                        + "between connections re-connects",
-                                waited, config.getInterConnectDelayMillis(), config.getInterTransactionDelayMillis(),
-                                obj.getObject(), endpoint);
-                    }
-                }
-                connection.connect();
-                long curTime = System.currentTimeMillis();
-                ((PooledConnection) obj).setLastConnected(curTime);
-                lastConnectMillis.put(endpoint, curTime);
-                break;
-            } catch (InterruptedException e) {
-                logger.error("connect try {}/{} error: {}. Aborting since interrupted. Connection {}. Endpoint {}.",
-                        tryIndex, maxTries, e.getMessage(), connection, endpoint);
-                throw e;
-            } catch (Exception e) {
-                tryIndex++;
-                logger.error("connect try {}/{} error: {}. Connection {}. Endpoint {}", tryIndex, maxTries,
-                        e.getMessage(), connection, endpoint);
-                if (tryIndex >= maxTries) {
-                    logger.error("re-connect reached max tries {}, throwing last error: {}. Connection {}. Endpoint {}",
-                            maxTries, e.getMessage(), connection, endpoint);
-                    throw e;
-                }
-                lastConnect = System.currentTimeMillis();
-            }
-        } while (true);
+        if (config == null || lastConnect == null) {
+            return 0;
+        }
+        long delay = Math.max(config.getInterConnectDelayMillis(), config.getInterTransactionDelayMillis());
+        return Math.max(0, lastConnect + delay - System.currentTimeMillis());
     }
 
     /**
-     * Sleep until <code>waitMillis</code> has passed from <code>lastOperation</code>
-     *
-     * @param lastOperation last time operation was executed, or null if it has not been executed
-     * @param waitMillis
-     * @return milliseconds slept
-     * @throws InterruptedException
+     * Connect the connection, trying only once. Retries are rescheduled by ModbusManagerImpl, respecting
+     * {@link #getMillisUntilConnectAllowed(ModbusSlaveEndpoint)}.
      */
-    public static long waitAtleast(@Nullable Long lastOperation, long waitMillis) throws InterruptedException {
-        if (lastOperation == null) {
-            return 0;
+    private void tryConnect(ModbusSlaveEndpoint endpoint, PooledObject<ModbusSlaveConnection> obj,
+            ModbusSlaveConnection connection) throws Exception {
+        if (connection.isConnected()) {
+            return;
         }
-        long millisSinceLast = System.currentTimeMillis() - lastOperation;
-        long millisToWaitStill = Math.min(waitMillis, Math.max(0, waitMillis - millisSinceLast));
         try {
-            Thread.sleep(millisToWaitStill);
-        } catch (InterruptedException e) {
-            LoggerFactory.getLogger(ModbusSlaveConnectionFactoryImpl.class).debug("wait interrupted: {}", e);
-            throw e;
+            connection.connect();
+            ((PooledConnection) obj).setLastConnected(System.currentTimeMillis());
+        } finally {
+            // Delay between connects applies to failed attempts as well
+            lastConnectMillis.put(endpoint, System.currentTimeMillis());
         }
-        return millisToWaitStill;
     }
 
     /**
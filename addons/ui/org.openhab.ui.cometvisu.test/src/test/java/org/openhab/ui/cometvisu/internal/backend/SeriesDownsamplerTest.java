@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.ui.cometvisu.internal.backend.SeriesDownsampler.Mode;
+import org.rrd4j.ConsolFun;
+
+/**
+ * Tests for {@link SeriesDownsampler}
+ *
+ * @author agent - Initial contribution
+ */
+public class SeriesDownsamplerTest {
+
+    private static final long BEGIN = 1000;
+    private static final long RESOLUTION_SECONDS = 10;
+
+    /**
+     * Two buckets of 10 s, starting at 1000 and 11000
+     */
+    private static final long[][] POINTS = { { 1000, 4 }, { 4000, 2 }, { 9000, 6 }, { 11000, 1 }, { 15000, 3 } };
+
+    private static List<String> downsample(Mode mode, long resolution, long[][] points) throws IOException {
+        List<String> result = new ArrayList<>();
+        SeriesDownsampler downsampler = new SeriesDownsampler(mode, BEGIN, resolution,
+                (time, value) -> result.add(time + "=" + value));
+        for (long[] point : points) {
+            downsampler.add(point[0], point[1]);
+        }
+        downsampler.finish();
+        return result;
+    }
+
+    @Test
+    public void testEmptyInput() throws IOException {
+        for (Mode mode : Mode.values()) {
+            assertThat(mode.toString(), downsample(mode, RESOLUTION_SECONDS, new long[0][]),
+                    is(equalTo(Collections.emptyList())));
+        }
+    }
+
+    @Test
+    public void testNoResolutionPassesAllPoints() throws IOException {
+        assertThat(Mode.of(ConsolFun.AVERAGE, "lttb", 0), is(equalTo(Mode.NONE)));
+        for (Mode mode : Mode.values()) {
+            assertThat(mode.toString(), downsample(mode, 0, POINTS),
+                    is(equalTo(Arrays.asList("1000=4.0", "4000=2.0", "9000=6.0", "11000=1.0", "15000=3.0"))));
+        }
+    }
+
+    @Test
+    public void testInputShorterThanBucketCount() throws IOException {
+        // every point at the start of a bucket of its own
+        long[][] sparse = { { 1000, 4 }, { 31000, 2 }, { 61000, 6 } };
+        for (Mode mode : Mode.values()) {
+            assertThat(mode.toString(), downsample(mode, RESOLUTION_SECONDS, sparse),
+                    is(equalTo(Arrays.asList("1000=4.0", "31000=2.0", "61000=6.0"))));
+        }
+    }
+
+    @Test
+    public void testAverage() throws IOException {
+        assertThat(downsample(Mode.AVERAGE, RESOLUTION_SECONDS, POINTS),
+                is(equalTo(Arrays.asList("1000=4.0", "11000=2.0"))));
+    }
+
+    @Test
+    public void testTotal() throws IOException {
+        assertThat(downsample(Mode.TOTAL, RESOLUTION_SECONDS, POINTS),
+                is(equalTo(Arrays.asList("1000=12.0", "11000=4.0"))));
+    }
+
+    @Test
+    public void testMin() throws IOException {
+        assertThat(downsample(Mode.MIN, RESOLUTION_SECONDS, POINTS),
+                is(equalTo(Arrays.asList("4000=2.0", "11000=1.0"))));
+    }
+
+    @Test
+    public void testMax() throws IOException {
+        assertThat(downsample(Mode.MAX, RESOLUTION_SECONDS, POINTS),
+                is(equalTo(Arrays.asList("9000=6.0", "15000=3.0"))));
+    }
+
+    @Test
+    public void testFirst() throws IOException {
+        assertThat(downsample(Mode.FIRST, RESOLUTION_SECONDS, POINTS),
+                is(equalTo(Arrays.asList("1000=4.0", "11000=1.0"))));
+    }
+
+    @Test
+    public void testLast() throws IOException {
+        assertThat(downsample(Mode.LAST, RESOLUTION_SECONDS, POINTS),
+                is(equalTo(Arrays.asList("9000=6.0", "15000=3.0"))));
+    }
+
+    @Test
+    public void testLttbWithTwoBuckets() throws IOException {
+        // first and last point are kept, the peak is selected from the rest of the first bucket
+        long[][] points = { { 1000, 0 }, { 2000, 5 }, { 3000, 1 }, { 11000, 0 }, { 12000, 0 } };
+        assertThat(downsample(Mode.LTTB, RESOLUTION_SECONDS, points),
+                is(equalTo(Arrays.asList("1000=0.0", "2000=5.0", "11000=0.0", "12000=0.0"))));
+    }
+
+    @Test
+    public void testLttbKeepsFirstAndLastPoint() throws IOException {
+        long[][] points = new long[100][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new long[] { BEGIN + i * 1000, (i * 7) % 13 };
+        }
+        List<String> result = downsample(Mode.LTTB, RESOLUTION_SECONDS, points);
+
+        assertThat(result.get(0), is(equalTo("1000=0.0")));
+        assertThat(result.get(result.size() - 1), is(equalTo("100000=4.0")));
+        // one point per bucket, and the first and last point
+        assertThat(result.size(), is(equalTo(12)));
+    }
+
+    @Test
+    public void testModeOf() {
+        assertThat(Mode.of(ConsolFun.AVERAGE, null, RESOLUTION_SECONDS), is(equalTo(Mode.AVERAGE)));
+        assertThat(Mode.of(ConsolFun.MIN, null, RESOLUTION_SECONDS), is(equalTo(Mode.MIN)));
+        assertThat(Mode.of(ConsolFun.MAX, null, RESOLUTION_SECONDS), is(equalTo(Mode.MAX)));
+        assertThat(Mode.of(ConsolFun.FIRST, null, RESOLUTION_SECONDS), is(equalTo(Mode.FIRST)));
+        assertThat(Mode.of(ConsolFun.LAST, null, RESOLUTION_SECONDS), is(equalTo(Mode.LAST)));
+        assertThat(Mode.of(ConsolFun.TOTAL, null, RESOLUTION_SECONDS), is(equalTo(Mode.TOTAL)));
+        assertThat(Mode.of(ConsolFun.MAX, "LTTB", RESOLUTION_SECONDS), is(equalTo(Mode.LTTB)));
+    }
+}
@@ -40,6 +40,7 @@ public class Config {
 
     public static final String COMETVISU_WEBFOLDER_PROPERTY = "webFolder";
     public static final String COMETVISU_AUTODOWNLOAD_PROPERTY = "autoDownload";
+    public static final String COMETVISU_COALESCE_TIME_PROPERTY = "coalesceTime";
 
     public static String COMETVISU_WEBFOLDER = ConfigConstants.getUserDataFolder() + "/cometvisu";
 
@@ -48,6 +49,11 @@ public class Config {
     public static String COMETVISU_WEBAPP_ALIAS = "/cometvisu";
     public static boolean COMETVISU_AUTO_DOWNLOAD = false;
 
+    /*
+     * time in milliseconds in which state changes of the same item are combined into a single update for the clients
+     */
+    public static long COMETVISU_COALESCE_TIME = 100;
+
     public static String COMETVISU_WEBAPP_USERFILE_FOLDER = File.separator + "cometvisu";
 
     /*
@@ -66,23 +66,42 @@ public class StateBeanMessageBodyWriter implements MessageBodyWriter<Object> {
      *         - CV-Protocol state update json format {d:{item:state,...}}
      */
     public String serialize(Object bean) {
-        String msg = "{\"d\":{";
+        List<String> states = new ArrayList<String>();
         if (bean instanceof StateBean) {
             StateBean stateBean = (StateBean) bean;
-            msg += "\"" + stateBean.name + "\":\"" + stateBean.state + "\"";
+            states.add(serializeState(stateBean.name, stateBean.state));
         } else if (bean instanceof List<?>) {
-            List<String> states = new ArrayList<String>();
             for (Object bo : (List<?>) bean) {
                 if (bo instanceof StateBean) {
                     StateBean stateBean = (StateBean) bo;
-                    states.add("\"" + stateBean.name + "\":\"" + stateBean.state + "\"");
+                    states.add(serializeState(stateBean.name, stateBean.state));
                 }
             }
-            if (states.size() > 0) {
-                msg += StringUtils.join(states, ",");
-            }
         }
-        msg += "}}";
-        return msg;
+        return serializeStates(states);
+    }
+
+    /**
+     *
+     * @param name
+     *            - CometVisu item name
+     * @param state
+     *            - state of the item
+     * @return String
+     *         - a single state entry of the CV-Protocol state update json format "item":"state"
+     */
+    public String serializeState(String name, String state) {
+        return "\"" + name + "\":\"" + state + "\"";
+    }
+
+    /**
+     *
+     * @param states
+     *            - state entries created by {@link #serializeState(String, String)}
+     * @return String
+     *         - CV-Protocol state update json format {d:{item:state,...}}
+     */
+    public String serializeStates(List<String> states) {
+        return "{\"d\":{" + StringUtils.join(states, ",") + "}}";
     }
 }
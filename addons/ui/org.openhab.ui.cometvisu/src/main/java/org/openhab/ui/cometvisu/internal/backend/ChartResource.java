@@ -8,9 +8,13 @@
  */
 package org.openhab.ui.cometvisu.internal.backend;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
@@ -31,6 +35,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.smarthome.core.items.GroupItem;
@@ -111,7 +116,7 @@ public class ChartResource implements RESTResource {
     @Produces({ MediaType.APPLICATION_JSON })
     public Response getChartSeries(@Context HttpHeaders headers, @QueryParam("rrd") String itemName,
             @QueryParam("ds") String consFunction, @QueryParam("start") String start, @QueryParam("end") String end,
-            @QueryParam("res") long resolution) {
+            @QueryParam("res") long resolution, @QueryParam("sampling") String sampling) {
         if (logger.isDebugEnabled()) {
             logger.debug("Received GET request at '{}' for rrd '{}'.", uriInfo.getPath(), itemName);
         }
@@ -162,9 +167,11 @@ public class ChartResource implements RESTResource {
             }
             Object data = null;
             if (persistenceService.getId().equals("rrd4j")) {
-                data = getRrdSeries(persistenceService, item, consilidationFunction, startTime, endTime, resolution);
+                data = getRrdSeries(persistenceService, item, consilidationFunction, startTime, endTime, resolution,
+                        sampling);
             } else {
-                data = getPersistenceSeries(persistenceService, item, startTime, endTime, resolution);
+                data = getPersistenceSeries(persistenceService, item, startTime, endTime, resolution,
+                        SeriesDownsampler.Mode.of(consilidationFunction, sampling, resolution));
             }
             return Response.ok(data, responseType).build();
         } catch (ItemNotFoundException e1) {
@@ -174,10 +181,24 @@ public class ChartResource implements RESTResource {
         return Response.serverError().build();
     }
 
-    public Object getPersistenceSeries(QueryablePersistenceService persistenceService, Item item, Date timeBegin,
-            Date timeEnd, long resolution) {
-        Map<Long, ArrayList<String>> data = new HashMap<Long, ArrayList<String>>();
-
+    /**
+     * returns a series of a generic persistence service, an array of [[timestamp,[data]]]
+     *
+     * The series is queried when the response is written, downsampled to the requested resolution on the fly and
+     * written to the response as JSON directly.
+     *
+     * @param persistenceService
+     * @param item
+     * @param timeBegin
+     * @param timeEnd
+     * @param resolution
+     *            length of a downsampling bucket in seconds, 0 to get all stored values
+     * @param mode
+     *            downsampling mode
+     * @return
+     */
+    public StreamingOutput getPersistenceSeries(QueryablePersistenceService persistenceService, Item item,
+            Date timeBegin, Date timeEnd, long resolution, SeriesDownsampler.Mode mode) {
         // Define the data filter
         FilterCriteria filter = new FilterCriteria();
         filter.setBeginDate(timeBegin);
@@ -185,25 +206,36 @@ public class ChartResource implements RESTResource {
         filter.setItemName(item.getName());
         filter.setOrdering(Ordering.ASCENDING);
 
-        // Get the data from the persistence store
-        Iterable<HistoricItem> result = persistenceService.query(filter);
-        Iterator<HistoricItem> it = result.iterator();
-
-        // Iterate through the data
-        int dataCounter = 0;
-        while (it.hasNext()) {
-            dataCounter++;
-            HistoricItem historicItem = it.next();
-            org.eclipse.smarthome.core.types.State state = historicItem.getState();
-            if (state instanceof DecimalType) {
-                ArrayList<String> vals = new ArrayList<String>();
-                vals.add(formatDouble(((DecimalType) state).doubleValue(), "null", true));
-                data.put(historicItem.getTimestamp().getTime(), vals);
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            // DecimalFormat is not thread safe
+            DecimalFormat format = (DecimalFormat) df.clone();
+            int[] counters = new int[2];
+            SeriesDownsampler downsampler = new SeriesDownsampler(mode, timeBegin.getTime(), resolution,
+                    (time, value) -> {
+                        writer.write(counters[1]++ == 0 ? "[" : ",");
+                        writer.write("[");
+                        writer.write(Long.toString(time));
+                        writer.write(",[\"");
+                        writer.write(Double.isNaN(value) ? "null" : format.format(value));
+                        writer.write("\"]]");
+                    });
+
+            // Get the data from the persistence store and iterate through it
+            for (HistoricItem historicItem : persistenceService.query(filter)) {
+                counters[0]++;
+                org.eclipse.smarthome.core.types.State state = historicItem.getState();
+                if (state instanceof DecimalType) {
+                    downsampler.add(historicItem.getTimestamp().getTime(), ((DecimalType) state).doubleValue());
+                }
             }
-        }
-        logger.debug("'{}' querying item '{}' from '{}' to '{}' => '{}' results", persistenceService.getId(),
-                filter.getItemName(), filter.getBeginDate(), filter.getEndDate(), dataCounter);
-        return convertToRrd(data);
+            downsampler.finish();
+            writer.write(counters[1] == 0 ? "[]" : "]");
+            writer.flush();
+            logger.debug("'{}' querying item '{}' from '{}' to '{}' => '{}' results, '{}' sent ({})",
+                    persistenceService.getId(), filter.getItemName(), filter.getBeginDate(), filter.getEndDate(),
+                    counters[0], counters[1], mode);
+        };
     }
 
     /**
@@ -215,10 +247,11 @@ public class ChartResource implements RESTResource {
      * @param timeBegin
      * @param timeEnd
      * @param resolution
+     * @param sampling
      * @return
      */
     public Object getRrdSeries(QueryablePersistenceService persistenceService, Item item,
-            ConsolFun consilidationFunction, Date timeBegin, Date timeEnd, long resolution) {
+            ConsolFun consilidationFunction, Date timeBegin, Date timeEnd, long resolution, String sampling) {
         Map<Long, ArrayList<String>> data = new TreeMap<Long, ArrayList<String>>();
         try {
             List<String> itemNames = new ArrayList<String>();
@@ -238,10 +271,12 @@ public class ChartResource implements RESTResource {
         } catch (FileNotFoundException e) {
             // rrd file does not exist, fallback to generic persistance service
             logger.debug("no rrd file found '{}'", (RRD_FOLDER + File.separator + item.getName() + ".rrd"));
-            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution);
+            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution,
+                    SeriesDownsampler.Mode.of(consilidationFunction, sampling, resolution));
         } catch (Exception e) {
             logger.error("{}: fallback to generic persistance service", e.getLocalizedMessage());
-            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution);
+            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution,
+                    SeriesDownsampler.Mode.of(consilidationFunction, sampling, resolution));
         }
         return convertToRrd(data);
     }
@@ -21,10 +21,8 @@ import org.eclipse.smarthome.core.types.State;
 public interface EventBroadcaster {
     /**
      * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
+     * listening clients, which have requested the item.
      *
-     * @param item
-     *            - the item that should be broadcasted
      * @param eventObject
      *            - bean that can be converted to a JSON object.
      */
@@ -55,7 +53,8 @@ public interface EventBroadcaster {
 
     /**
      * lists all client item names and the associated type which must be notified
-     * when the item changes
+     * when the item changes, the type is {@link State} if the state should be
+     * sent as it is
      *
      * @param item
      *            - the item that is listened to
@@ -11,12 +11,10 @@ package org.openhab.ui.cometvisu.internal.backend;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -35,18 +33,17 @@ import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.openhab.ui.cometvisu.internal.Config;
 import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
 import org.openhab.ui.cometvisu.internal.listeners.StateEventListener;
-import org.openhab.ui.cometvisu.internal.util.SseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * handles read request from the CometVisu client every request initializes a
- * SSE communication
+ * SSE communication, which only receives the state updates of the items requested
+ * by this client
  *
  * @author Tobias Bräutigam
  */
@@ -54,16 +51,16 @@ import org.slf4j.LoggerFactory;
 public class ReadResource implements EventBroadcaster, RESTResource {
     private final Logger logger = LoggerFactory.getLogger(ReadResource.class);
 
-    private SseBroadcaster broadcaster = new SseBroadcaster();
-
-    private final ExecutorService executorService;
+    private final StateBroadcaster broadcaster;
 
     private ItemRegistry itemRegistry;
 
     private StateEventListener stateEventListener;
 
-    private List<String> itemNames = new ArrayList<String>();
-    private Map<Item, Map<String, Class<? extends State>>> items = new HashMap<Item, Map<String, Class<? extends State>>>();
+    /**
+     * CometVisu item names and their state classes per subscribed openHAB item name
+     */
+    private final Map<String, Map<String, Class<? extends State>>> items = new ConcurrentHashMap<>();
 
     @Context
     private UriInfo uriInfo;
@@ -77,11 +74,19 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     private Collection<ItemFactory> itemFactories = new CopyOnWriteArrayList<ItemFactory>();
 
     public ReadResource() {
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.broadcaster = new StateBroadcaster(this::unsubscribed);
         this.stateEventListener = new StateEventListener();
         this.stateEventListener.setEventBroadcaster(this);
     }
 
+    protected void deactivate() {
+        broadcaster.shutdown();
+        for (String itemName : items.keySet()) {
+            removeStateChangeListener(itemName);
+        }
+        items.clear();
+    }
+
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
     }
@@ -99,10 +104,11 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     }
 
     /**
-     * Subscribes the connecting client to the stream of events filtered by the
-     * given eventFilter.
+     * Subscribes the connecting client to the state changes of the requested
+     * items.
      *
-     * @param eventFilter
+     * @param itemNames
+     *            - the CometVisu item names requested by the client
      * @return {@link EventOutput} object associated with the incoming
      *         connection.
      * @throws IOException
@@ -114,65 +120,104 @@ public class ReadResource implements EventBroadcaster, RESTResource {
             @QueryParam("t") long time) throws IOException, InterruptedException {
         final EventOutput eventOutput = new EventOutput();
 
-        this.itemNames = itemNames;
-
-        broadcaster.add(eventOutput);
-
-        // get all requested items and send their states to the client
-        items = new HashMap<Item, Map<String, Class<? extends State>>>();
-        // send the current states of all items to the client
-        if (this.itemRegistry != null) {
-            List<StateBean> states = new ArrayList<StateBean>();
+        // the lock prevents a closing session from unsubscribing items which are requested again meanwhile
+        synchronized (broadcaster) {
             for (String cvItemName : itemNames) {
-                try {
-                    String[] parts = cvItemName.split(":");
-                    String ohItemName = cvItemName;
-                    Class<? extends State> stateClass = null;
-                    if (parts.length == 2) {
-                        String classPrefix = parts[0].toLowerCase();
-                        if (Config.itemTypeMapper.containsKey(classPrefix)) {
-                            stateClass = Config.itemTypeMapper.get(classPrefix);
-                            classPrefix += ":";
-                        } else {
-                            logger.debug("no type found for '{}'", classPrefix);
-                            classPrefix = "";
-                        }
-                        ohItemName = parts[1];
-                    }
-                    Item item = this.itemRegistry.getItem(ohItemName);
-                    if (!items.containsKey(item)) {
-                        items.put(item, new HashMap<String, Class<? extends State>>());
-                    }
-                    items.get(item).put(cvItemName, stateClass);
-                    StateBean itemState = new StateBean();
-                    itemState.name = cvItemName;
-
-                    if (stateClass != null) {
-                        itemState.state = item.getStateAs(stateClass).toString();
-                        logger.trace("get state of '{}' as '{}' == '{}'", item, stateClass, itemState.state);
+                String[] parts = cvItemName.split(":");
+                String ohItemName = cvItemName;
+                Class<? extends State> stateClass = null;
+                if (parts.length == 2) {
+                    String classPrefix = parts[0].toLowerCase();
+                    if (Config.itemTypeMapper.containsKey(classPrefix)) {
+                        stateClass = Config.itemTypeMapper.get(classPrefix);
                     } else {
-                        itemState.state = item.getState().toString();
+                        logger.debug("no type found for '{}'", classPrefix);
                     }
-                    states.add(itemState);
-                } catch (ItemNotFoundException e) {
-                    logger.error("{}", e.getLocalizedMessage());
+                    ohItemName = parts[1];
+                }
+                Map<String, Class<? extends State>> clientItems = items.computeIfAbsent(ohItemName,
+                        name -> new ConcurrentHashMap<>());
+                if (stateClass != null) {
+                    clientItems.put(cvItemName, stateClass);
+                } else {
+                    // no state class: the state is sent as it is
+                    clientItems.put(cvItemName, State.class);
                 }
             }
-            logger.debug("initially broadcasting {}/{} item states", states.size(), itemNames.size());
-            broadcaster.broadcast(SseUtil.buildEvent(states));
+            // listen to state changes of the requested items
+            registerItems();
+            // send the current states of all requested items to the client
+            broadcaster.subscribe(eventOutput, itemNames, () -> getStates(itemNames));
         }
-        // listen to state changes of the requested items
-        registerItems();
 
         return eventOutput;
     }
 
+    private List<StateBean> getStates(List<String> itemNames) {
+        List<StateBean> states = new ArrayList<StateBean>();
+        if (this.itemRegistry == null) {
+            return states;
+        }
+        for (String cvItemName : itemNames) {
+            String[] parts = cvItemName.split(":");
+            String ohItemName = parts.length == 2 ? parts[1] : cvItemName;
+            Map<String, Class<? extends State>> clientItems = items.get(ohItemName);
+            Class<? extends State> stateClass = clientItems != null ? clientItems.get(cvItemName) : null;
+            try {
+                Item item = this.itemRegistry.getItem(ohItemName);
+                StateBean itemState = new StateBean();
+                itemState.name = cvItemName;
+
+                if (stateClass != null && stateClass != State.class) {
+                    itemState.state = item.getStateAs(stateClass).toString();
+                    logger.trace("get state of '{}' as '{}' == '{}'", item, stateClass, itemState.state);
+                } else {
+                    itemState.state = item.getState().toString();
+                }
+                states.add(itemState);
+            } catch (ItemNotFoundException e) {
+                logger.error("{}", e.getLocalizedMessage());
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Called when no client is interested in the given CometVisu item name
+     * anymore.
+     */
+    private void unsubscribed(String cvItemName) {
+        String[] parts = cvItemName.split(":");
+        String ohItemName = parts.length == 2 ? parts[1] : cvItemName;
+        Map<String, Class<? extends State>> clientItems = items.get(ohItemName);
+        if (clientItems != null) {
+            clientItems.remove(cvItemName);
+            if (clientItems.isEmpty()) {
+                items.remove(ohItemName);
+                removeStateChangeListener(ohItemName);
+            }
+        }
+    }
+
+    private void removeStateChangeListener(String itemName) {
+        if (itemRegistry != null) {
+            Item item = itemRegistry.get(itemName);
+            if (item instanceof GenericItem) {
+                ((GenericItem) item).removeStateChangeListener(stateEventListener);
+            }
+        }
+    }
+
     /**
      * listen for state changes from the requested items
      */
     @Override
     public void registerItems() {
-        for (Item item : items.keySet()) {
+        if (itemRegistry == null) {
+            return;
+        }
+        for (String itemName : items.keySet()) {
+            Item item = itemRegistry.get(itemName);
             if (item instanceof GenericItem) {
                 ((GenericItem) item).addStateChangeListener(stateEventListener);
             }
@@ -188,7 +233,7 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void registerItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
+        if (item == null || !items.containsKey(item.getName())) {
             return;
         }
         if (item instanceof GenericItem) {
@@ -197,41 +242,40 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     }
 
     /**
-     * listens to state changes of the given item, if it is part of the
-     * requested items
+     * stops listening to state changes of the given item, the subscriptions of
+     * the clients are kept, in case the item is added again
      *
      * @param item
-     *            - the new item, that should be listened to
+     *            - the removed item
      */
     @Override
     public void unregisterItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
-            return;
-        }
         if (item instanceof GenericItem) {
             ((GenericItem) item).removeStateChangeListener(stateEventListener);
-            items.remove(item);
         }
     }
 
     /**
-     * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
+     * Queues a state update for all clients, which have requested the item.
+     * Updates of the same item are coalesced within the configured time.
      *
-     * @param item
-     *            - the item which has changed
      * @param eventObject
-     *            - bean that can be converted to a JSON object.
+     *            - a {@link StateBean} or a list of them
      */
     @Override
     public void broadcastEvent(final Object eventObject) {
-        executorService.execute(() -> {
-            broadcaster.broadcast(SseUtil.buildEvent(eventObject));
-        });
+        if (eventObject instanceof StateBean) {
+            StateBean stateBean = (StateBean) eventObject;
+            broadcaster.stateChanged(stateBean.name, stateBean.state);
+        } else if (eventObject instanceof List<?>) {
+            for (Object bean : (List<?>) eventObject) {
+                broadcastEvent(bean);
+            }
+        }
     }
 
     @Override
     public Map<String, Class<? extends State>> getClientItems(Item item) {
-        return items.get(item);
+        return items.get(item.getName());
     }
 }
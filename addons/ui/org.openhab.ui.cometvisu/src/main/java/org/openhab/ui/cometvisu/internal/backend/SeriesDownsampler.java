@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.rrd4j.ConsolFun;
+
+/**
+ * Reduces a time series to at most one point per time bucket, while the points are streamed through it.
+ *
+ * Points have to be added in ascending order of time. Buckets are aligned to the begin of the requested period and
+ * are as long as the requested resolution. Depending on the mode, each bucket is represented by an aggregate of its
+ * points or, for the largest-triangle-three-buckets mode, by the point which best preserves the visual shape of the
+ * series. Only the points of at most two buckets are kept in memory.
+ *
+ * @author agent - Initial contribution
+ */
+class SeriesDownsampler {
+
+    /**
+     * Receives the downsampled points
+     */
+    interface PointConsumer {
+        void accept(long time, double value) throws IOException;
+    }
+
+    enum Mode {
+        /** all points are passed through */
+        NONE,
+        /** average of the bucket, at the start of the bucket */
+        AVERAGE,
+        /** point with the minimum value of the bucket */
+        MIN,
+        /** point with the maximum value of the bucket */
+        MAX,
+        /** first point of the bucket */
+        FIRST,
+        /** last point of the bucket */
+        LAST,
+        /** sum of the bucket, at the start of the bucket */
+        TOTAL,
+        /** largest-triangle-three-buckets: point of the bucket forming the largest triangle with its neighbours */
+        LTTB;
+
+        /**
+         * Get the mode to use for a chart request.
+         *
+         * @param consolidationFunction the requested consolidation function
+         * @param sampling the requested sampling mode, "lttb" selects largest-triangle-three-buckets
+         * @param resolution the requested resolution in seconds
+         * @return the mode
+         */
+        static Mode of(ConsolFun consolidationFunction, String sampling, long resolution) {
+            if (resolution <= 0) {
+                return NONE;
+            }
+            if ("lttb".equalsIgnoreCase(sampling)) {
+                return LTTB;
+            }
+            switch (consolidationFunction) {
+                case MIN:
+                    return MIN;
+                case MAX:
+                    return MAX;
+                case FIRST:
+                    return FIRST;
+                case LAST:
+                    return LAST;
+                case TOTAL:
+                    return TOTAL;
+                default:
+                    return AVERAGE;
+            }
+        }
+    }
+
+    private final Mode mode;
+    private final long begin;
+    private final long bucketSize;
+    private final PointConsumer consumer;
+
+    private long bucket = Long.MIN_VALUE;
+
+    // aggregate of the current bucket
+    private int count;
+    private long selectedTime;
+    private double selectedValue;
+    private double sum;
+
+    // LTTB: the last emitted point, the points of the bucket to select from and of the bucket following it
+    private boolean hasAnchor;
+    private long anchorTime;
+    private double anchorValue;
+    private Points pending = new Points();
+    private Points current = new Points();
+
+    private static class Points {
+        private long[] times = new long[16];
+        private double[] values = new double[16];
+        private int size;
+
+        private void add(long time, double value) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            times[size] = time;
+            values[size] = value;
+            size++;
+        }
+
+        private double averageTime() {
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += times[i];
+            }
+            return total / size;
+        }
+
+        private double averageValue() {
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += values[i];
+            }
+            return total / size;
+        }
+    }
+
+    /**
+     * @param mode the downsampling mode
+     * @param begin begin of the requested period, in milliseconds
+     * @param resolution length of a bucket, in seconds
+     * @param consumer receives the downsampled points
+     */
+    SeriesDownsampler(Mode mode, long begin, long resolution, PointConsumer consumer) {
+        this.mode = resolution > 0 ? mode : Mode.NONE;
+        this.begin = begin;
+        this.bucketSize = Math.max(resolution, 1) * 1000;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Add the next point of the series.
+     *
+     * @param time time of the point in milliseconds, not before the time of the previous point
+     * @param value value of the point
+     * @throws IOException if the consumer fails to write the point
+     */
+    void add(long time, double value) throws IOException {
+        if (mode == Mode.NONE) {
+            consumer.accept(time, value);
+            return;
+        }
+        long pointBucket = Math.floorDiv(time - begin, bucketSize);
+        if (pointBucket != bucket) {
+            completeBucket();
+            bucket = pointBucket;
+        }
+        if (mode == Mode.LTTB) {
+            current.add(time, value);
+            return;
+        }
+        if (count == 0 || (mode == Mode.MIN && value < selectedValue) || (mode == Mode.MAX && value > selectedValue)
+                || mode == Mode.LAST) {
+            selectedTime = time;
+            selectedValue = value;
+        }
+        sum += value;
+        count++;
+    }
+
+    /**
+     * Emit the remaining points, after the last point was added.
+     *
+     * @throws IOException if the consumer fails to write a point
+     */
+    void finish() throws IOException {
+        if (mode == Mode.NONE) {
+            return;
+        }
+        completeBucket();
+        if (mode == Mode.LTTB && pending.size > 0) {
+            // the last point of the series is always kept
+            int last = pending.size - 1;
+            if (last > 0) {
+                emitLargestTriangle(pending, last, pending.times[last], pending.values[last]);
+            }
+            consumer.accept(pending.times[last], pending.values[last]);
+            pending.size = 0;
+        }
+    }
+
+    private void completeBucket() throws IOException {
+        if (mode == Mode.LTTB) {
+            completeLttbBucket();
+            return;
+        }
+        if (count == 0) {
+            return;
+        }
+        long bucketStart = begin + bucket * bucketSize;
+        switch (mode) {
+            case AVERAGE:
+                consumer.accept(bucketStart, sum / count);
+                break;
+            case TOTAL:
+                consumer.accept(bucketStart, sum);
+                break;
+            default:
+                consumer.accept(selectedTime, selectedValue);
+                break;
+        }
+        count = 0;
+        sum = 0;
+    }
+
+    private void completeLttbBucket() throws IOException {
+        if (current.size == 0) {
+            return;
+        }
+        if (!hasAnchor) {
+            // the first point of the series is always kept
+            anchorTime = current.times[0];
+            anchorValue = current.values[0];
+            hasAnchor = true;
+            consumer.accept(anchorTime, anchorValue);
+            if (current.size == 1) {
+                current.size = 0;
+                return;
+            }
+            // select from the remaining points of the first bucket
+            System.arraycopy(current.times, 1, current.times, 0, current.size - 1);
+            System.arraycopy(current.values, 1, current.values, 0, current.size - 1);
+            current.size--;
+        }
+        if (pending.size > 0) {
+            emitLargestTriangle(pending, pending.size, current.averageTime(), current.averageValue());
+        }
+        Points swap = pending;
+        pending = current;
+        current = swap;
+        current.size = 0;
+    }
+
+    private void emitLargestTriangle(Points points, int limit, double nextTime, double nextValue) throws IOException {
+        int selected = 0;
+        double maxArea = -1;
+        for (int i = 0; i < limit; i++) {
+            // twice the area of the triangle formed by the anchor, the candidate and the average of the next bucket
+            double area = Math.abs((anchorTime - nextTime) * (points.values[i] - anchorValue)
+                    - (anchorTime - points.times[i]) * (nextValue - anchorValue));
+            if (area > maxArea) {
+                maxArea = area;
+                selected = i;
+            }
+        }
+        anchorTime = points.times[selected];
+        anchorValue = points.values[selected];
+        consumer.accept(anchorTime, anchorValue);
+    }
+}
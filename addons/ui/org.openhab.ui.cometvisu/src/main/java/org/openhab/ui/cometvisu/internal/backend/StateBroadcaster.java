@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.openhab.ui.cometvisu.internal.Config;
+import org.openhab.ui.cometvisu.internal.StateBeanMessageBodyWriter;
+import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
+import org.openhab.ui.cometvisu.internal.util.SseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers state updates to the connected CometVisu clients.
+ *
+ * Every client session subscribes to the CometVisu item names it has requested and only receives updates for those.
+ * Changes of the same item within {@link Config#COMETVISU_COALESCE_TIME} milliseconds are combined, so that only the
+ * latest state is sent. Each state is serialized once per delivery, no matter how many sessions subscribed to it, and
+ * sessions receiving the same set of states share the same event.
+ *
+ * All events are written by a single thread, so the clients receive them in the order they have been created.
+ *
+ * @author agent - Initial contribution
+ */
+class StateBroadcaster {
+    private final Logger logger = LoggerFactory.getLogger(StateBroadcaster.class);
+
+    private final StateBeanMessageBodyWriter writer = new StateBeanMessageBodyWriter();
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    /**
+     * subscribed CometVisu item names per session
+     */
+    private final Map<EventOutput, Set<String>> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * subscribed sessions per CometVisu item name
+     */
+    private final Map<String, Set<EventOutput>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * latest state per CometVisu item name, waiting to be delivered
+     */
+    private Map<String, String> pending = new LinkedHashMap<>();
+
+    private final Consumer<String> unsubscribed;
+
+    /**
+     * @param unsubscribed
+     *            - called with the CometVisu item names no session is subscribed to anymore
+     */
+    StateBroadcaster(Consumer<String> unsubscribed) {
+        this.unsubscribed = unsubscribed;
+    }
+
+    /**
+     * Subscribes a new session to the given CometVisu item names and sends the initial states to it.
+     *
+     * The initial states are created after the session has been subscribed, so no change can get lost in between.
+     *
+     * @param output
+     *            - the session
+     * @param cvItemNames
+     *            - the CometVisu item names the session is interested in
+     * @param initialStates
+     *            - creates the current states of the requested items
+     */
+    void subscribe(EventOutput output, Collection<String> cvItemNames, Supplier<List<StateBean>> initialStates) {
+        Set<String> names = new LinkedHashSet<>(cvItemNames);
+        synchronized (this) {
+            sessions.put(output, names);
+            for (String name : names) {
+                subscribers.computeIfAbsent(name, n -> new CopyOnWriteArraySet<>()).add(output);
+            }
+        }
+        List<StateBean> states = initialStates.get();
+        logger.debug("initially sending {}/{} item states", states.size(), names.size());
+        OutboundEvent event = SseUtil.buildEvent(states);
+        executor.execute(() -> write(output, event));
+    }
+
+    /**
+     * Checks if any session is subscribed to the given CometVisu item name.
+     *
+     * @param cvItemName
+     *            - the CometVisu item name
+     * @return true if the state of the item has to be delivered
+     */
+    boolean isSubscribed(String cvItemName) {
+        return subscribers.containsKey(cvItemName);
+    }
+
+    /**
+     * Queues the new state of an item for the subscribed sessions. A state queued before for the same item, which has
+     * not been delivered yet, is replaced.
+     *
+     * @param cvItemName
+     *            - the CometVisu item name
+     * @param state
+     *            - the new state
+     */
+    void stateChanged(String cvItemName, String state) {
+        if (!isSubscribed(cvItemName)) {
+            return;
+        }
+        synchronized (this) {
+            boolean scheduled = !pending.isEmpty();
+            pending.put(cvItemName, state);
+            if (scheduled) {
+                return;
+            }
+        }
+        if (Config.COMETVISU_COALESCE_TIME > 0) {
+            executor.schedule(this::flush, Config.COMETVISU_COALESCE_TIME, TimeUnit.MILLISECONDS);
+        } else {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Closes all sessions and stops the delivery.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+        for (EventOutput output : sessions.keySet()) {
+            close(output);
+        }
+        synchronized (this) {
+            sessions.clear();
+            subscribers.clear();
+            pending.clear();
+        }
+    }
+
+    private void flush() {
+        Map<String, String> states;
+        synchronized (this) {
+            states = pending;
+            pending = new LinkedHashMap<>();
+        }
+        // collect the serialized states for every session, each state is serialized only once
+        Map<EventOutput, List<String>> messages = new HashMap<>();
+        for (Map.Entry<String, String> state : states.entrySet()) {
+            Set<EventOutput> outputs = subscribers.get(state.getKey());
+            if (outputs == null) {
+                continue;
+            }
+            String serialized = writer.serializeState(state.getKey(), state.getValue());
+            for (EventOutput output : outputs) {
+                messages.computeIfAbsent(output, o -> new ArrayList<>()).add(serialized);
+            }
+        }
+        // sessions interested in the same states get the same event
+        Map<List<String>, OutboundEvent> events = new HashMap<>();
+        for (Map.Entry<EventOutput, List<String>> message : messages.entrySet()) {
+            OutboundEvent event = events.computeIfAbsent(message.getValue(),
+                    m -> SseUtil.buildSerializedEvent(writer.serializeStates(m)));
+            write(message.getKey(), event);
+        }
+        logger.trace("sent {} item states in {} events to {} sessions", states.size(), events.size(),
+                messages.size());
+    }
+
+    private void write(EventOutput output, OutboundEvent event) {
+        if (!output.isClosed()) {
+            try {
+                output.write(event);
+                return;
+            } catch (IOException e) {
+                logger.debug("failed to send states, closing session: {}", e.getMessage());
+            }
+        }
+        remove(output);
+    }
+
+    private void remove(EventOutput output) {
+        close(output);
+        synchronized (this) {
+            Set<String> names = sessions.remove(output);
+            if (names == null) {
+                return;
+            }
+            for (String name : names) {
+                Set<EventOutput> outputs = subscribers.get(name);
+                if (outputs != null) {
+                    outputs.remove(output);
+                    if (outputs.isEmpty()) {
+                        subscribers.remove(name);
+                        unsubscribed.accept(name);
+                    }
+                }
+            }
+        }
+    }
+
+    private void close(EventOutput output) {
+        try {
+            output.close();
+        } catch (IOException e) {
+            logger.trace("failed to close session: {}", e.getMessage());
+        }
+    }
+}
@@ -12,6 +12,8 @@ import java.io.File;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.xml.XMLConstants;
@@ -92,6 +94,20 @@ public class VisuConfig {
 
     private ObjectFactory factory = new ObjectFactory();
 
+    // creating a JAXB context and parsing the XSD are expensive, both are immutable and thread safe
+    private static final Map<Class<?>, JAXBContext> JAXB_CONTEXTS = new ConcurrentHashMap<>();
+    private static final Map<String, CachedSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private static class CachedSchema {
+        private final Schema schema;
+        private final long lastModified;
+
+        private CachedSchema(Schema schema, long lastModified) {
+            this.schema = schema;
+            this.lastModified = lastModified;
+        }
+    }
+
     public VisuConfig(Sitemap sitemap, CometVisuApp app, File rootFolder) {
         this.sitemap = sitemap;
         this.app = app;
@@ -138,10 +154,8 @@ public class VisuConfig {
     private String marshal(Pages bean, String xsdSchema) {
         String res = "";
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(bean.getClass());
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            Schema schema = (xsdSchema == null || xsdSchema.trim().length() == 0) ? null
-                    : schemaFactory.newSchema(new File(xsdSchema));
+            JAXBContext jaxbContext = getJaxbContext(bean.getClass());
+            Schema schema = (xsdSchema == null || xsdSchema.trim().length() == 0) ? null : getSchema(xsdSchema);
             Marshaller marshaller = jaxbContext.createMarshaller();
             marshaller.setSchema(schema);
             marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
@@ -157,6 +171,28 @@ public class VisuConfig {
         return res;
     }
 
+    private static JAXBContext getJaxbContext(Class<?> beanClass) throws JAXBException {
+        JAXBContext jaxbContext = JAXB_CONTEXTS.get(beanClass);
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(beanClass);
+            JAXB_CONTEXTS.put(beanClass, jaxbContext);
+        }
+        return jaxbContext;
+    }
+
+    private static Schema getSchema(String xsdSchema) throws SAXException {
+        File file = new File(xsdSchema);
+        // the schema changes with updates of the CometVisu client
+        long lastModified = file.lastModified();
+        CachedSchema cached = SCHEMAS.get(xsdSchema);
+        if (cached == null || cached.lastModified != lastModified) {
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            cached = new CachedSchema(schemaFactory.newSchema(file), lastModified);
+            SCHEMAS.put(xsdSchema, cached);
+        }
+        return cached.schema;
+    }
+
     private Pages createPages(Pages pagesBean) {
         Page rootPage = new Page();
         rootPage.setName(sitemap.getName());
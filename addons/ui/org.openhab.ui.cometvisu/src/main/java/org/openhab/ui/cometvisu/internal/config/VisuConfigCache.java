@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.config;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.model.core.EventType;
+import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache for the CometVisu configs generated from sitemaps by {@link VisuConfig}.
+ *
+ * The generated XML is kept per requested config path, which contains the sitemap name. As the config depends on the
+ * sitemaps and on the item definitions, the whole cache is invalidated when any of them changes.
+ *
+ * @author agent - Initial contribution
+ */
+public class VisuConfigCache implements ModelRepositoryChangeListener, ItemRegistryChangeListener {
+    private final Logger logger = LoggerFactory.getLogger(VisuConfigCache.class);
+
+    private final Map<String, CachedConfig> cache = new ConcurrentHashMap<>();
+    private long generation;
+
+    /**
+     * A generated config
+     */
+    public static class CachedConfig {
+        private final String xml;
+        private final String eTag;
+
+        private CachedConfig(String xml) {
+            this.xml = xml;
+            this.eTag = "\"" + Integer.toHexString(xml.hashCode()) + "_" + xml.length() + "\"";
+        }
+
+        public String getXml() {
+            return xml;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+
+    /**
+     * Get the config for the given path, generating it if it is not cached.
+     *
+     * @param path
+     *            requested path of the config file
+     * @param generator
+     *            generates the config XML
+     * @return the cached or newly generated config
+     */
+    public CachedConfig get(String path, Supplier<String> generator) {
+        CachedConfig cached = cache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+        cached = new CachedConfig(generator.get());
+        synchronized (this) {
+            // do not cache a config generated from outdated sitemaps or items, or a failed generation
+            if (startGeneration == generation && !cached.getXml().isEmpty()) {
+                cache.put(path, cached);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Remove all generated configs.
+     */
+    public synchronized void clear() {
+        generation++;
+        cache.clear();
+    }
+
+    @Override
+    public void modelChanged(String modelName, EventType type) {
+        logger.debug("sitemap '{}' {}, invalidating generated configs", modelName, type);
+        clear();
+    }
+
+    @Override
+    public void added(Item element) {
+        clear();
+    }
+
+    @Override
+    public void removed(Item element) {
+        clear();
+    }
+
+    @Override
+    public void updated(Item oldElement, Item element) {
+        clear();
+    }
+
+    @Override
+    public void allItemsChanged(Collection<String> oldItemNames) {
+        clear();
+    }
+}
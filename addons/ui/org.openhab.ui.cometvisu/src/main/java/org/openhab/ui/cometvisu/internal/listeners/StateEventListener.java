@@ -42,19 +42,14 @@ public class StateEventListener implements StateChangeListener {
                 Class<? extends State> stateClass = clientItems.get(cvItemName);
                 StateBean stateBean = new StateBean();
                 stateBean.name = cvItemName;
-                if (stateClass != null)
+                if (stateClass != null && stateClass != State.class) {
                     stateBean.state = item.getStateAs(stateClass).toString();
-                else
+                } else {
                     stateBean.state = item.getState().toString();
+                }
                 eventBroadcaster.broadcastEvent(stateBean);
             }
-        } else {
-            StateBean stateBean = new StateBean();
-            stateBean.name = item.getName();
-            stateBean.state = newState.toString();
-            eventBroadcaster.broadcastEvent(stateBean);
         }
-
     }
 
     @Override
@@ -67,7 +62,7 @@ public class StateEventListener implements StateChangeListener {
             if (clientItems != null && clientItems.size() > 0) {
                 for (String cvItemName : clientItems.keySet()) {
                     Class<? extends State> stateClass = clientItems.get(cvItemName);
-                    if (stateClass != null) {
+                    if (stateClass != null && stateClass != State.class) {
                         StateBean stateBean = new StateBean();
                         stateBean.name = cvItemName;
                         stateBean.state = item.getStateAs(stateClass).toString();
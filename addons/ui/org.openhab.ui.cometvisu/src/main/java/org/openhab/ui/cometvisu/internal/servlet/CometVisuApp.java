@@ -27,6 +27,7 @@ import org.eclipse.smarthome.model.sitemap.SitemapProvider;
 import org.eclipse.smarthome.ui.icon.IconProvider;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
 import org.openhab.ui.cometvisu.internal.Config;
+import org.openhab.ui.cometvisu.internal.config.VisuConfigCache;
 import org.openhab.ui.cometvisu.internal.util.ClientInstaller;
 import org.openhab.ui.cometvisu.php.PHProvider;
 import org.osgi.framework.BundleContext;
@@ -65,6 +66,8 @@ public class CometVisuApp {
 
     private final ClientInstaller installer = ClientInstaller.getInstance();
 
+    private final VisuConfigCache configCache = new VisuConfigCache();
+
     private Map<String, Object> properties = new HashMap<>();
 
     public Map<String, Object> getProperties() {
@@ -119,6 +122,7 @@ public class CometVisuApp {
 
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        this.itemRegistry.addRegistryChangeListener(configCache);
     }
 
     public ItemRegistry getItemRegistry() {
@@ -126,6 +130,7 @@ public class CometVisuApp {
     }
 
     protected void unsetItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry.removeRegistryChangeListener(configCache);
         this.itemRegistry = null;
     }
 
@@ -139,10 +144,14 @@ public class CometVisuApp {
 
     public void addSitemapProvider(SitemapProvider provider) {
         sitemapProviders.add(provider);
+        provider.addModelChangeListener(configCache);
+        configCache.clear();
     }
 
     public void removeSitemapProvider(SitemapProvider provider) {
         sitemapProviders.remove(provider);
+        provider.removeModelChangeListener(configCache);
+        configCache.clear();
     }
 
     public ItemUIRegistry getItemUIRegistry() {
@@ -153,6 +162,13 @@ public class CometVisuApp {
         return sitemapProviders;
     }
 
+    /**
+     * Returns the cache of the CometVisu configs generated from sitemaps
+     */
+    public VisuConfigCache getConfigCache() {
+        return configCache;
+    }
+
     protected void setHttpService(HttpService httpService) {
         this.httpService = httpService;
     }
@@ -182,6 +198,8 @@ public class CometVisuApp {
     private void readConfiguration(final Map<String, Object> properties) {
         if (properties != null) {
             setProperties(properties);
+            // generated configs depend on the icon configuration
+            configCache.clear();
             if (properties.get(Config.COMETVISU_WEBFOLDER_PROPERTY) != null) {
                 Config.COMETVISU_WEBFOLDER = (String) properties.get(Config.COMETVISU_WEBFOLDER_PROPERTY);
             }
@@ -207,6 +225,21 @@ public class CometVisuApp {
                 }
                 Config.COMETVISU_AUTO_DOWNLOAD = newValue;
             }
+            if (properties.get(Config.COMETVISU_COALESCE_TIME_PROPERTY) != null) {
+                Object propertyValue = properties.get(Config.COMETVISU_COALESCE_TIME_PROPERTY);
+
+                // Value might be a string or a number
+                try {
+                    if (propertyValue instanceof Number) {
+                        Config.COMETVISU_COALESCE_TIME = ((Number) propertyValue).longValue();
+                    } else {
+                        Config.COMETVISU_COALESCE_TIME = Long.parseLong(propertyValue.toString().trim());
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid value '{}' for {}, using {}", propertyValue,
+                            Config.COMETVISU_COALESCE_TIME_PROPERTY, Config.COMETVISU_COALESCE_TIME);
+                }
+            }
             for (String key : properties.keySet()) {
                 String[] parts = key.split(">");
                 String propKey = parts.length > 1 ? parts[1] : parts[0];
@@ -15,7 +15,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.text.DateFormat;
@@ -34,7 +33,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletContext;
@@ -69,9 +67,11 @@ import org.eclipse.smarthome.model.sitemap.SitemapProvider;
 import org.openhab.ui.cometvisu.internal.Config;
 import org.openhab.ui.cometvisu.internal.config.ConfigHelper.Transform;
 import org.openhab.ui.cometvisu.internal.config.VisuConfig;
+import org.openhab.ui.cometvisu.internal.config.VisuConfigCache.CachedConfig;
 import org.openhab.ui.cometvisu.internal.editor.dataprovider.beans.DataBean;
 import org.openhab.ui.cometvisu.internal.editor.dataprovider.beans.ItemBean;
 import org.openhab.ui.cometvisu.internal.rss.beans.Feed;
+import org.openhab.ui.cometvisu.internal.servlet.StaticFileCache.CachedFile;
 import org.openhab.ui.cometvisu.internal.util.ClientInstaller;
 import org.openhab.ui.cometvisu.php.PHProvider;
 import org.slf4j.Logger;
@@ -117,6 +117,8 @@ public class CometVisuServlet extends HttpServlet {
 
     private CometVisuApp cometVisuApp;
 
+    private final StaticFileCache fileCache = new StaticFileCache();
+
     public CometVisuServlet(String filesystemDir, CometVisuApp cometVisuApp) {
         root = filesystemDir;
         rootFolder = new File(root);
@@ -230,12 +232,21 @@ public class CometVisuServlet extends HttpServlet {
             if (!requestedFile.exists()) {
                 Sitemap sitemap = getSitemap(matcher.group(2));
                 if (sitemap != null) {
-                    logger.debug("reading sitemap '{}'", sitemap);
-                    VisuConfig config = new VisuConfig(sitemap, cometVisuApp, rootFolder);
+                    CachedConfig config = cometVisuApp.getConfigCache().get(path, () -> {
+                        logger.debug("reading sitemap '{}'", sitemap);
+                        return new VisuConfig(sitemap, cometVisuApp, rootFolder).getConfigXml(req);
+                    });
+
+                    resp.setHeader("ETag", config.getETag());
+                    String ifNoneMatch = req.getHeader("If-None-Match");
+                    if (ifNoneMatch != null && matches(ifNoneMatch, config.getETag())) {
+                        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                        return;
+                    }
 
                     // logger.info("response: "+config.getConfigXml());
                     resp.setContentType(MediaType.APPLICATION_XML);
-                    resp.getWriter().write(config.getConfigXml(req));
+                    resp.getWriter().write(config.getXml());
                     resp.flushBuffer();
 
                     return;
@@ -541,12 +552,14 @@ public class CometVisuServlet extends HttpServlet {
             // file object.
             file = new File(rootFolder, URLDecoder.decode(requestedFile, "UTF-8"));
         }
-        if (file.equals(rootFolder) || (file.exists() && file.isDirectory())) {
+        CachedFile cachedFile = file.equals(rootFolder) ? null : fileCache.get(file);
+        if (cachedFile == null && (file.equals(rootFolder) || file.isDirectory())) {
             file = new File(file, "index.html");
+            cachedFile = fileCache.get(file);
         }
 
         // Check if file actually exists in filesystem.
-        if (!file.exists()) {
+        if (cachedFile == null) {
             // show installation hints if the CometVisu-Clients main index.html is requested but cannot be found
             if (file.getParentFile().equals(rootFolder)
                     && (file.getName().equalsIgnoreCase("index.html") || file.getName().length() == 0)) {
@@ -572,9 +585,9 @@ public class CometVisuServlet extends HttpServlet {
 
         // Prepare some variables. The ETag is an unique identifier of the file.
         String fileName = file.getName();
-        long length = file.length();
-        long lastModified = file.lastModified();
-        String eTag = fileName + "_" + length + "_" + lastModified;
+        long length = cachedFile.getLength();
+        long lastModified = cachedFile.getLastModified();
+        String eTag = cachedFile.getETag();
         long expires = System.currentTimeMillis() + DEFAULT_EXPIRE_TIME;
 
         // Validate request headers for caching
@@ -700,7 +713,7 @@ public class CometVisuServlet extends HttpServlet {
         // Get content type by file name and set default GZIP support and
         // content disposition.
         String contentType = getServletContext().getMimeType(fileName);
-        boolean acceptsGzip = false;
+        String encoding = null;
         String disposition = "inline";
 
         // If content type is unknown, then set the default value.
@@ -711,13 +724,16 @@ public class CometVisuServlet extends HttpServlet {
             contentType = "application/octet-stream";
         }
 
-        // If content type is text, then determine whether GZIP content encoding
-        // is supported by
-        // the browser and expand content type with the one and right character
-        // encoding.
+        // If content is compressible, then determine whether brotli or GZIP
+        // content encoding is supported by the browser.
+        if (isCompressible(contentType)) {
+            encoding = cachedFile.selectEncoding(request.getHeader("Accept-Encoding"));
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+
+        // If content type is text, then expand content type with the one and
+        // right character encoding.
         if (contentType.startsWith("text")) {
-            String acceptEncoding = request.getHeader("Accept-Encoding");
-            acceptsGzip = acceptEncoding != null && accepts(acceptEncoding, "gzip");
             contentType += ";charset=UTF-8";
         }
 
@@ -741,12 +757,10 @@ public class CometVisuServlet extends HttpServlet {
         // ------------------------------------------------
 
         // Prepare streams.
-        RandomAccessFile input = null;
         OutputStream output = null;
 
         try {
             // Open streams.
-            input = new RandomAccessFile(file, "r");
             output = response.getOutputStream();
 
             if (ranges.isEmpty() || ranges.get(0) == full) {
@@ -757,20 +771,21 @@ public class CometVisuServlet extends HttpServlet {
                 response.setHeader("Content-Range", "bytes " + r.start + "-" + r.end + "/" + r.total);
 
                 if (content) {
-                    if (acceptsGzip) {
-                        // The browser accepts GZIP, so GZIP the content.
-                        response.setHeader("Content-Encoding", "gzip");
-                        output = new GZIPOutputStream(output, DEFAULT_BUFFER_SIZE);
-                    } else {
-                        // Content length is not directly predictable in case of
-                        // GZIP.
-                        // So only add it if there is no means of GZIP, else
-                        // browser will hang.
-                        response.setHeader("Content-Length", String.valueOf(r.length));
+                    if (encoding != null) {
+                        // The browser accepts compressed content, so send the
+                        // precompressed, cached or on the fly compressed content.
+                        response.setHeader("Content-Encoding", encoding);
+                    }
+                    // Content length is not predictable if the content is
+                    // compressed on the fly, so only add it if it is known,
+                    // else browser will hang.
+                    long encodedLength = cachedFile.getLength(encoding);
+                    if (encodedLength >= 0) {
+                        response.setHeader("Content-Length", String.valueOf(encodedLength));
                     }
 
                     // Copy full range.
-                    copy(input, output, r.start, r.length);
+                    cachedFile.write(output, encoding);
                 }
 
             } else if (ranges.size() == 1) {
@@ -784,7 +799,7 @@ public class CometVisuServlet extends HttpServlet {
 
                 if (content) {
                     // Copy single part range.
-                    copy(input, output, r.start, r.length);
+                    cachedFile.write(output, r.start, r.length);
                 }
 
             } else {
@@ -808,7 +823,7 @@ public class CometVisuServlet extends HttpServlet {
                         sos.println("Content-Range: bytes " + r.start + "-" + r.end + "/" + r.total);
 
                         // Copy single part range of multi part range.
-                        copy(input, output, r.start, r.length);
+                        cachedFile.write(output, r.start, r.length);
                     }
 
                     // End with multipart boundary.
@@ -819,7 +834,6 @@ public class CometVisuServlet extends HttpServlet {
         } finally {
             // Gently close streams.
             close(output);
-            close(input);
         }
     }
 
@@ -1123,42 +1137,16 @@ public class CometVisuServlet extends HttpServlet {
     }
 
     /**
-     * Copy the given byte range of the given input to the given output.
+     * Returns true if content of the given type benefits from compression.
      *
-     * @param input
-     *            The input to copy the given range to the given output for.
-     * @param output
-     *            The output to copy the given range from the given input for.
-     * @param start
-     *            Start of the byte range.
-     * @param length
-     *            Length of the byte range.
-     * @throws IOException
-     *             If something fails at I/O level.
+     * @param contentType
+     *            The content type.
+     * @return True if the content should be sent compressed if the browser supports it.
      */
-    private static void copy(RandomAccessFile input, OutputStream output, long start, long length) throws IOException {
-        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
-        int read;
-
-        if (input.length() == length) {
-            // Write full range.
-            while ((read = input.read(buffer)) > 0) {
-                output.write(buffer, 0, read);
-            }
-        } else {
-            // Write partial range.
-            input.seek(start);
-            long toRead = length;
-
-            while ((read = input.read(buffer)) > 0) {
-                if ((toRead -= read) > 0) {
-                    output.write(buffer, 0, read);
-                } else {
-                    output.write(buffer, 0, (int) toRead + read);
-                    break;
-                }
-            }
-        }
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text") || contentType.equals("application/javascript")
+                || contentType.equals("application/json") || contentType.equals("application/xml")
+                || contentType.equals("image/svg+xml");
     }
 
     /**
@@ -0,0 +1,360 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache for the static files served by the {@link CometVisuServlet}.
+ *
+ * The metadata of a file (length, modification time, ETag and available precompressed siblings) is kept per path and
+ * revalidated against the file system at most every {@link #CHECK_INTERVAL} milliseconds. Small files and their gzip
+ * compressed content are also kept in memory, up to a total of {@link #MAX_TOTAL_SIZE} bytes.
+ *
+ * Precompressed siblings (<code>file.br</code>, <code>file.gz</code>) are used if they are not older than the file
+ * itself. Otherwise gzip compressed content is created once and cached, if the memory limit allows it, or compressed
+ * on the fly.
+ *
+ * @author agent - Initial contribution
+ */
+class StaticFileCache {
+    public static final String ENCODING_GZIP = "gzip";
+    public static final String ENCODING_BROTLI = "br";
+
+    /**
+     * Time in milliseconds after which a cached entry is checked against the file system again
+     */
+    static final long CHECK_INTERVAL = 2000;
+
+    /**
+     * Maximum size of a single file to be kept in memory
+     */
+    static final int MAX_CONTENT_SIZE = 1024 * 1024;
+
+    /**
+     * Maximum size of all file contents kept in memory
+     */
+    static final long MAX_TOTAL_SIZE = 16 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 10240;
+
+    private final Map<String, CachedFile> cache = new ConcurrentHashMap<>();
+    private final AtomicLong totalSize = new AtomicLong();
+
+    /**
+     * Get the cached metadata of the given file, revalidating it if necessary.
+     *
+     * @param file
+     *            The requested file.
+     * @return The cached file, or null if the file does not exist or is not a regular file.
+     */
+    public CachedFile get(File file) {
+        String path = file.getAbsolutePath();
+        CachedFile cached = cache.get(path);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.checked < CHECK_INTERVAL) {
+            return cached;
+        }
+        if (!file.isFile()) {
+            remove(path);
+            return null;
+        }
+        CachedFile current = new CachedFile(file, now);
+        if (cached != null && cached.isSameAs(current)) {
+            cached.checked = now;
+            return cached;
+        }
+        CachedFile previous = cache.put(path, current);
+        if (previous != null) {
+            previous.release();
+        }
+        return current;
+    }
+
+    /**
+     * Remove all entries from the cache.
+     */
+    public void clear() {
+        cache.keySet().forEach(this::remove);
+    }
+
+    private void remove(String path) {
+        CachedFile removed = cache.remove(path);
+        if (removed != null) {
+            removed.release();
+        }
+    }
+
+    private boolean reserve(long size) {
+        if (totalSize.addAndGet(size) > MAX_TOTAL_SIZE) {
+            totalSize.addAndGet(-size);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Metadata and, if small enough, content of a single file.
+     */
+    class CachedFile {
+        private final File file;
+        private final long length;
+        private final long lastModified;
+        private final String eTag;
+        private final File brotliFile;
+        private final File gzipFile;
+        private volatile long checked;
+
+        private volatile byte[] content;
+        private volatile byte[] gzipContent;
+        /**
+         * Whether the gzip compressed content did not fit into the memory limit, and is compressed on the fly instead
+         */
+        private volatile boolean gzipNotCached;
+        private boolean released;
+
+        private CachedFile(File file, long now) {
+            this.file = file;
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+            this.eTag = file.getName() + "_" + length + "_" + lastModified;
+            this.brotliFile = findPrecompressed(ENCODING_BROTLI);
+            this.gzipFile = findPrecompressed("gz");
+            this.checked = now;
+        }
+
+        private File findPrecompressed(String extension) {
+            File precompressed = new File(file.getPath() + "." + extension);
+            return precompressed.isFile() && precompressed.lastModified() >= lastModified ? precompressed : null;
+        }
+
+        private boolean isSameAs(CachedFile other) {
+            return length == other.length && lastModified == other.lastModified
+                    && sameFile(brotliFile, other.brotliFile) && sameFile(gzipFile, other.gzipFile);
+        }
+
+        private boolean sameFile(File a, File b) {
+            return a == null ? b == null
+                    : b != null && a.length() == b.length() && a.lastModified() == b.lastModified();
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Choose the content encoding for a full response.
+         *
+         * @param acceptEncoding
+         *            The Accept-Encoding header of the request, may be null.
+         * @return The content encoding to use, or null if the content should be sent as is.
+         */
+        public String selectEncoding(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return null;
+            }
+            if (brotliFile != null && acceptsEncoding(acceptEncoding, ENCODING_BROTLI)) {
+                return ENCODING_BROTLI;
+            }
+            if (acceptsEncoding(acceptEncoding, ENCODING_GZIP)) {
+                return ENCODING_GZIP;
+            }
+            return null;
+        }
+
+        /**
+         * Get the length of the full content in the given encoding.
+         *
+         * @param encoding
+         *            The content encoding as returned by {@link #selectEncoding(String)}.
+         * @return The length in bytes, or -1 if it is not known in advance.
+         * @throws IOException
+         *             If something fails at I/O level.
+         */
+        public long getLength(String encoding) throws IOException {
+            if (encoding == null) {
+                return length;
+            } else if (ENCODING_BROTLI.equals(encoding)) {
+                return brotliFile.length();
+            } else if (gzipFile != null) {
+                return gzipFile.length();
+            }
+            byte[] compressed = getGzipContent();
+            return compressed != null ? compressed.length : -1;
+        }
+
+        /**
+         * Write the full content in the given encoding.
+         *
+         * @param output
+         *            The output to write to.
+         * @param encoding
+         *            The content encoding as returned by {@link #selectEncoding(String)}.
+         * @throws IOException
+         *             If something fails at I/O level.
+         */
+        public void write(OutputStream output, String encoding) throws IOException {
+            if (encoding == null) {
+                write(output, 0, length);
+            } else if (ENCODING_BROTLI.equals(encoding)) {
+                transfer(brotliFile, output, 0, brotliFile.length());
+            } else if (gzipFile != null) {
+                transfer(gzipFile, output, 0, gzipFile.length());
+            } else {
+                byte[] compressed = getGzipContent();
+                if (compressed != null) {
+                    output.write(compressed);
+                } else {
+                    GZIPOutputStream gzip = new GZIPOutputStream(output, BUFFER_SIZE);
+                    write(gzip, 0, length);
+                    gzip.finish();
+                }
+            }
+        }
+
+        /**
+         * Write the given byte range of the uncompressed content.
+         *
+         * @param output
+         *            The output to write to.
+         * @param start
+         *            Start of the byte range.
+         * @param count
+         *            Length of the byte range.
+         * @throws IOException
+         *             If something fails at I/O level.
+         */
+        public void write(OutputStream output, long start, long count) throws IOException {
+            byte[] data = getContent();
+            if (data != null) {
+                output.write(data, (int) start, (int) Math.min(count, data.length - start));
+            } else {
+                transfer(file, output, start, count);
+            }
+        }
+
+        private byte[] getContent() throws IOException {
+            byte[] data = content;
+            if (data == null && length <= MAX_CONTENT_SIZE) {
+                synchronized (this) {
+                    data = content;
+                    if (data == null && !released && reserve(length)) {
+                        try {
+                            data = Files.readAllBytes(file.toPath());
+                        } catch (IOException | RuntimeException e) {
+                            totalSize.addAndGet(-length);
+                            throw e;
+                        }
+                        if (data.length != length) {
+                            // file changed meanwhile, it will be revalidated with the next check
+                            totalSize.addAndGet(-length);
+                            return data;
+                        }
+                        content = data;
+                    }
+                }
+            }
+            return data;
+        }
+
+        private byte[] getGzipContent() throws IOException {
+            byte[] compressed = gzipContent;
+            if (compressed == null && length <= MAX_CONTENT_SIZE && !gzipNotCached) {
+                synchronized (this) {
+                    compressed = gzipContent;
+                    if (compressed == null && !released && !gzipNotCached) {
+                        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) length / 3 + 64);
+                        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, BUFFER_SIZE)) {
+                            write(gzip, 0, length);
+                        }
+                        if (reserve(buffer.size())) {
+                            compressed = buffer.toByteArray();
+                            gzipContent = compressed;
+                        } else {
+                            // do not compress again for every request, until the file changes
+                            gzipNotCached = true;
+                        }
+                    }
+                }
+            }
+            return compressed;
+        }
+
+        private synchronized void release() {
+            released = true;
+            if (content != null) {
+                totalSize.addAndGet(-content.length);
+                content = null;
+            }
+            if (gzipContent != null) {
+                totalSize.addAndGet(-gzipContent.length);
+                gzipContent = null;
+            }
+        }
+    }
+
+    /**
+     * Transfer the given byte range of a file to the output, letting the file channel move the data instead of
+     * reading it through a heap buffer.
+     */
+    private static void transfer(File file, OutputStream output, long start, long count) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(output);
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    // end of file reached, file was truncated meanwhile
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] values = part.trim().split("\\s*;\\s*");
+            // an encoding may be explicitly refused with a quality of 0
+            boolean accepted = values.length < 2 || !values[1].matches("q=0(\\.0*)?");
+            if (values[0].equalsIgnoreCase(encoding)) {
+                return accepted;
+            } else if (values[0].equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+}
@@ -36,13 +36,23 @@ public class SseUtil {
      * @return a new OutboundEvent.
      */
     public static OutboundEvent buildEvent(Object eventObject) {
+        StateBeanMessageBodyWriter writer = new StateBeanMessageBodyWriter();
+        return buildSerializedEvent(writer.serialize(eventObject));
+    }
 
+    /**
+     * Creates a new {@link OutboundEvent} object containing an already
+     * serialized state update message.
+     *
+     * @param data
+     *            - the serialized message, as created by {@link StateBeanMessageBodyWriter}
+     * @return a new OutboundEvent.
+     */
+    public static OutboundEvent buildSerializedEvent(String data) {
         OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
-        StateBeanMessageBodyWriter writer = new StateBeanMessageBodyWriter();
-        // OutboundEvent event = eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE).data(eventObject).build();
         java.util.Date date = new java.util.Date();
-        OutboundEvent event = eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE)
-                .data(writer.serialize(eventObject)).id(String.valueOf(date.getTime())).build();
+        OutboundEvent event = eventBuilder.mediaType(MediaType.APPLICATION_JSON_TYPE).data(data)
+                .id(String.valueOf(date.getTime())).build();
 
         return event;
     }